@@ -0,0 +1,153 @@
+package com.sccodefactory.employee.aop.logging;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect timing a sample of the calls to the repositories, services and Web REST endpoints, as the
+ * {@code method.timed} histogram of each method, tagged with its {@code class} and {@code method}.
+ * <p>
+ * A call out of the sample is only passed through, without reading the clock, its signature or its arguments. The
+ * counts of the histograms are those of the sample, so they are to be divided by
+ * {@code application.method-timing.sample-rate}. The timed calls slower than
+ * {@code application.method-timing.slow-threshold-ms} are logged with their arguments, except the ones whose name
+ * looks like a credential, such as the passwords and the activation and reset keys of {@code UserService}, which are
+ * masked. The arguments of a method whose parameter names are not known are not logged at all.
+ */
+@Aspect
+public class TimingAspect {
+
+    private static final Pattern SENSITIVE_PARAMETER = Pattern.compile("password|key|token|secret", Pattern.CASE_INSENSITIVE);
+
+    private static final String MASK = "******";
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    /**
+     * The timers by target type, then by method: the methods inherited from a common interface are timed per type.
+     */
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Class<?>> targetTypes = new ConcurrentHashMap<>();
+
+    public TimingAspect(MeterRegistry meterRegistry, ApplicationProperties.MethodTiming properties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+    }
+
+    /**
+     * Advice that times a sample of the calls.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around(
+        "com.sccodefactory.employee.aop.logging.LoggingAspect.applicationPackagePointcut()" +
+        " && com.sccodefactory.employee.aop.logging.LoggingAspect.springBeanPointcut()"
+    )
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            record(joinPoint, System.nanoTime() - start);
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long nanos) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> type = targetType(joinPoint);
+        timers
+            .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(signature.getMethod(), method -> timer(type, method))
+            .record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowThresholdNanos) {
+            Logger log = LoggerFactory.getLogger(type);
+            if (log.isWarnEnabled()) {
+                log.warn(
+                    "Slow call: {}() took {} ms with argument[s] = {}",
+                    signature.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos),
+                    loggedArguments(signature, joinPoint.getArgs())
+                );
+            }
+        }
+    }
+
+    /**
+     * @return the arguments of the call, the sensitive ones masked.
+     */
+    private String loggedArguments(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        if (names == null || names.length != args.length) {
+            return "[" + args.length + " not logged]";
+        }
+        Object[] logged = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            logged[i] = args[i] != null && SENSITIVE_PARAMETER.matcher(names[i]).find() ? MASK : args[i];
+        }
+        return Arrays.toString(logged);
+    }
+
+    /**
+     * @return the type the call is attributed to: the repository interface of a Spring Data repository, whose methods
+     * are mostly declared by the Spring Data interfaces, or the class of the other beans.
+     */
+    private Class<?> targetType(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        if (target == null) {
+            return joinPoint.getSignature().getDeclaringType();
+        }
+        return targetTypes.computeIfAbsent(
+            target.getClass(),
+            targetClass -> {
+                if (AopUtils.isJdkDynamicProxy(target)) {
+                    Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+                    if (interfaces.length > 0) {
+                        return interfaces[0];
+                    }
+                }
+                return ClassUtils.getUserClass(targetClass);
+            }
+        );
+    }
+
+    private Timer timer(Class<?> type, Method method) {
+        return Timer
+            .builder("method.timed")
+            .description("Duration of a sample of the calls to the method")
+            .tag("class", type.getSimpleName())
+            .tag("method", method.getName())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(meterRegistry);
+    }
+}
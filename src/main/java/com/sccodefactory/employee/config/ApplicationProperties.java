@@ -1,5 +1,7 @@
 package com.sccodefactory.employee.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +11,804 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Search search = new Search();
+
+    private final SearchOutbox searchOutbox = new SearchOutbox();
+
+    private final SearchBulk searchBulk = new SearchBulk();
+
+    private final SearchReindex searchReindex = new SearchReindex();
+
+    private final Export export = new Export();
+
+    private final Import dataImport = new Import();
+
+    private final OrgTree orgTree = new OrgTree();
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final TaskExecutors executors = new TaskExecutors();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final SqlMetrics sqlMetrics = new SqlMetrics();
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public SearchOutbox getSearchOutbox() {
+        return searchOutbox;
+    }
+
+    public SearchBulk getSearchBulk() {
+        return searchBulk;
+    }
+
+    public SearchReindex getSearchReindex() {
+        return searchReindex;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Import getImport() {
+        return dataImport;
+    }
+
+    public OrgTree getOrgTree() {
+        return orgTree;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public TaskExecutors getExecutors() {
+        return executors;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    public static class Search {
+
+        /**
+         * Stop counting search hits past this number, reporting it as a lower bound; {@code null} counts them all.
+         */
+        private Integer trackTotalHitsUpTo;
+
+        /**
+         * Time after which a search returns the hits collected so far.
+         */
+        private long timeoutMs = 2000;
+
+        /**
+         * Whether the indices are checked against the declared mappings, and created if missing, at startup.
+         */
+        private boolean manageIndices = true;
+
+        /**
+         * Whether the indices whose mapping is outdated are rebuilt at startup. Enable it on a single instance.
+         */
+        private boolean reindexOnMappingChange = false;
+
+        public Integer getTrackTotalHitsUpTo() {
+            return trackTotalHitsUpTo;
+        }
+
+        public void setTrackTotalHitsUpTo(Integer trackTotalHitsUpTo) {
+            this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public boolean isManageIndices() {
+            return manageIndices;
+        }
+
+        public void setManageIndices(boolean manageIndices) {
+            this.manageIndices = manageIndices;
+        }
+
+        public boolean isReindexOnMappingChange() {
+            return reindexOnMappingChange;
+        }
+
+        public void setReindexOnMappingChange(boolean reindexOnMappingChange) {
+            this.reindexOnMappingChange = reindexOnMappingChange;
+        }
+    }
+
+    public static class SearchOutbox {
+
+        /**
+         * Whether the relay drains the outbox to Elasticsearch. Rows are always written.
+         */
+        private boolean enabled = true;
+
+        private long pollIntervalMs = 1000;
+
+        private int batchSize = 500;
+
+        private long initialBackoffMs = 1000;
+
+        private long maxBackoffMs = 300000;
+
+        /**
+         * Time during which the rows claimed by an instance are hidden from the others while it relays them. Should the
+         * instance stop before recording the outcome, they are relayed again once it has elapsed.
+         */
+        private long claimTimeoutMs = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public long getClaimTimeoutMs() {
+            return claimTimeoutMs;
+        }
+
+        public void setClaimTimeoutMs(long claimTimeoutMs) {
+            this.claimTimeoutMs = claimTimeoutMs;
+        }
+    }
+
+    public static class SearchBulk {
+
+        /**
+         * Number of buffered actions that triggers a {@code _bulk} request.
+         */
+        private int bulkActions = 1000;
+
+        /**
+         * Estimated request size that triggers a {@code _bulk} request.
+         */
+        private long bulkSizeBytes = 5L * 1024 * 1024;
+
+        private long flushIntervalMs = 1000;
+
+        public int getBulkActions() {
+            return bulkActions;
+        }
+
+        public void setBulkActions(int bulkActions) {
+            this.bulkActions = bulkActions;
+        }
+
+        public long getBulkSizeBytes() {
+            return bulkSizeBytes;
+        }
+
+        public void setBulkSizeBytes(long bulkSizeBytes) {
+            this.bulkSizeBytes = bulkSizeBytes;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+    }
+
+    public static class SearchReindex {
+
+        /**
+         * Number of worker threads, each scanning its own id range of a table.
+         */
+        private int threads = 4;
+
+        /**
+         * JDBC fetch size of the scrolling cursors.
+         */
+        private int fetchSize = 500;
+
+        /**
+         * Number of documents sent per {@code _bulk} request.
+         */
+        private int batchSize = 1000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Export {
+
+        /**
+         * JDBC fetch size of the exporting cursors.
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * Number of rows after which the buffered output is sent to the client.
+         */
+        private int flushRows = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getFlushRows() {
+            return flushRows;
+        }
+
+        public void setFlushRows(int flushRows) {
+            this.flushRows = flushRows;
+        }
+    }
+
+    public static class Import {
+
+        /**
+         * Number of rows inserted per transaction; a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of row errors reported by an import.
+         */
+        private int maxErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+    }
+
+    public static class OrgTree {
+
+        /**
+         * Interval between two full rebuilds of the in-memory org tree, which pick up employees changed by other
+         * instances or around the services.
+         */
+        private long refreshIntervalMs = 300000;
+
+        public long getRefreshIntervalMs() {
+            return refreshIntervalMs;
+        }
+
+        public void setRefreshIntervalMs(long refreshIntervalMs) {
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Collect the hits, misses and evictions of every cache, for the {@code cachestatistics} endpoint.
+         */
+        private boolean statisticsEnabled = true;
+
+        /**
+         * Settings of individual caches, by entity or collection name relative to the domain package, e.g.
+         * {@code Employee} or {@code Employee.jobs}, or by cache name for the other caches. The caches not listed
+         * here use the {@code jhipster.cache.ehcache} settings.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        public void setStatisticsEnabled(boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on the heap; {@code null} for {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long maxEntries;
+
+            /**
+             * {@code null} for {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Size of an off-heap tier below the heap entries, outside of the garbage collected heap; 0 for none.
+             * Entries are serialized to be stored there, and the JVM needs {@code -XX:MaxDirectMemorySize} to cover
+             * the off-heap tiers of all the caches.
+             */
+            private long offHeapMb = 0;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Share the cache updates and evictions with the other instances using the same database, so that
+             * their caches do not serve stale entries; off for a single instance.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Interval between two exchanges with the other instances: the longest time an instance may serve an
+             * entry changed by another one.
+             */
+            private long pollIntervalMs = 1000;
+
+            /**
+             * Age after which the shared invalidations are deleted.
+             */
+            private long retentionMs = 3600000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getPollIntervalMs() {
+                return pollIntervalMs;
+            }
+
+            public void setPollIntervalMs(long pollIntervalMs) {
+                this.pollIntervalMs = pollIntervalMs;
+            }
+
+            public long getRetentionMs() {
+                return retentionMs;
+            }
+
+            public void setRetentionMs(long retentionMs) {
+                this.retentionMs = retentionMs;
+            }
+        }
+    }
+
+    public static class Security {
+
+        /**
+         * Maximum number of verified JWTs whose authentication is kept until they expire, so that a token is only
+         * parsed and verified on its first request; 0 to verify every request.
+         */
+        private int tokenCacheMaxEntries = 10000;
+
+        /**
+         * Cost of the BCrypt password hashes, as the log2 of the number of rounds. The hashes of a lower cost are
+         * rehashed at the next successful login of their user.
+         */
+        private int passwordStrength = 10;
+
+        private final Login login = new Login();
+
+        public int getTokenCacheMaxEntries() {
+            return tokenCacheMaxEntries;
+        }
+
+        public void setTokenCacheMaxEntries(int tokenCacheMaxEntries) {
+            this.tokenCacheMaxEntries = tokenCacheMaxEntries;
+        }
+
+        public int getPasswordStrength() {
+            return passwordStrength;
+        }
+
+        public void setPasswordStrength(int passwordStrength) {
+            this.passwordStrength = passwordStrength;
+        }
+
+        public Login getLogin() {
+            return login;
+        }
+
+        public static class Login {
+
+            /**
+             * Number of threads verifying the passwords of the logins, apart from the request threads.
+             */
+            private int threads = 4;
+
+            /**
+             * Number of logins waiting for a thread; the logins beyond it are rejected with a 429 status.
+             */
+            private int queueCapacity = 100;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Whether the relay sends the queued emails. Rows are always written.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval between two polls of the queue, for the emails whose retry is due; new emails are sent right away.
+         */
+        private long pollIntervalMs = 10000;
+
+        /**
+         * Maximum number of emails sent through one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        private long initialBackoffMs = 30000;
+
+        private long maxBackoffMs = 3600000;
+
+        /**
+         * Number of failed attempts after which an email is dropped.
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * Time during which the emails claimed by an instance are hidden from the others while it sends them. Should
+         * the instance stop before recording the outcome, they are sent again once it has elapsed.
+         */
+        private long claimTimeoutMs = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getClaimTimeoutMs() {
+            return claimTimeoutMs;
+        }
+
+        public void setClaimTimeoutMs(long claimTimeoutMs) {
+            this.claimTimeoutMs = claimTimeoutMs;
+        }
+    }
+
+    public static class TaskExecutors {
+
+        /**
+         * Executor of the {@link com.sccodefactory.employee.service.MailOutboxRelay}; one thread is enough, as each run
+         * sends all the queued emails.
+         */
+        private final Pool mail = new Pool(1, 1, 10);
+
+        /**
+         * Executor of the index rebuilds, which scan the tables on their own workers; one job runs at a time.
+         */
+        private final Pool searchIndexing = new Pool(1, 1, 10);
+
+        /**
+         * Executor of the asynchronous requests, the exports streaming their rows to the client.
+         */
+        private final Pool reporting = new Pool(4, 8, 50);
+
+        public Pool getMail() {
+            return mail;
+        }
+
+        public Pool getSearchIndexing() {
+            return searchIndexing;
+        }
+
+        public Pool getReporting() {
+            return reporting;
+        }
+
+        public static class Pool {
+
+            private int coreSize;
+
+            private int maxSize;
+
+            /**
+             * Number of tasks waiting for a thread; the tasks beyond it are rejected.
+             */
+            private int queueCapacity;
+
+            /**
+             * Whether to run each task on its own virtual thread instead of the pool, on Java 21 and later; the other
+             * settings are then ignored. Meant for the workloads blocked on I/O most of the time.
+             */
+            private boolean virtualThreads = false;
+
+            public Pool() {}
+
+            Pool(int coreSize, int maxSize, int queueCapacity) {
+                this.coreSize = coreSize;
+                this.maxSize = maxSize;
+                this.queueCapacity = queueCapacity;
+            }
+
+            public int getCoreSize() {
+                return coreSize;
+            }
+
+            public void setCoreSize(int coreSize) {
+                this.coreSize = coreSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public boolean isVirtualThreads() {
+                return virtualThreads;
+            }
+
+            public void setVirtualThreads(boolean virtualThreads) {
+                this.virtualThreads = virtualThreads;
+            }
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether the methods of the repositories, services and REST controllers are timed.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of the calls timed, from 0 to 1; the other calls are not measured at all.
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * Duration from which a timed call is logged with its arguments.
+         */
+        private long slowThresholdMs = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public long getSlowThresholdMs() {
+            return slowThresholdMs;
+        }
+
+        public void setSlowThresholdMs(long slowThresholdMs) {
+            this.slowThresholdMs = slowThresholdMs;
+        }
+    }
+
+    public static class SqlMetrics {
+
+        /**
+         * Whether the SQL statements run by each request are recorded by route.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether the statistics of each request are also sent back in its {@code X-Sql-Statistics} header.
+         */
+        private boolean responseHeader = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isResponseHeader() {
+            return responseHeader;
+        }
+
+        public void setResponseHeader(boolean responseHeader) {
+            this.responseHeader = responseHeader;
+        }
+    }
+}
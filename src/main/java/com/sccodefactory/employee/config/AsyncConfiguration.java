@@ -1,46 +1,189 @@
 package com.sccodefactory.employee.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * Executors of the asynchronous work, one per workload so that a slow one does not hold the others: {@code mail},
+ * {@code search-indexing} and {@code reporting}, sized by {@code application.executors}, and {@code task} for the
+ * other {@code @Async} methods, sized by {@code spring.task.execution}.
+ * <p>
+ * Each executor is monitored under its name with the {@code executor.*} metrics of Micrometer, its queue and active
+ * threads telling how saturated it is, and the {@code executor.rejected} counter for the tasks rejected once its queue
+ * is full.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
-public class AsyncConfiguration implements AsyncConfigurer {
+public class AsyncConfiguration implements AsyncConfigurer, WebMvcConfigurer {
 
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties.TaskExecutors executorProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.executorProperties = applicationProperties.getExecutors();
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        ApplicationProperties.TaskExecutors.Pool pool = new ApplicationProperties.TaskExecutors.Pool();
+        pool.setCoreSize(taskExecutionProperties.getPool().getCoreSize());
+        pool.setMaxSize(taskExecutionProperties.getPool().getMaxSize());
+        pool.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
+        return createExecutor("task", taskExecutionProperties.getThreadNamePrefix(), pool);
+    }
+
+    /**
+     * Executor of the {@link com.sccodefactory.employee.service.MailOutboxRelay}, so that slow SMTP servers do not
+     * hold the other asynchronous tasks.
+     */
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor() {
+        log.debug("Creating Mail Task Executor");
+        return createExecutor("mail", "mail-", executorProperties.getMail());
+    }
+
+    /**
+     * Executor of the index rebuilds of the {@link com.sccodefactory.employee.service.SearchReindexService}.
+     */
+    @Bean(name = "searchIndexingExecutor")
+    public Executor searchIndexingExecutor() {
+        log.debug("Creating Search Indexing Task Executor");
+        return createExecutor("search-indexing", "search-indexing-", executorProperties.getSearchIndexing());
+    }
+
+    /**
+     * Executor of the asynchronous requests, like the exports streaming their rows, so that they neither hold the
+     * request threads nor run on a new thread each.
+     */
+    @Bean(name = "reportingExecutor")
+    public AsyncTaskExecutor reportingExecutor() {
+        log.debug("Creating Reporting Task Executor");
+        return createExecutor("reporting", "reporting-", executorProperties.getReporting());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reportingExecutor());
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    ExceptionHandlingAsyncTaskExecutor createExecutor(String name, String threadNamePrefix, ApplicationProperties.TaskExecutors.Pool pool) {
+        ExecutorService executorService = null;
+        if (pool.isVirtualThreads()) {
+            executorService = newVirtualThreadPerTaskExecutor(threadNamePrefix);
+            if (executorService == null) {
+                log.warn("Virtual threads are not supported by this JVM, running the {} executor on a pool of threads", name);
+            }
+        }
+        if (executorService == null) {
+            executorService = newThreadPool(name, threadNamePrefix, pool);
+        }
+        return new ExceptionHandlingAsyncTaskExecutor(
+            new ShutdownTaskExecutor(ExecutorServiceMetrics.monitor(meterRegistry, executorService, name), executorService)
+        );
+    }
+
+    private ExecutorService newThreadPool(String name, String threadNamePrefix, ApplicationProperties.TaskExecutors.Pool pool) {
+        BlockingQueue<Runnable> queue = pool.getQueueCapacity() > 0
+            ? new LinkedBlockingQueue<>(pool.getQueueCapacity())
+            : new SynchronousQueue<>();
+        Counter rejected = Counter
+            .builder("executor.rejected")
+            .description("The number of tasks rejected by the executor, all its threads being busy and its queue full")
+            .tag("name", name)
+            .register(meterRegistry);
+        return new ThreadPoolExecutor(
+            pool.getCoreSize(),
+            Math.max(pool.getCoreSize(), pool.getMaxSize()),
+            60,
+            TimeUnit.SECONDS,
+            queue,
+            new CustomizableThreadFactory(threadNamePrefix),
+            (task, threadPool) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Task " + task + " rejected from the " + name + " executor");
+            }
+        );
+    }
+
+    /**
+     * @return an executor running each task on a new virtual thread, or {@code null} before Java 21. The Java 21 API
+     * is called by reflection, as the application is compiled for Java 8.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Task executor running on a monitored executor service, and shutting it down with the application context.
+     */
+    private static final class ShutdownTaskExecutor extends ConcurrentTaskExecutor implements DisposableBean {
+
+        private final ExecutorService executorService;
+
+        private ShutdownTaskExecutor(Executor monitored, ExecutorService executorService) {
+            super(monitored);
+            this.executorService = executorService;
+        }
+
+        @Override
+        public void destroy() {
+            executorService.shutdown();
+        }
+    }
 }
@@ -1,10 +1,19 @@
 package com.sccodefactory.employee.config;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
@@ -19,20 +28,43 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = com.sccodefactory.employee.domain.User.class.getPackage().getName() + ".";
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    /**
+     * @return the name of the cache in the {@code application.cache.regions} settings: relative to the domain package
+     * for the entities and their collections, or the cache name itself.
+     */
+    static String regionName(String cacheName) {
+        return cacheName.startsWith(DOMAIN_PACKAGE) ? cacheName.substring(DOMAIN_PACKAGE.length()) : cacheName;
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    /**
+     * @return the post processor decorating the JCache manager, shared by Hibernate and the Spring caches, so that
+     * their clears can be published by {@link com.sccodefactory.employee.service.CacheInvalidationBus}.
+     */
+    @Bean
+    public static BeanPostProcessor clearNotifyingCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof javax.cache.CacheManager && !(bean instanceof ClearNotifyingCacheManager)) {
+                    return new ClearNotifyingCacheManager((javax.cache.CacheManager) bean);
+                }
+                return bean;
+            }
+        };
     }
 
     @Bean
@@ -43,35 +75,77 @@ public class CacheConfiguration {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.sccodefactory.employee.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.sccodefactory.employee.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.sccodefactory.employee.domain.User.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Authority.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.sccodefactory.employee.domain.Region.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Country.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Location.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Department.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Department.class.getName() + ".employees");
-            createCache(cm, com.sccodefactory.employee.domain.Task.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Task.class.getName() + ".jobs");
-            createCache(cm, com.sccodefactory.employee.domain.Employee.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Employee.class.getName() + ".jobs");
-            createCache(cm, com.sccodefactory.employee.domain.Job.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Job.class.getName() + ".tasks");
-            createCache(cm, com.sccodefactory.employee.domain.JobHistory.class.getName());
-            createCache(cm, com.sccodefactory.employee.domain.Vacation.class.getName());
+            Set<String> regionNames = new HashSet<>();
+            createCache(cm, regionNames, com.sccodefactory.employee.repository.UserRepository.USERS_BY_LOGIN_CACHE);
+            createCache(cm, regionNames, com.sccodefactory.employee.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, regionNames, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, regionNames, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, regionNames, com.sccodefactory.employee.repository.QueryCacheRegions.REFERENCE_DATA);
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.User.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Authority.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.User.class.getName() + ".authorities");
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Region.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Country.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Location.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Department.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Department.class.getName() + ".employees");
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Task.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Task.class.getName() + ".jobs");
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Employee.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Employee.class.getName() + ".jobs");
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Job.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Job.class.getName() + ".tasks");
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.JobHistory.class.getName());
+            createCache(cm, regionNames, com.sccodefactory.employee.domain.Vacation.class.getName());
             // jhipster-needle-ehcache-add-entry
+            for (String regionName : cacheProperties.getRegions().keySet()) {
+                if (!regionNames.contains(regionName)) {
+                    log.warn("Ignoring the settings of unknown cache region {}", regionName);
+                }
+            }
         };
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    private void createCache(javax.cache.CacheManager cm, Set<String> regionNames, String cacheName) {
+        regionNames.add(regionName(cacheName));
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        cm.enableStatistics(cacheName, cacheProperties.isStatisticsEnabled());
+    }
+
+    /**
+     * @return the configuration of the cache: the {@code jhipster.cache.ehcache} settings, overridden by the ones of
+     * its region in {@code application.cache.regions}, if any. The last update times of the tables never expire: a
+     * cached query result is only checked against them, and would be served stale once they are gone.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(regionName(cacheName));
+        long maxEntries = region != null && region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries();
+        long timeToLiveSeconds = region != null && region.getTimeToLiveSeconds() != null
+            ? region.getTimeToLiveSeconds()
+            : ehcache.getTimeToLiveSeconds();
+        ExpiryPolicy<Object, Object> expiry = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(cacheName)
+            ? ExpiryPolicyBuilder.noExpiration()
+            : ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds));
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(maxEntries);
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry);
+        if (region != null && region.getOffHeapMb() > 0) {
+            // the entries past the heap tier are stored serialized, and Ehcache has no serializer for Object: the keys
+            // and entries of the regions and of the Spring caches are all Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            configuration =
+                configuration
+                    .withResourcePools(resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB))
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
         }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
     }
 
     @Autowired(required = false)
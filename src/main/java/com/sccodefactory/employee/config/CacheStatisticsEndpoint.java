@@ -0,0 +1,171 @@
+package com.sccodefactory.employee.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the hits, misses and evictions of each cache, second-level cache regions included, by
+ * region name as in {@code application.cache.regions}, to size the caches from their actual usage.
+ * <p>
+ * The counts are the JCache statistics, collected while {@code application.cache.statistics-enabled} is set, since
+ * startup or since they were last cleared with a {@code DELETE}.
+ */
+@Component
+@Endpoint(id = "cachestatistics")
+public class CacheStatisticsEndpoint {
+
+    private final CacheManager cacheManager;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CacheStatisticsEndpoint(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, RegionStatistics> cacheStatistics() {
+        Map<String, RegionStatistics> statistics = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheStatisticsMXBean bean = statisticsBean(cacheName);
+            if (bean != null) {
+                statistics.put(CacheConfiguration.regionName(cacheName), new RegionStatistics(bean));
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the statistics of the region, or {@code null}, reported as {@code 404 (Not Found)}, if there is no such
+     * region or its statistics are disabled.
+     */
+    @ReadOperation
+    public RegionStatistics regionStatistics(@Selector String region) {
+        CacheStatisticsMXBean bean = statisticsBean(cacheName(region));
+        return bean != null ? new RegionStatistics(bean) : null;
+    }
+
+    @DeleteOperation
+    public void clearStatistics() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheStatisticsMXBean bean = statisticsBean(cacheName);
+            if (bean != null) {
+                bean.clear();
+            }
+        }
+    }
+
+    private String cacheName(String region) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (CacheConfiguration.regionName(cacheName).equals(region)) {
+                return cacheName;
+            }
+        }
+        return region;
+    }
+
+    /**
+     * @return the statistics MBean registered by the cache manager for the cache, or {@code null} if there is none.
+     */
+    private CacheStatisticsMXBean statisticsBean(String cacheName) {
+        ObjectName name;
+        try {
+            name =
+                new ObjectName(
+                    "javax.cache:type=CacheStatistics,CacheManager=" +
+                    sanitize(cacheManager.getURI().toString()) +
+                    ",Cache=" +
+                    sanitize(cacheName)
+                );
+        } catch (MalformedObjectNameException e) {
+            return null;
+        }
+        return mBeanServer.isRegistered(name) ? JMX.newMXBeanProxy(mBeanServer, name, CacheStatisticsMXBean.class) : null;
+    }
+
+    /**
+     * The JCache convention to fit names into an {@link ObjectName}.
+     */
+    private static String sanitize(String value) {
+        return value.replaceAll(",|:|=|\n", ".");
+    }
+
+    public static class RegionStatistics {
+
+        private final long gets;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long evictions;
+
+        private final float averageGetTimeMicros;
+
+        RegionStatistics(CacheStatisticsMXBean bean) {
+            this.gets = bean.getCacheGets();
+            this.hits = bean.getCacheHits();
+            this.misses = bean.getCacheMisses();
+            this.puts = bean.getCachePuts();
+            this.evictions = bean.getCacheEvictions();
+            this.averageGetTimeMicros = bean.getAverageGetTime();
+        }
+
+        public long getGets() {
+            return gets;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRatio() {
+            return ratio(hits, hits + misses);
+        }
+
+        public double getMissRatio() {
+            return ratio(misses, hits + misses);
+        }
+
+        /**
+         * @return the share of the entries put in the cache that were evicted to make room for others: a high ratio
+         * means the cache is too small for its working set.
+         */
+        public double getEvictionRatio() {
+            return ratio(evictions, puts);
+        }
+
+        public float getAverageGetTimeMicros() {
+            return averageGetTimeMicros;
+        }
+
+        private static double ratio(long count, long total) {
+            return total > 0 ? (double) count / total : 0;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.sccodefactory.employee.config;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.Configuration;
+import javax.cache.integration.CompletionListener;
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import javax.cache.spi.CachingProvider;
+
+/**
+ * A JCache manager whose caches tell the registered {@link ClearListener}s when they are cleared, as
+ * {@link Cache#clear()} fires no event to the entry listeners. Hibernate clears a cache to evict a whole region or
+ * the query results, and Spring to invalidate a cache.
+ * <p>
+ * The listeners are registered on the manager unwrapped from the {@code javax.cache.CacheManager} bean, which
+ * {@link CacheConfiguration} decorates. Everything else is delegated to the decorated manager and its caches.
+ */
+public class ClearNotifyingCacheManager implements CacheManager {
+
+    /**
+     * Notified after a cache is cleared, on the thread that cleared it.
+     */
+    @FunctionalInterface
+    public interface ClearListener {
+        void onCleared(String cacheName);
+    }
+
+    private final CacheManager cacheManager;
+
+    private final ConcurrentMap<String, ClearNotifyingCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<ClearListener> clearListeners = new CopyOnWriteArrayList<>();
+
+    public ClearNotifyingCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void registerClearListener(ClearListener clearListener) {
+        clearListeners.addIfAbsent(clearListener);
+    }
+
+    public void deregisterClearListener(ClearListener clearListener) {
+        clearListeners.remove(clearListener);
+    }
+
+    @Override
+    public CachingProvider getCachingProvider() {
+        return cacheManager.getCachingProvider();
+    }
+
+    @Override
+    public URI getURI() {
+        return cacheManager.getURI();
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return cacheManager.getClassLoader();
+    }
+
+    @Override
+    public Properties getProperties() {
+        return cacheManager.getProperties();
+    }
+
+    @Override
+    public <K, V, C extends Configuration<K, V>> Cache<K, V> createCache(String cacheName, C configuration) {
+        return decorate(cacheManager.createCache(cacheName, configuration));
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getCache(String cacheName, Class<K> keyType, Class<V> valueType) {
+        return decorate(cacheManager.getCache(cacheName, keyType, valueType));
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getCache(String cacheName) {
+        return decorate(cacheManager.<K, V>getCache(cacheName));
+    }
+
+    @Override
+    public Iterable<String> getCacheNames() {
+        return cacheManager.getCacheNames();
+    }
+
+    @Override
+    public void destroyCache(String cacheName) {
+        caches.remove(cacheName);
+        cacheManager.destroyCache(cacheName);
+    }
+
+    @Override
+    public void enableManagement(String cacheName, boolean enabled) {
+        cacheManager.enableManagement(cacheName, enabled);
+    }
+
+    @Override
+    public void enableStatistics(String cacheName, boolean enabled) {
+        cacheManager.enableStatistics(cacheName, enabled);
+    }
+
+    @Override
+    public void close() {
+        caches.clear();
+        cacheManager.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return cacheManager.isClosed();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> clazz) {
+        return clazz.isInstance(this) ? clazz.cast(this) : cacheManager.unwrap(clazz);
+    }
+
+    /**
+     * @return the decoration of the cache, the same for as long as the cache exists.
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> Cache<K, V> decorate(Cache<K, V> cache) {
+        if (cache == null) {
+            return null;
+        }
+        ClearNotifyingCache<?, ?> decorated = caches.compute(
+            cache.getName(),
+            (cacheName, existing) -> existing != null && existing.cache == cache ? existing : new ClearNotifyingCache<>(cache)
+        );
+        return (Cache<K, V>) decorated;
+    }
+
+    private final class ClearNotifyingCache<K, V> implements Cache<K, V> {
+
+        private final Cache<K, V> cache;
+
+        private ClearNotifyingCache(Cache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+            for (ClearListener clearListener : clearListeners) {
+                clearListener.onCleared(cache.getName());
+            }
+        }
+
+        @Override
+        public V get(K key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public Map<K, V> getAll(Set<? extends K> keys) {
+            return cache.getAll(keys);
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return cache.containsKey(key);
+        }
+
+        @Override
+        public void loadAll(Set<? extends K> keys, boolean replaceExistingValues, CompletionListener completionListener) {
+            cache.loadAll(keys, replaceExistingValues, completionListener);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public V getAndPut(K key, V value) {
+            return cache.getAndPut(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends K, ? extends V> map) {
+            cache.putAll(map);
+        }
+
+        @Override
+        public boolean putIfAbsent(K key, V value) {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public boolean remove(K key) {
+            return cache.remove(key);
+        }
+
+        @Override
+        public boolean remove(K key, V oldValue) {
+            return cache.remove(key, oldValue);
+        }
+
+        @Override
+        public V getAndRemove(K key) {
+            return cache.getAndRemove(key);
+        }
+
+        @Override
+        public boolean replace(K key, V oldValue, V newValue) {
+            return cache.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public boolean replace(K key, V value) {
+            return cache.replace(key, value);
+        }
+
+        @Override
+        public V getAndReplace(K key, V value) {
+            return cache.getAndReplace(key, value);
+        }
+
+        @Override
+        public void removeAll(Set<? extends K> keys) {
+            cache.removeAll(keys);
+        }
+
+        @Override
+        public void removeAll() {
+            cache.removeAll();
+        }
+
+        @Override
+        public <C extends Configuration<K, V>> C getConfiguration(Class<C> clazz) {
+            return cache.getConfiguration(clazz);
+        }
+
+        @Override
+        public <T> T invoke(K key, EntryProcessor<K, V, T> entryProcessor, Object... arguments) throws EntryProcessorException {
+            return cache.invoke(key, entryProcessor, arguments);
+        }
+
+        @Override
+        public <T> Map<K, EntryProcessorResult<T>> invokeAll(
+            Set<? extends K> keys,
+            EntryProcessor<K, V, T> entryProcessor,
+            Object... arguments
+        ) {
+            return cache.invokeAll(keys, entryProcessor, arguments);
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public CacheManager getCacheManager() {
+            return ClearNotifyingCacheManager.this;
+        }
+
+        @Override
+        public void close() {
+            cache.close();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return cache.isClosed();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> clazz) {
+            return clazz.isInstance(this) ? clazz.cast(this) : cache.unwrap(clazz);
+        }
+
+        @Override
+        public void registerCacheEntryListener(CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration) {
+            cache.registerCacheEntryListener(cacheEntryListenerConfiguration);
+        }
+
+        @Override
+        public void deregisterCacheEntryListener(CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration) {
+            cache.deregisterCacheEntryListener(cacheEntryListenerConfiguration);
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return cache.iterator();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.sccodefactory.employee.config;
+
+import com.sccodefactory.employee.web.filter.SqlStatistics;
+import com.sccodefactory.employee.web.filter.SqlStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records the SQL statements of each request by route, see {@link SqlStatisticsFilter}. The listeners of
+ * {@link SqlStatistics} are registered with Hibernate when the session factory is built.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatistics.SessionListener.class.getName());
+            hibernateProperties.put(
+                EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> Collections.singletonList(new EntityLoadIntegrator())
+            );
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new SqlStatisticsFilter(meterRegistry, applicationProperties.getSqlMetrics().isResponseHeader());
+    }
+
+    /**
+     * Appends the {@link SqlStatistics.EntityLoadListener} to the post-load listeners of the session factory.
+     */
+    static class EntityLoadIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            serviceRegistry
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new SqlStatistics.EntityLoadListener());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {}
+    }
+}
@@ -11,7 +11,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "country")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "country")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "country", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/country-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/country-mapping.json")
 public class Country implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -1,5 +1,6 @@
 package com.sccodefactory.employee.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModelProperty;
 import java.io.Serializable;
@@ -9,6 +10,8 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.AccessType;
+import org.springframework.data.elasticsearch.core.completion.Completion;
 
 /**
  * A Department.
@@ -16,7 +19,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "department")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "department")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "department", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/department-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/department-mapping.json")
 public class Department implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -45,6 +50,15 @@ public class Department implements Serializable {
     @JsonIgnoreProperties(value = { "jobs", "manager", "department" }, allowSetters = true)
     private Set<Employee> employees = new HashSet<>();
 
+    /**
+     * Completion suggester input, derived from the department name: never stored in the database, and rebuilt on each
+     * write to the index.
+     */
+    @Transient
+    @JsonIgnore
+    @AccessType(AccessType.Type.PROPERTY)
+    private Completion suggest;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -117,6 +131,14 @@ public class Department implements Serializable {
         return this;
     }
 
+    public Completion getSuggest() {
+        return this.departmentName == null ? null : new Completion(new String[] { this.departmentName });
+    }
+
+    public void setSuggest(Completion suggest) {
+        // Derived from the department name
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
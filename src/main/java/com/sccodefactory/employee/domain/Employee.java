@@ -1,15 +1,23 @@
 package com.sccodefactory.employee.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.AccessType;
+import org.springframework.data.elasticsearch.core.completion.Completion;
 
 /**
  * The Employee entity.
@@ -18,7 +26,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "employee")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "employee")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "employee", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/employee-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/employee-mapping.json")
 public class Employee implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -71,6 +81,15 @@ public class Employee implements Serializable {
     @JsonIgnoreProperties(value = { "location", "employees" }, allowSetters = true)
     private Department department;
 
+    /**
+     * Completion suggester input, derived from the names and email: never stored in the database, and rebuilt on each
+     * write to the index.
+     */
+    @Transient
+    @JsonIgnore
+    @AccessType(AccessType.Type.PROPERTY)
+    private Completion suggest;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -234,6 +253,25 @@ public class Employee implements Serializable {
         return this;
     }
 
+    public Completion getSuggest() {
+        List<String> inputs = new ArrayList<>();
+        String name = Stream.of(this.firstName, this.lastName).filter(Objects::nonNull).collect(Collectors.joining(" "));
+        if (!name.isEmpty()) {
+            inputs.add(name);
+        }
+        if (this.firstName != null && this.lastName != null) {
+            inputs.add(this.lastName);
+        }
+        if (this.email != null) {
+            inputs.add(this.email);
+        }
+        return inputs.isEmpty() ? null : new Completion(inputs.toArray(new String[0]));
+    }
+
+    public void setSuggest(Completion suggest) {
+        // Derived from the other fields
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
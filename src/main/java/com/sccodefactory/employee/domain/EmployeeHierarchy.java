@@ -0,0 +1,104 @@
+package com.sccodefactory.employee.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A row of the closure table of {@link Employee#getManager()}: the descendant reports, directly or not, to the
+ * ancestor, {@code depth} levels below it. Every employee is its own descendant at depth 0.
+ * <p>
+ * The rows are only written with SQL, by {@link com.sccodefactory.employee.service.EmployeeHierarchyService}.
+ */
+@Entity
+@Immutable
+@Table(name = "employee_hierarchy")
+@IdClass(EmployeeHierarchy.Key.class)
+public class EmployeeHierarchy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    public Long getAncestorId() {
+        return this.ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return this.descendantId;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeHierarchy)) {
+            return false;
+        }
+        EmployeeHierarchy other = (EmployeeHierarchy) o;
+        return ancestorId != null && ancestorId.equals(other.ancestorId) && Objects.equals(descendantId, other.descendantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ancestorId, descendantId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeHierarchy{" +
+            "ancestorId=" + getAncestorId() +
+            ", descendantId=" + getDescendantId() +
+            ", depth=" + getDepth() +
+            "}";
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long ancestorId;
+
+        private Long descendantId;
+
+        public Key() {}
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(ancestorId, other.ancestorId) && Objects.equals(descendantId, other.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
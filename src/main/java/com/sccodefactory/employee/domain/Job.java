@@ -1,5 +1,6 @@
 package com.sccodefactory.employee.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.util.HashSet;
@@ -7,6 +8,8 @@ import java.util.Set;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.AccessType;
+import org.springframework.data.elasticsearch.core.completion.Completion;
 
 /**
  * A Job.
@@ -14,7 +17,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "job")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "job")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "job", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/job-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/job-mapping.json")
 public class Job implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -44,6 +49,15 @@ public class Job implements Serializable {
     @JsonIgnoreProperties(value = { "jobs", "manager", "department" }, allowSetters = true)
     private Employee employee;
 
+    /**
+     * Completion suggester input, derived from the job title: never stored in the database, and rebuilt on each
+     * write to the index.
+     */
+    @Transient
+    @JsonIgnore
+    @AccessType(AccessType.Type.PROPERTY)
+    private Completion suggest;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -136,6 +150,14 @@ public class Job implements Serializable {
         return this;
     }
 
+    public Completion getSuggest() {
+        return this.jobTitle == null ? null : new Completion(new String[] { this.jobTitle });
+    }
+
+    public void setSuggest(Completion suggest) {
+        // Derived from the job title
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
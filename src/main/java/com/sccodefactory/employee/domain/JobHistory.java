@@ -14,7 +14,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "job_history")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "jobhistory")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "jobhistory", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/jobhistory-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/jobhistory-mapping.json")
 public class JobHistory implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -12,7 +12,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "vacation")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "vacation")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "vacation", createIndex = false)
+@org.springframework.data.elasticsearch.annotations.Setting(settingPath = "config/elasticsearch/vacation-settings.json")
+@org.springframework.data.elasticsearch.annotations.Mapping(mappingPath = "config/elasticsearch/vacation-mapping.json")
 public class Vacation implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,9 @@
+package com.sccodefactory.employee.domain.enumeration;
+
+/**
+ * The SearchIndexOperation enumeration.
+ */
+public enum SearchIndexOperation {
+    INDEX,
+    DELETE,
+}
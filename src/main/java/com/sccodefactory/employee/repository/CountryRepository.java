@@ -1,12 +1,39 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Country;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Country entity.
+ * <p>
+ * The lists fetch the one-to-one relationships in the same query, instead of one query per country and relationship,
+ * and are kept in the {@link QueryCacheRegions#REFERENCE_DATA} query cache.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CountryRepository extends JpaRepository<Country, Long> {}
+public interface CountryRepository extends JpaRepository<Country, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "region" })
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    List<Country> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "region" })
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    Page<Country> findAll(Pageable pageable);
+}
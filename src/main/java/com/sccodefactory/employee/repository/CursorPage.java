@@ -0,0 +1,46 @@
+package com.sccodefactory.employee.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A page of a cursor-paginated result: instead of an offset and a total count, it carries an opaque cursor
+ * pointing right after its last element, so fetching the next page costs the same at any depth.
+ *
+ * @param <T> the type of the elements.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = Collections.unmodifiableList(content);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the cursor of the next page, or {@code null} if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * @return a page of the converted elements, with the same cursor.
+     */
+    public <U> CursorPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CursorPage<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -1,12 +1,25 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Department;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Department entity.
+ * <p>
+ * The lists fetch the one-to-one relationships in the same query, instead of one query per department and relationship.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {}
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "location", "location.country", "location.country.region" })
+    List<Department> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "location", "location.country", "location.country.region" })
+    Page<Department> findAll(Pageable pageable);
+}
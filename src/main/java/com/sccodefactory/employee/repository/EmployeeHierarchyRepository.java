@@ -0,0 +1,156 @@
+package com.sccodefactory.employee.repository;
+
+import com.sccodefactory.employee.domain.EmployeeHierarchy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the {@link EmployeeHierarchy} closure table.
+ * <p>
+ * Subtrees and chains of command are read with one query on the closure table, whatever their depth.
+ */
+@Repository
+public interface EmployeeHierarchyRepository
+    extends JpaRepository<EmployeeHierarchy, EmployeeHierarchy.Key>, EmployeeHierarchyRepositoryInternal {
+    /**
+     * @param id the id of the manager.
+     * @param depth the maximum number of levels below the manager.
+     * @return the direct and indirect reports of the manager, level by level.
+     */
+    @Query(
+        "select new com.sccodefactory.employee.repository.OrgChartEntry(e.id, e.firstName, e.lastName, e.email, m.id, d.id, h.depth) " +
+        "from EmployeeHierarchy h join Employee e on e.id = h.descendantId left join e.manager m left join e.department d " +
+        "where h.ancestorId = :id and h.depth between 1 and :depth order by h.depth, e.id"
+    )
+    List<OrgChartEntry> findReports(@Param("id") Long id, @Param("depth") int depth);
+
+    /**
+     * @param id the id of the employee.
+     * @return the managers of the employee, from its direct manager up to the top of the organization.
+     */
+    @Query(
+        "select new com.sccodefactory.employee.repository.OrgChartEntry(e.id, e.firstName, e.lastName, e.email, m.id, d.id, h.depth) " +
+        "from EmployeeHierarchy h join Employee e on e.id = h.ancestorId left join e.manager m left join e.department d " +
+        "where h.descendantId = :id and h.depth > 0 order by h.depth"
+    )
+    List<OrgChartEntry> findChainOfCommand(@Param("id") Long id);
+
+    Optional<EmployeeHierarchy> findOneByDescendantIdAndDepth(Long descendantId, int depth);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    long countByDepth(int depth);
+}
+
+interface EmployeeHierarchyRepositoryInternal {
+    /**
+     * Add new employees to the hierarchy, below their managers. The pending changes are flushed first.
+     *
+     * @param ids the ids of the employees, whose managers must already be in the hierarchy.
+     * @return the number of rows inserted.
+     */
+    int insertNodes(Collection<Long> ids);
+
+    /**
+     * Move an employee and all its reports under another manager.
+     *
+     * @param id the id of the employee.
+     * @param managerId the id of the new manager, which must not be one of the reports, or {@code null} for the top.
+     */
+    void moveSubtree(Long id, Long managerId);
+
+    /**
+     * Rebuild the whole hierarchy from {@code employee.manager_id}, one level per statement. The pending changes
+     * are flushed first.
+     *
+     * @return the number of rows inserted.
+     */
+    long rebuild();
+}
+
+class EmployeeHierarchyRepositoryInternalImpl implements EmployeeHierarchyRepositoryInternal {
+
+    private final EntityManager em;
+
+    EmployeeHierarchyRepositoryInternalImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public int insertNodes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        em.flush();
+        return (
+            update("insert into employee_hierarchy (ancestor_id, descendant_id, depth) select id, id, 0 from employee where id in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate() +
+            update(
+                "insert into employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                "select h.ancestor_id, e.id, h.depth + 1 from employee e join employee_hierarchy h on h.descendant_id = e.manager_id " +
+                "where e.id in (:ids)"
+            )
+                .setParameter("ids", ids)
+                .executeUpdate()
+        );
+    }
+
+    @Override
+    public void moveSubtree(Long id, Long managerId) {
+        // unlink the subtree from the former managers of its root
+        update(
+            "delete from employee_hierarchy " +
+            "where descendant_id in (select descendant_id from employee_hierarchy where ancestor_id = :id) " +
+            "and ancestor_id in (select ancestor_id from employee_hierarchy where descendant_id = :id and depth > 0)"
+        )
+            .setParameter("id", id)
+            .executeUpdate();
+        if (managerId != null) {
+            update(
+                "insert into employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                "select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 from employee_hierarchy a, employee_hierarchy d " +
+                "where a.descendant_id = :managerId and d.ancestor_id = :id"
+            )
+                .setParameter("managerId", managerId)
+                .setParameter("id", id)
+                .executeUpdate();
+        }
+    }
+
+    @Override
+    public long rebuild() {
+        em.flush();
+        update("delete from employee_hierarchy").executeUpdate();
+        long rows = update("insert into employee_hierarchy (ancestor_id, descendant_id, depth) select id, id, 0 from employee")
+            .executeUpdate();
+        // each statement extends the paths of the previous level by one report; a cycle fails on the unique index
+        for (int depth = 0;; depth++) {
+            int inserted = update(
+                "insert into employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                "select h.ancestor_id, e.id, h.depth + 1 from employee_hierarchy h join employee e on e.manager_id = h.descendant_id " +
+                "where h.depth = :depth"
+            )
+                .setParameter("depth", depth)
+                .executeUpdate();
+            if (inserted == 0) {
+                return rows;
+            }
+            rows += inserted;
+        }
+    }
+
+    /**
+     * Native statements only touching the closure table, so that Hibernate leaves the second-level cache of the
+     * other entities alone.
+     */
+    private NativeQuery<?> update(String sql) {
+        return em.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(EmployeeHierarchy.class);
+    }
+}
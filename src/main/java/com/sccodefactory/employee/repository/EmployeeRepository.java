@@ -1,7 +1,19 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.service.dto.EmployeeDTO;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +21,105 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryInternal {
+    long countByManagerIsNotNull();
+
+    /**
+     * @return the id of every employee, with the id of its manager or {@code null}.
+     */
+    @Query("select e.id, m.id from Employee e left join e.manager m")
+    List<Object[]> findAllIdsAndManagerIds();
+
+    /**
+     * Get a page of employees as DTOs, reading the ids of their manager and department from the employee rows
+     * without loading the related entities.
+     *
+     * @param pageable the pagination information.
+     * @return the page of DTOs.
+     */
+    @Query(
+        value = "select new com.sccodefactory.employee.service.dto.EmployeeDTO(e.id, e.firstName, e.lastName, e.email, e.phoneNumber, " +
+        "e.hireDate, e.salary, e.commissionPct, e.manager.id, e.department.id) from Employee e",
+        countQuery = "select count(e) from Employee e"
+    )
+    Page<EmployeeDTO> findAllDtos(Pageable pageable);
+
+    @Query(
+        "select new com.sccodefactory.employee.service.dto.EmployeeDTO(e.id, e.firstName, e.lastName, e.email, e.phoneNumber, " +
+        "e.hireDate, e.salary, e.commissionPct, e.manager.id, e.department.id) from Employee e where e.id = :id"
+    )
+    Optional<EmployeeDTO> findDtoById(@Param("id") Long id);
+}
+
+interface EmployeeRepositoryInternal {
+    /**
+     * Get a page with keyset pagination, without a count query.
+     *
+     * @param sort the sort, on the id and/or one of {@code lastName}, {@code hireDate} or {@code salary}, which have an
+     * index on {@code (key, id)}.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page.
+     * @throws IllegalArgumentException if the sort is not supported or the cursor is malformed.
+     */
+    CursorPage<Employee> findAllAfter(Sort sort, String cursor, int size);
+
+    /**
+     * Get a page of DTOs with keyset pagination, without a count query, like {@link #findAllAfter}.
+     *
+     * @param sort the sort, on the id and/or one of {@code lastName}, {@code hireDate} or {@code salary}, which have an
+     * index on {@code (key, id)}.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page.
+     * @throws IllegalArgumentException if the sort is not supported or the cursor is malformed.
+     */
+    CursorPage<EmployeeDTO> findAllDtosAfter(Sort sort, String cursor, int size);
+}
+
+class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
+
+    /**
+     * The properties the pages can be sorted by besides the id, each with an index on {@code (key, id)}.
+     */
+    private static final Set<String> KEYSET_KEYS = new HashSet<>(Arrays.asList("lastName", "hireDate", "salary"));
+
+    private final EntityManager em;
+
+    EmployeeRepositoryInternalImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public CursorPage<Employee> findAllAfter(Sort sort, String cursor, int size) {
+        return KeysetQuery.find(em, Employee.class, KEYSET_KEYS, sort, cursor, size);
+    }
+
+    @Override
+    public CursorPage<EmployeeDTO> findAllDtosAfter(Sort sort, String cursor, int size) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        return KeysetQuery.find(
+            em,
+            Employee.class,
+            EmployeeDTO.class,
+            e ->
+                cb.construct(
+                    EmployeeDTO.class,
+                    e.get("id"),
+                    e.get("firstName"),
+                    e.get("lastName"),
+                    e.get("email"),
+                    e.get("phoneNumber"),
+                    e.get("hireDate"),
+                    e.get("salary"),
+                    e.get("commissionPct"),
+                    e.get("manager").get("id"),
+                    e.get("department").get("id")
+                ),
+            KEYSET_KEYS,
+            sort,
+            cursor,
+            size
+        );
+    }
+}
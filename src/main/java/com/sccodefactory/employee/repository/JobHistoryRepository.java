@@ -1,7 +1,18 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.service.dto.JobHistoryDTO;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,94 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JobHistoryRepository extends JpaRepository<JobHistory, Long> {}
+public interface JobHistoryRepository extends JpaRepository<JobHistory, Long>, JobHistoryRepositoryInternal {
+    /**
+     * Get a page of job histories as DTOs, reading the ids of their job, department and employee from the job history
+     * rows without loading the related entities.
+     *
+     * @param pageable the pagination information.
+     * @return the page of DTOs.
+     */
+    @Query(
+        value = "select new com.sccodefactory.employee.service.dto.JobHistoryDTO(jobHistory.id, jobHistory.startDate, " +
+        "jobHistory.endDate, jobHistory.language, jobHistory.job.id, jobHistory.department.id, jobHistory.employee.id) " +
+        "from JobHistory jobHistory",
+        countQuery = "select count(jobHistory) from JobHistory jobHistory"
+    )
+    Page<JobHistoryDTO> findAllDtos(Pageable pageable);
+
+    @Query(
+        "select new com.sccodefactory.employee.service.dto.JobHistoryDTO(jobHistory.id, jobHistory.startDate, " +
+        "jobHistory.endDate, jobHistory.language, jobHistory.job.id, jobHistory.department.id, jobHistory.employee.id) " +
+        "from JobHistory jobHistory where jobHistory.id = :id"
+    )
+    Optional<JobHistoryDTO> findDtoById(@Param("id") Long id);
+}
+
+interface JobHistoryRepositoryInternal {
+    /**
+     * Get a page with keyset pagination, without a count query.
+     *
+     * @param sort the sort, on the id and/or one of {@code startDate} or {@code endDate}, which have an index on {@code (key, id)}.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page.
+     * @throws IllegalArgumentException if the sort is not supported or the cursor is malformed.
+     */
+    CursorPage<JobHistory> findAllAfter(Sort sort, String cursor, int size);
+
+    /**
+     * Get a page of DTOs with keyset pagination, without a count query, like {@link #findAllAfter}.
+     *
+     * @param sort the sort, on the id and/or one of {@code startDate} or {@code endDate}, which have an index on {@code (key, id)}.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page.
+     * @throws IllegalArgumentException if the sort is not supported or the cursor is malformed.
+     */
+    CursorPage<JobHistoryDTO> findAllDtosAfter(Sort sort, String cursor, int size);
+}
+
+class JobHistoryRepositoryInternalImpl implements JobHistoryRepositoryInternal {
+
+    /**
+     * The properties the pages can be sorted by besides the id, each with an index on {@code (key, id)}.
+     */
+    private static final Set<String> KEYSET_KEYS = new HashSet<>(Arrays.asList("startDate", "endDate"));
+
+    private final EntityManager em;
+
+    JobHistoryRepositoryInternalImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public CursorPage<JobHistory> findAllAfter(Sort sort, String cursor, int size) {
+        return KeysetQuery.find(em, JobHistory.class, KEYSET_KEYS, sort, cursor, size);
+    }
+
+    @Override
+    public CursorPage<JobHistoryDTO> findAllDtosAfter(Sort sort, String cursor, int size) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        return KeysetQuery.find(
+            em,
+            JobHistory.class,
+            JobHistoryDTO.class,
+            jobHistory ->
+                cb.construct(
+                    JobHistoryDTO.class,
+                    jobHistory.get("id"),
+                    jobHistory.get("startDate"),
+                    jobHistory.get("endDate"),
+                    jobHistory.get("language"),
+                    jobHistory.get("job").get("id"),
+                    jobHistory.get("department").get("id"),
+                    jobHistory.get("employee").get("id")
+                ),
+            KEYSET_KEYS,
+            sort,
+            cursor,
+            size
+        );
+    }
+}
@@ -1,25 +1,87 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Job;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Job entity.
  */
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
-    @Query(value = "select distinct job from Job job left join fetch job.tasks", countQuery = "select count(distinct job) from Job job")
-    Page<Job> findAllWithEagerRelationships(Pageable pageable);
-
+public interface JobRepository extends JpaRepository<Job, Long>, JobRepositoryInternal {
     @Query("select distinct job from Job job left join fetch job.tasks")
     List<Job> findAllWithEagerRelationships();
 
     @Query("select job from Job job left join fetch job.tasks where job.id =:id")
     Optional<Job> findOneWithEagerRelationships(@Param("id") Long id);
 }
+
+interface JobRepositoryInternal {
+    /**
+     * Get a page of jobs with their tasks.
+     * <p>
+     * Fetching a collection makes one row per task, so the page cannot be cut by the database in the same query:
+     * the ids of the page are selected first, then their jobs and tasks are fetched together.
+     *
+     * @param pageable the pagination information.
+     * @return the page of jobs.
+     */
+    Page<Job> findAllWithEagerRelationships(Pageable pageable);
+}
+
+class JobRepositoryInternalImpl implements JobRepositoryInternal {
+
+    private static final String ALIAS = "job";
+
+    private final EntityManager em;
+
+    JobRepositoryInternalImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public Page<Job> findAllWithEagerRelationships(Pageable pageable) {
+        String idQueryString = QueryUtils.applySorting("select job.id from Job job", pageable.getSort(), ALIAS);
+        TypedQuery<Long> idQuery = em.createQuery(idQueryString, Long.class);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = idQuery.getResultList();
+        List<Job> jobs = ids.isEmpty() ? Collections.emptyList() : findAllWithTasksByIdIn(ids);
+        return PageableExecutionUtils.getPage(
+            jobs,
+            pageable,
+            () -> em.createQuery("select count(job) from Job job", Long.class).getSingleResult()
+        );
+    }
+
+    /**
+     * @return the jobs in the order of the ids; a job deleted since its id was read is left out.
+     */
+    private List<Job> findAllWithTasksByIdIn(List<Long> ids) {
+        Map<Long, Job> jobs = new HashMap<>();
+        // the in list is padded to a power of two by hibernate.query.in_clause_parameter_padding, to reuse statements
+        em
+            .createQuery("select distinct job from Job job left join fetch job.tasks where job.id in :ids", Job.class)
+            .setParameter("ids", ids)
+            .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+            .getResultList()
+            .forEach(job -> jobs.put(job.getId(), job));
+        return ids.stream().map(jobs::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,289 @@
+package com.sccodefactory.employee.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset pagination: each page resumes right after the sort key and id of the previous page's last row, carried
+ * in an opaque cursor, so that the database seeks into the {@code (key, id)} index instead of reading and skipping
+ * an offset's worth of rows, and no count query is needed.
+ * <p>
+ * The sort has at most one property besides the {@code id} tie-breaker, among the keys the caller declares: each
+ * needs an index on {@code (key, id)}, without which every page would sort the whole table. Rows with a {@code null}
+ * key cannot be compared, so they always come last, ordered by id: a page may end with keyed rows and continue with
+ * them.
+ * <p>
+ * The rows are either the entities, or projections selected from them, which must expose the sort property and the
+ * id through getters of the same names.
+ */
+final class KeysetQuery {
+
+    private static final String ID = "id";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetQuery() {}
+
+    /**
+     * @param keys the properties the rows can be sorted by besides the id, each with an index on {@code (key, id)}.
+     * @param sort the sort, on one of the keys and/or the id; by id if unsorted.
+     * @param cursor the cursor returned with the previous page, or {@code null} or empty for the first page.
+     * @throws IllegalArgumentException if the sort is not supported, or the cursor is malformed or was issued
+     * for another sort.
+     */
+    static <T> CursorPage<T> find(EntityManager em, Class<T> entityClass, Set<String> keys, Sort sort, String cursor, int size) {
+        return find(em, entityClass, entityClass, root -> root, keys, sort, cursor, size);
+    }
+
+    /**
+     * @param resultClass the type of the projection.
+     * @param selection the projection of a row, typically a constructor expression.
+     * @param keys the properties the rows can be sorted by besides the id, each with an index on {@code (key, id)}.
+     * @param sort the sort, on one of the keys and/or the id; by id if unsorted.
+     * @param cursor the cursor returned with the previous page, or {@code null} or empty for the first page.
+     * @throws IllegalArgumentException if the sort is not supported, or the cursor is malformed or was issued
+     * for another sort.
+     */
+    static <T, R> CursorPage<R> find(
+        EntityManager em,
+        Class<T> entityClass,
+        Class<R> resultClass,
+        Function<Root<T>, Selection<? extends R>> selection,
+        Set<String> keys,
+        Sort sort,
+        String cursor,
+        int size
+    ) {
+        Select<T, R> select = new Select<>(em, entityClass, resultClass, selection);
+        Sort.Order keyOrder = keyOrder(sort);
+        if (keyOrder != null && !keys.contains(keyOrder.getProperty())) {
+            throw new IllegalArgumentException("Cannot page by " + keyOrder.getProperty() + ", only by id or " + String.join(", ", keys));
+        }
+        Sort.Direction direction = keyOrder != null ? keyOrder.getDirection() : idDirection(sort);
+        String property = keyOrder != null ? keyOrder.getProperty() : ID;
+        Class<?> keyType = keyOrder != null ? keyType(em, entityClass, property) : Long.class;
+        Cursor after = cursor != null && !cursor.isEmpty() ? decode(cursor, property, direction, keyType) : null;
+
+        List<R> content = new ArrayList<>(size + 1);
+        if (keyOrder == null) {
+            content.addAll(select.rows(ID, direction, after != null ? after.id : null, null, size + 1, false));
+        } else {
+            if (after == null) {
+                content.addAll(select.rows(property, direction, null, null, size + 1, false));
+            } else if (after.key != null) {
+                content.addAll(select.rows(property, direction, after.key, after.id, size + 1, false));
+            }
+            if (content.size() <= size) {
+                Long afterId = after != null && after.key == null ? after.id : null;
+                content.addAll(select.rows(property, direction, null, afterId, size + 1 - content.size(), true));
+            }
+        }
+        if (content.size() <= size) {
+            return new CursorPage<>(content, null);
+        }
+        content = content.subList(0, size);
+        // through the getters, as the row may be a proxy already in the persistence context
+        BeanWrapper last = PropertyAccessorFactory.forBeanPropertyAccess(content.get(size - 1));
+        Long lastId = (Long) last.getPropertyValue(ID);
+        Object lastKey = keyOrder != null ? last.getPropertyValue(property) : lastId;
+        return new CursorPage<>(new ArrayList<>(content), encode(property, direction, lastKey, lastId));
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(
+        CriteriaBuilder cb,
+        Expression<? extends Y> path,
+        Y value,
+        Sort.Direction direction
+    ) {
+        return direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    private static Sort.Order keyOrder(Sort sort) {
+        Sort.Order keyOrder = null;
+        for (Iterator<Sort.Order> orders = sort.iterator(); orders.hasNext();) {
+            Sort.Order order = orders.next();
+            if (ID.equals(order.getProperty())) {
+                if (orders.hasNext()) {
+                    throw new IllegalArgumentException("The id must be the last sort property");
+                }
+            } else if (keyOrder != null) {
+                throw new IllegalArgumentException("Only one sort property besides the id is supported: " + sort);
+            } else {
+                keyOrder = order;
+            }
+        }
+        Sort.Order idOrder = sort.getOrderFor(ID);
+        if (keyOrder != null && idOrder != null && idOrder.getDirection() != keyOrder.getDirection()) {
+            throw new IllegalArgumentException("The id must be sorted in the same direction as " + keyOrder.getProperty());
+        }
+        return keyOrder;
+    }
+
+    private static Sort.Direction idDirection(Sort sort) {
+        Sort.Order idOrder = sort.getOrderFor(ID);
+        return idOrder != null ? idOrder.getDirection() : Sort.Direction.ASC;
+    }
+
+    private static Class<?> keyType(EntityManager em, Class<?> entityClass, String property) {
+        Attribute<?, ?> attribute;
+        try {
+            attribute = em.getMetamodel().entity(entityClass).getAttribute(property);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort property: " + property, e);
+        }
+        if (
+            !(attribute instanceof SingularAttribute) ||
+            attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC ||
+            !Comparable.class.isAssignableFrom(attribute.getJavaType())
+        ) {
+            throw new IllegalArgumentException("Cannot sort by " + property);
+        }
+        return attribute.getJavaType();
+    }
+
+    private static String encode(String property, Sort.Direction direction, Object key, Long id) {
+        Object[] values = { property, direction.name(), key != null ? key.toString() : null, id };
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Cursor decode(String cursor, String property, Sort.Direction direction, Class<?> keyType) {
+        Object[] values;
+        try {
+            values = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Object[].class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (
+            values.length != 4 ||
+            !property.equals(values[0]) ||
+            !direction.name().equals(values[1]) ||
+            !(values[3] instanceof Number) ||
+            (values[2] != null && !(values[2] instanceof String))
+        ) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + property + "," + direction + ": " + cursor);
+        }
+        Long id = ((Number) values[3]).longValue();
+        String key = (String) values[2];
+        try {
+            Object typedKey;
+            if (key == null) {
+                typedKey = null;
+            } else if (keyType == String.class) {
+                typedKey = key;
+            } else if (keyType == Long.class || keyType == long.class) {
+                typedKey = Long.valueOf(key);
+            } else if (keyType == Integer.class || keyType == int.class) {
+                typedKey = Integer.valueOf(key);
+            } else if (keyType == Instant.class) {
+                typedKey = Instant.parse(key);
+            } else if (keyType == LocalDate.class) {
+                typedKey = LocalDate.parse(key);
+            } else if (keyType == Boolean.class || keyType == boolean.class) {
+                typedKey = Boolean.valueOf(key);
+            } else if (keyType.isEnum()) {
+                typedKey = Enum.valueOf((Class<Enum>) keyType, key);
+            } else {
+                throw new IllegalArgumentException("Cannot sort by " + property + " of type " + keyType.getSimpleName());
+            }
+            return new Cursor(ID.equals(property) ? id : typedKey, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * A query of the rows of an entity, or of their projections.
+     */
+    private static final class Select<T, R> {
+
+        private final EntityManager em;
+
+        private final Class<T> entityClass;
+
+        private final Class<R> resultClass;
+
+        private final Function<Root<T>, Selection<? extends R>> selection;
+
+        private Select(EntityManager em, Class<T> entityClass, Class<R> resultClass, Function<Root<T>, Selection<? extends R>> selection) {
+            this.em = em;
+            this.entityClass = entityClass;
+            this.resultClass = resultClass;
+            this.selection = selection;
+        }
+
+        /**
+         * Select the rows after the given position: in the keyed phase, the rows with a non-null key after
+         * {@code (afterKey, afterId)}; in the null phase, the rows with a null key after {@code afterId}.
+         */
+        @SuppressWarnings("unchecked")
+        private List<R> rows(String property, Sort.Direction direction, Object afterKey, Long afterId, int limit, boolean nullPhase) {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<R> query = cb.createQuery(resultClass);
+            Root<T> root = query.from(entityClass);
+            Expression<Comparable<Object>> key = root.get(property);
+            Expression<Long> id = root.get(ID);
+            List<Predicate> where = new ArrayList<>();
+            List<Order> orderBy = new ArrayList<>();
+            if (ID.equals(property)) {
+                if (afterKey != null) {
+                    where.add(after(cb, id, (Long) afterKey, direction));
+                }
+            } else if (nullPhase) {
+                where.add(cb.isNull(key));
+                if (afterId != null) {
+                    where.add(after(cb, id, afterId, direction));
+                }
+            } else {
+                where.add(cb.isNotNull(key));
+                if (afterKey != null) {
+                    Comparable<Object> value = (Comparable<Object>) afterKey;
+                    where.add(cb.or(after(cb, key, value, direction), cb.and(cb.equal(key, value), after(cb, id, afterId, direction))));
+                }
+                orderBy.add(direction.isAscending() ? cb.asc(key) : cb.desc(key));
+            }
+            orderBy.add(direction.isAscending() ? cb.asc(id) : cb.desc(id));
+            query.select(selection.apply(root)).where(where.toArray(new Predicate[0])).orderBy(orderBy);
+            return em.createQuery(query).setMaxResults(limit).getResultList();
+        }
+    }
+
+    private static final class Cursor {
+
+        private final Object key;
+
+        private final Long id;
+
+        private Cursor(Object key, Long id) {
+            this.key = key;
+            this.id = Objects.requireNonNull(id);
+        }
+    }
+}
@@ -1,12 +1,39 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Location;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Location entity.
+ * <p>
+ * The lists fetch the one-to-one relationships in the same query, instead of one query per location and relationship,
+ * and are kept in the {@link QueryCacheRegions#REFERENCE_DATA} query cache.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {}
+public interface LocationRepository extends JpaRepository<Location, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "country", "country.region" })
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    List<Location> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "country", "country.region" })
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    Page<Location> findAll(Pageable pageable);
+}
@@ -0,0 +1,75 @@
+package com.sccodefactory.employee.repository;
+
+/**
+ * An employee in an org chart: its own columns, the ids of its manager and department, and its distance to the
+ * employee the chart was drawn from.
+ */
+public class OrgChartEntry {
+
+    private final Long id;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String email;
+
+    private final Long managerId;
+
+    private final Long departmentId;
+
+    private final int depth;
+
+    public OrgChartEntry(Long id, String firstName, String lastName, String email, Long managerId, Long departmentId, int depth) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.managerId = managerId;
+        this.departmentId = departmentId;
+        this.depth = depth;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    /**
+     * @return the number of management levels between this employee and the one the chart was drawn from.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrgChartEntry{" +
+            "id=" + getId() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", managerId=" + getManagerId() +
+            ", depth=" + getDepth() +
+            "}";
+    }
+}
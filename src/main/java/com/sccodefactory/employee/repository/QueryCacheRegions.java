@@ -0,0 +1,19 @@
+package com.sccodefactory.employee.repository;
+
+/**
+ * Names of the regions of the Hibernate query cache.
+ * <p>
+ * A cached result holds the ids of the entities, which are then read from their second-level cache. Hibernate drops
+ * it as soon as one of the tables it was read from is written through any session of this instance, so the results
+ * need no explicit eviction; writes made around Hibernate, e.g. with plain JDBC, must evict the region themselves.
+ */
+public final class QueryCacheRegions {
+
+    /**
+     * The lists of regions, countries, locations and tasks, which fill the dropdowns of the forms and change a few
+     * times a year.
+     */
+    public static final String REFERENCE_DATA = "referenceData";
+
+    private QueryCacheRegions() {}
+}
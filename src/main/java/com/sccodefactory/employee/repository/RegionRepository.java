@@ -1,12 +1,36 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Region;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Region entity.
+ * <p>
+ * The lists are kept in the {@link QueryCacheRegions#REFERENCE_DATA} query cache.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RegionRepository extends JpaRepository<Region, Long> {}
+public interface RegionRepository extends JpaRepository<Region, Long> {
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    List<Region> findAll();
+
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    Page<Region> findAll(Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.sccodefactory.employee.repository;
+
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the {@link SearchIndexOutbox} entity.
+ */
+@Repository
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long> {
+    /**
+     * The due rows, locked until the end of the transaction, so that two instances never claim the same row. The rows
+     * locked by another instance are skipped rather than waited for, a lock timeout of {@code -2} standing for
+     * {@code SKIP LOCKED} in Hibernate.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    List<SearchIndexOutbox> findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant now, Pageable pageable);
+
+    List<SearchIndexOutbox> findAllByEntityTypeAndEntityIdOrderByIdAsc(String entityType, Long entityId);
+}
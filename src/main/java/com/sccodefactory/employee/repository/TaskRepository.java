@@ -1,12 +1,36 @@
 package com.sccodefactory.employee.repository;
 
 import com.sccodefactory.employee.domain.Task;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Task entity.
+ * <p>
+ * The lists are kept in the {@link QueryCacheRegions#REFERENCE_DATA} query cache.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+public interface TaskRepository extends JpaRepository<Task, Long> {
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    List<Task> findAll();
+
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.REFERENCE_DATA),
+        }
+    )
+    Page<Task> findAll(Pageable pageable);
+}
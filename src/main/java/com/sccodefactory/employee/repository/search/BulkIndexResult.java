@@ -0,0 +1,123 @@
+package com.sccodefactory.employee.repository.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one or more {@code _bulk} requests sent by the {@link BulkSearchIndexer}.
+ */
+public class BulkIndexResult {
+
+    private int actions;
+
+    private long tookMillis;
+
+    private final List<Failure> failures = new ArrayList<>();
+
+    private final List<Failure> shadowFailures = new ArrayList<>();
+
+    void addActions(int actions, long tookMillis) {
+        this.actions += actions;
+        this.tookMillis += tookMillis;
+    }
+
+    void addFailure(Failure failure) {
+        failures.add(failure);
+    }
+
+    void addShadowFailure(Failure failure) {
+        shadowFailures.add(failure);
+    }
+
+    void merge(BulkIndexResult other) {
+        addActions(other.actions, other.tookMillis);
+        failures.addAll(other.failures);
+        shadowFailures.addAll(other.shadowFailures);
+    }
+
+    /**
+     * @return the number of actions sent, including the failed ones and the copies into shadow indices.
+     */
+    public int getActions() {
+        return actions;
+    }
+
+    /**
+     * @return the time spent by Elasticsearch on the requests, as reported in the responses.
+     */
+    public long getTookMillis() {
+        return tookMillis;
+    }
+
+    /**
+     * @return the failed actions, not including the copies into shadow indices.
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return the copies into shadow indices that failed, which fail the rebuild of their index rather than being
+     * retried: the action they copy did not fail.
+     */
+    public List<Failure> getShadowFailures() {
+        return Collections.unmodifiableList(shadowFailures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkIndexResult{actions=" + actions +
+            ", tookMillis=" + tookMillis +
+            ", failures=" + failures.size() +
+            ", shadowFailures=" + shadowFailures.size() +
+            "}";
+    }
+
+    /**
+     * A single action rejected by Elasticsearch, or not sent because the request failed as a whole.
+     */
+    public static class Failure {
+
+        private final Class<?> entityClass;
+
+        private final String id;
+
+        private final BulkSearchIndexer.Action.Type type;
+
+        private final String message;
+
+        public Failure(Class<?> entityClass, String id, BulkSearchIndexer.Action.Type type, String message) {
+            this.entityClass = entityClass;
+            this.id = id;
+            this.type = type;
+            this.message = message;
+        }
+
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public BulkSearchIndexer.Action.Type getType() {
+            return type;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + entityClass.getSimpleName() + "#" + id + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.sccodefactory.employee.repository.search;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.util.ProxyUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared Elasticsearch bulk writer for every {@code @Document} entity.
+ * <p>
+ * Actions can either be sent right away with {@link #execute(List)}, or buffered with {@link #add(Action)}:
+ * the buffer is sent as a single {@code _bulk} request once it holds {@code application.search-bulk.bulk-actions}
+ * actions or {@code application.search-bulk.bulk-size-bytes} bytes, and at least every
+ * {@code application.search-bulk.flush-interval-ms} milliseconds. Rejected items are reported one by one in the
+ * {@link BulkIndexResult}; a request that fails as a whole reports all of its items as failed.
+ * <p>
+ * While an index is being rebuilt, {@link #startShadowWrites(Class, String)} mirrors every write for its entity
+ * into the new index as well, so that changes made during the rebuild are not lost when the alias is swapped. The
+ * copies are sent in the same requests, but their failures are reported apart, as
+ * {@link BulkIndexResult#getShadowFailures()}, and counted by {@link #getShadowFailureCount(Class)}: the write to the
+ * entity's own index did not fail, so the caller is not to retry it, and the rebuild fails instead.
+ * <p>
+ * An action given a version is written with external versioning: Elasticsearch ignores it, as a conflict that is not
+ * reported as a failure, when the index already holds a later version of the document.
+ * <p>
+ * The shadow writes are held in memory: only the writes relayed by this instance are mirrored, so a rebuild assumes
+ * that a single instance relays the writes while it runs.
+ */
+@Component
+public class BulkSearchIndexer {
+
+    private final Logger log = LoggerFactory.getLogger(BulkSearchIndexer.class);
+
+    private final ElasticsearchRestTemplate elasticsearchTemplate;
+
+    private final ApplicationProperties.SearchBulk properties;
+
+    private final List<Action> buffer = new ArrayList<>();
+
+    private long bufferedBytes;
+
+    private final Map<Class<?>, ShadowIndex> shadowIndices = new ConcurrentHashMap<>();
+
+    public BulkSearchIndexer(ElasticsearchRestTemplate elasticsearchTemplate, ApplicationProperties applicationProperties) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.properties = applicationProperties.getSearchBulk();
+    }
+
+    /**
+     * Buffer the upsert of an entity.
+     *
+     * @param entity the {@code @Document} entity to index.
+     */
+    public void index(Object entity) {
+        add(Action.index(entity));
+    }
+
+    /**
+     * Buffer the removal of a document.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     * @param id the id of the document.
+     */
+    public void delete(Class<?> entityClass, Object id) {
+        add(Action.delete(entityClass, id));
+    }
+
+    /**
+     * Buffer an action, sending the buffer if it reached one of the size thresholds.
+     *
+     * @param action the action to buffer.
+     */
+    public void add(Action action) {
+        List<Action> toSend = null;
+        DocWriteRequest<?> request = toRequest(action);
+        synchronized (buffer) {
+            buffer.add(action);
+            bufferedBytes += estimatedSize(request);
+            if (buffer.size() >= properties.getBulkActions() || bufferedBytes >= properties.getBulkSizeBytes()) {
+                toSend = drainBuffer();
+            }
+        }
+        if (toSend != null) {
+            logFailures(execute(toSend));
+        }
+    }
+
+    /**
+     * Send everything buffered so far.
+     *
+     * @return the result of the {@code _bulk} requests.
+     */
+    public BulkIndexResult flush() {
+        List<Action> toSend;
+        synchronized (buffer) {
+            toSend = drainBuffer();
+        }
+        BulkIndexResult result = execute(toSend);
+        logFailures(result);
+        return result;
+    }
+
+    /**
+     * Periodically send the buffer, so that buffered actions never wait longer than the flush interval.
+     */
+    @Scheduled(fixedDelayString = "${application.search-bulk.flush-interval-ms:1000}")
+    public void flushPeriodically() {
+        flush();
+    }
+
+    /**
+     * Send the given actions right away, bypassing the buffer, split into as few {@code _bulk} requests as the
+     * size thresholds allow.
+     *
+     * @param actions the actions to send.
+     * @return the result of the {@code _bulk} requests.
+     */
+    public BulkIndexResult execute(List<Action> actions) {
+        BulkIndexResult result = new BulkIndexResult();
+        BulkRequest request = new BulkRequest();
+        List<Action> chunk = new ArrayList<>();
+        for (Action action : withShadowWrites(actions)) {
+            request.add(toRequest(action));
+            chunk.add(action);
+            if (chunk.size() >= properties.getBulkActions() || request.estimatedSizeInBytes() >= properties.getBulkSizeBytes()) {
+                result.merge(send(request, chunk));
+                request = new BulkRequest();
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.merge(send(request, chunk));
+        }
+        return result;
+    }
+
+    /**
+     * Convert the actions to their requests now, while their entities can be read, such as in the transaction that
+     * loaded them. The actions are converted when sent otherwise.
+     *
+     * @param actions the actions to convert.
+     */
+    public void prepare(List<Action> actions) {
+        actions.forEach(this::toRequest);
+    }
+
+    /**
+     * Mirror all subsequent writes for an entity into another index, until {@link #stopShadowWrites(Class)}.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     * @param indexName the index receiving the copies.
+     */
+    public void startShadowWrites(Class<?> entityClass, String indexName) {
+        shadowIndices.put(entityClass, new ShadowIndex(indexName));
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return the ids of the documents deleted since shadow writes were started for the entity.
+     */
+    public Set<String> getShadowDeletes(Class<?> entityClass) {
+        ShadowIndex shadowIndex = shadowIndices.get(entityClass);
+        if (shadowIndex == null) {
+            return Collections.emptySet();
+        }
+        synchronized (shadowIndex.deletedIds) {
+            return new HashSet<>(shadowIndex.deletedIds);
+        }
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return the number of copies that could not be written into the shadow index since shadow writes were started
+     * for the entity.
+     */
+    public int getShadowFailureCount(Class<?> entityClass) {
+        ShadowIndex shadowIndex = shadowIndices.get(entityClass);
+        return shadowIndex == null ? 0 : shadowIndex.failures.get();
+    }
+
+    /**
+     * Stop mirroring writes for an entity.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     */
+    public void stopShadowWrites(Class<?> entityClass) {
+        shadowIndices.remove(entityClass);
+    }
+
+    private List<Action> withShadowWrites(List<Action> actions) {
+        if (shadowIndices.isEmpty()) {
+            return actions;
+        }
+        List<Action> expanded = new ArrayList<>(actions);
+        for (Action action : actions) {
+            ShadowIndex shadowIndex = shadowIndices.get(action.getEntityClass());
+            if (shadowIndex == null || action.getIndexName() != null) {
+                continue;
+            }
+            if (action.getType() == Action.Type.DELETE) {
+                synchronized (shadowIndex.deletedIds) {
+                    shadowIndex.deletedIds.add(action.getId());
+                }
+            }
+            // the copy is built from the document of the action, which may have been converted in another transaction
+            DocWriteRequest<?> request = toRequest(action);
+            Action copy = new Action(action, shadowIndex);
+            copy.request = copyOf(request, shadowIndex.indexName);
+            expanded.add(copy);
+        }
+        return expanded;
+    }
+
+    private List<Action> drainBuffer() {
+        List<Action> drained = new ArrayList<>(buffer);
+        buffer.clear();
+        bufferedBytes = 0;
+        return drained;
+    }
+
+    private BulkIndexResult send(BulkRequest request, List<Action> chunk) {
+        BulkIndexResult result = new BulkIndexResult();
+        try {
+            BulkResponse response = elasticsearchTemplate.execute(client -> client.bulk(request, RequestOptions.DEFAULT));
+            result.addActions(chunk.size(), response.getTook().millis());
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < items.length; i++) {
+                Action action = chunk.get(i);
+                if (items[i].isFailed() && !isExistingDocument(action, items[i])) {
+                    addFailure(result, action, items[i].getFailureMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk request of {} actions failed: {}", chunk.size(), e.getMessage());
+            result.addActions(chunk.size(), 0);
+            chunk.forEach(action -> addFailure(result, action, e.toString()));
+        }
+        log.debug("Sent {} bulk actions, {} failed", chunk.size(), result.getFailures().size());
+        return result;
+    }
+
+    private void addFailure(BulkIndexResult result, Action action, String message) {
+        BulkIndexResult.Failure failure = new BulkIndexResult.Failure(action.getEntityClass(), action.getId(), action.getType(), message);
+        if (action.shadowIndex != null) {
+            action.shadowIndex.failures.incrementAndGet();
+            result.addShadowFailure(failure);
+        } else {
+            result.addFailure(failure);
+        }
+    }
+
+    private boolean isExistingDocument(Action action, BulkItemResponse item) {
+        // create-only actions never overwrite a document written in the meantime, nor versioned ones a later version
+        return (action.getType() == Action.Type.CREATE || action.getVersion() != null) && item.status() == RestStatus.CONFLICT;
+    }
+
+    private DocWriteRequest<?> toRequest(Action action) {
+        if (action.request == null) {
+            String indexName = action.getIndexName() != null
+                ? action.getIndexName()
+                : elasticsearchTemplate.getIndexCoordinatesFor(action.getEntityClass()).getIndexName();
+            if (action.getType() == Action.Type.DELETE) {
+                DeleteRequest deleteRequest = new DeleteRequest(indexName, action.getId());
+                if (action.getVersion() != null) {
+                    deleteRequest.version(action.getVersion()).versionType(VersionType.EXTERNAL);
+                }
+                action.request = deleteRequest;
+            } else {
+                ElasticsearchConverter converter = elasticsearchTemplate.getElasticsearchConverter();
+                ElasticsearchPersistentEntity<?> persistentEntity = converter
+                    .getMappingContext()
+                    .getRequiredPersistentEntity(action.getEntityClass());
+                action.id = String.valueOf(persistentEntity.getIdentifierAccessor(action.getEntity()).getRequiredIdentifier());
+                IndexRequest indexRequest = new IndexRequest(indexName)
+                    .id(action.getId())
+                    .source(converter.mapObject(action.getEntity()))
+                    .opType(action.getType() == Action.Type.CREATE ? DocWriteRequest.OpType.CREATE : DocWriteRequest.OpType.INDEX);
+                if (action.getVersion() != null) {
+                    indexRequest.version(action.getVersion()).versionType(VersionType.EXTERNAL);
+                }
+                action.request = indexRequest;
+            }
+        }
+        return action.request;
+    }
+
+    private DocWriteRequest<?> copyOf(DocWriteRequest<?> request, String indexName) {
+        if (request instanceof IndexRequest) {
+            IndexRequest indexRequest = (IndexRequest) request;
+            return new IndexRequest(indexName)
+                .id(indexRequest.id())
+                .source(indexRequest.source(), indexRequest.getContentType())
+                .opType(indexRequest.opType())
+                .version(indexRequest.version())
+                .versionType(indexRequest.versionType());
+        }
+        return new DeleteRequest(indexName, request.id()).version(request.version()).versionType(request.versionType());
+    }
+
+    private long estimatedSize(DocWriteRequest<?> request) {
+        return request instanceof IndexRequest ? ((IndexRequest) request).source().length() : 64;
+    }
+
+    private void logFailures(BulkIndexResult result) {
+        result.getFailures().forEach(failure -> log.warn("Bulk action failed: {}", failure));
+        result.getShadowFailures().forEach(failure -> log.warn("Bulk action failed on the shadow index: {}", failure));
+    }
+
+    private static final class ShadowIndex {
+
+        private final String indexName;
+
+        private final Set<String> deletedIds = new HashSet<>();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private ShadowIndex(String indexName) {
+            this.indexName = indexName;
+        }
+    }
+
+    /**
+     * A document upsert or removal.
+     */
+    public static final class Action {
+
+        public enum Type {
+            /**
+             * Create or replace the document.
+             */
+            INDEX,
+            /**
+             * Create the document unless it already exists.
+             */
+            CREATE,
+            DELETE,
+        }
+
+        private final Type type;
+
+        private final Class<?> entityClass;
+
+        private final Object entity;
+
+        private String id;
+
+        private final String indexName;
+
+        private final Long version;
+
+        /**
+         * The shadow index this action copies a write into, or {@code null}.
+         */
+        private final ShadowIndex shadowIndex;
+
+        private DocWriteRequest<?> request;
+
+        private Action(Type type, Class<?> entityClass, Object entity, String id, String indexName, Long version) {
+            this.type = type;
+            this.entityClass = entityClass;
+            this.entity = entity;
+            this.id = id;
+            this.indexName = indexName;
+            this.version = version;
+            this.shadowIndex = null;
+        }
+
+        /**
+         * Copy an action into a shadow index.
+         */
+        private Action(Action action, ShadowIndex shadowIndex) {
+            this.type = action.type;
+            this.entityClass = action.entityClass;
+            this.entity = action.entity;
+            this.id = action.id;
+            this.indexName = shadowIndex.indexName;
+            this.version = action.version;
+            this.shadowIndex = shadowIndex;
+        }
+
+        public static Action index(Object entity) {
+            return new Action(Type.INDEX, ProxyUtils.getUserClass(entity), entity, null, null, null);
+        }
+
+        /**
+         * @param entity the entity to index.
+         * @param version the external version of the document, which only replaces an earlier version.
+         * @return an action creating or replacing the document.
+         */
+        public static Action index(Object entity, long version) {
+            return new Action(Type.INDEX, ProxyUtils.getUserClass(entity), entity, null, null, version);
+        }
+
+        /**
+         * @param entity the entity to index.
+         * @param indexName the concrete index to write to, instead of the entity's own index.
+         * @return an action creating the document only if the index does not hold it yet.
+         */
+        public static Action create(Object entity, String indexName) {
+            return new Action(Type.CREATE, ProxyUtils.getUserClass(entity), entity, null, indexName, null);
+        }
+
+        public static Action delete(Class<?> entityClass, Object id) {
+            return delete(entityClass, id, null);
+        }
+
+        public static Action delete(Class<?> entityClass, Object id, String indexName) {
+            return new Action(Type.DELETE, entityClass, null, String.valueOf(id), indexName, null);
+        }
+
+        /**
+         * @param entityClass the {@code @Document} entity class.
+         * @param id the id of the document.
+         * @param version the external version of the removal, which only removes an earlier version.
+         * @return an action removing the document.
+         */
+        public static Action delete(Class<?> entityClass, Object id, long version) {
+            return new Action(Type.DELETE, entityClass, null, String.valueOf(id), null, version);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        public Object getEntity() {
+            return entity;
+        }
+
+        /**
+         * @return the index to write to, or {@code null} for the entity's own index.
+         */
+        public String getIndexName() {
+            return indexName;
+        }
+
+        /**
+         * @return the external version of the document, or {@code null} to write it whatever the version in the index.
+         */
+        public Long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the document id, or {@code null} for an index action that has not been converted yet.
+         */
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.sccodefactory.employee.repository.search;
 
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 
+import com.sccodefactory.employee.config.ApplicationProperties;
 import com.sccodefactory.employee.domain.Department;
+import java.util.List;
 import java.util.stream.Stream;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
@@ -16,14 +18,26 @@ public interface DepartmentSearchRepository extends ElasticsearchRepository<Depa
 
 interface DepartmentSearchRepositoryInternal {
     Stream<Department> search(String query);
+
+    /**
+     * Suggest departments whose name starts with the given prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions.
+     * @return the ids and labels of the matching departments, best first.
+     */
+    List<Suggestion> suggest(String prefix, int size);
 }
 
 class DepartmentSearchRepositoryInternalImpl implements DepartmentSearchRepositoryInternal {
 
     private final ElasticsearchRestTemplate elasticsearchTemplate;
 
-    DepartmentSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate) {
+    private final ApplicationProperties.Search properties;
+
+    DepartmentSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate, ApplicationProperties applicationProperties) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.properties = applicationProperties.getSearch();
     }
 
     @Override
@@ -31,4 +45,17 @@ class DepartmentSearchRepositoryInternalImpl implements DepartmentSearchReposito
         NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
         return elasticsearchTemplate.search(nativeSearchQuery, Department.class).map(SearchHit::getContent).stream();
     }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int size) {
+        return SearchQueries.suggest(
+            elasticsearchTemplate,
+            Department.class,
+            prefix,
+            size,
+            properties,
+            source -> (String) source.get("departmentName"),
+            "departmentName"
+        );
+    }
 }
@@ -0,0 +1,130 @@
+package com.sccodefactory.employee.repository.search;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured criteria of an employee search. All criteria are optional and combined with AND, and all bounds are
+ * inclusive.
+ */
+public class EmployeeSearchQuery {
+
+    /**
+     * Prefix of the first or last name, matched as the user types.
+     */
+    private String name;
+
+    private List<Long> departmentId = new ArrayList<>();
+
+    /**
+     * Inclusive lower bound of the hire date.
+     */
+    private Instant hireDateFrom;
+
+    /**
+     * Inclusive upper bound of the hire date.
+     */
+    private Instant hireDateTo;
+
+    /**
+     * Inclusive lower bound of the salary.
+     */
+    private Long salaryMin;
+
+    /**
+     * Inclusive upper bound of the salary.
+     */
+    private Long salaryMax;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public EmployeeSearchQuery name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public List<Long> getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(List<Long> departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public EmployeeSearchQuery departmentId(List<Long> departmentId) {
+        this.setDepartmentId(departmentId);
+        return this;
+    }
+
+    public Instant getHireDateFrom() {
+        return hireDateFrom;
+    }
+
+    public void setHireDateFrom(Instant hireDateFrom) {
+        this.hireDateFrom = hireDateFrom;
+    }
+
+    public EmployeeSearchQuery hireDateFrom(Instant hireDateFrom) {
+        this.setHireDateFrom(hireDateFrom);
+        return this;
+    }
+
+    public Instant getHireDateTo() {
+        return hireDateTo;
+    }
+
+    public void setHireDateTo(Instant hireDateTo) {
+        this.hireDateTo = hireDateTo;
+    }
+
+    public EmployeeSearchQuery hireDateTo(Instant hireDateTo) {
+        this.setHireDateTo(hireDateTo);
+        return this;
+    }
+
+    public Long getSalaryMin() {
+        return salaryMin;
+    }
+
+    public void setSalaryMin(Long salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+
+    public EmployeeSearchQuery salaryMin(Long salaryMin) {
+        this.setSalaryMin(salaryMin);
+        return this;
+    }
+
+    public Long getSalaryMax() {
+        return salaryMax;
+    }
+
+    public void setSalaryMax(Long salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+
+    public EmployeeSearchQuery salaryMax(Long salaryMax) {
+        this.setSalaryMax(salaryMax);
+        return this;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeSearchQuery{" +
+            "name='" + getName() + "'" +
+            ", departmentId=" + getDepartmentId() +
+            ", hireDateFrom='" + getHireDateFrom() + "'" +
+            ", hireDateTo='" + getHireDateTo() + "'" +
+            ", salaryMin=" + getSalaryMin() +
+            ", salaryMax=" + getSalaryMax() +
+            "}";
+    }
+}
@@ -1,17 +1,22 @@
 package com.sccodefactory.employee.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import com.sccodefactory.employee.config.ApplicationProperties;
 import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.repository.CursorPage;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
-import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 /**
@@ -20,27 +25,123 @@ import org.springframework.data.elasticsearch.repository.ElasticsearchRepository
 public interface EmployeeSearchRepository extends ElasticsearchRepository<Employee, Long>, EmployeeSearchRepositoryInternal {}
 
 interface EmployeeSearchRepositoryInternal {
+    /**
+     * Search with a query string.
+     *
+     * @param query the query string, searching all fields.
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     * @throws IllegalArgumentException if the query contains a leading wildcard or a regular expression.
+     */
     Page<Employee> search(String query, Pageable pageable);
+
+    /**
+     * Search with structured criteria: each word of the name is matched as a prefix of the first or last name,
+     * through their edge n-grams, and scores the hits, while the other criteria run in filter context, where
+     * Elasticsearch caches them.
+     *
+     * @param query the search criteria.
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    Page<Employee> search(EmployeeSearchQuery query, Pageable pageable);
+
+    /**
+     * Search with {@code search_after} deep pagination.
+     *
+     * @param query the query of the search.
+     * @param sort the sort order, completed with the id as a tie-breaker.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page, without a total count.
+     * @throws IllegalArgumentException if the cursor or the query is malformed.
+     */
+    CursorPage<Employee> searchAfter(String query, Sort sort, String cursor, int size);
+
+    /**
+     * Suggest employees whose first name, last name or email starts with the given prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions.
+     * @return the ids and labels of the matching employees, best first.
+     */
+    List<Suggestion> suggest(String prefix, int size);
 }
 
 class EmployeeSearchRepositoryInternalImpl implements EmployeeSearchRepositoryInternal {
 
     private final ElasticsearchRestTemplate elasticsearchTemplate;
 
-    EmployeeSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate) {
+    private final ApplicationProperties.Search properties;
+
+    EmployeeSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate, ApplicationProperties applicationProperties) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.properties = applicationProperties.getSearch();
     }
 
     @Override
     public Page<Employee> search(String query, Pageable pageable) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
-        nativeSearchQuery.setPageable(pageable);
-        List<Employee> hits = elasticsearchTemplate
-            .search(nativeSearchQuery, Employee.class)
-            .map(SearchHit::getContent)
-            .stream()
-            .collect(Collectors.toList());
-
-        return new PageImpl<>(hits, pageable, hits.size());
+        return SearchQueries.page(elasticsearchTemplate, Employee.class, SearchQueries.safeQueryString(query), pageable, properties);
+    }
+
+    @Override
+    public Page<Employee> search(EmployeeSearchQuery query, Pageable pageable) {
+        BoolQueryBuilder boolQuery = boolQuery();
+        if (query.getName() != null && !query.getName().trim().isEmpty()) {
+            boolQuery.must(
+                multiMatchQuery(query.getName(), "firstName", "lastName")
+                    .type(MultiMatchQueryBuilder.Type.CROSS_FIELDS)
+                    .operator(Operator.AND)
+            );
+        }
+        if (query.getDepartmentId() != null && !query.getDepartmentId().isEmpty()) {
+            boolQuery.filter(termsQuery("department.id", query.getDepartmentId()));
+        }
+        if (query.getHireDateFrom() != null || query.getHireDateTo() != null) {
+            RangeQueryBuilder hireDate = rangeQuery("hireDate");
+            if (query.getHireDateFrom() != null) {
+                hireDate.gte(query.getHireDateFrom().toString());
+            }
+            if (query.getHireDateTo() != null) {
+                hireDate.lte(query.getHireDateTo().toString());
+            }
+            boolQuery.filter(hireDate);
+        }
+        if (query.getSalaryMin() != null || query.getSalaryMax() != null) {
+            boolQuery.filter(rangeQuery("salary").gte(query.getSalaryMin()).lte(query.getSalaryMax()));
+        }
+        return SearchQueries.page(elasticsearchTemplate, Employee.class, boolQuery, pageable, properties);
+    }
+
+    @Override
+    public CursorPage<Employee> searchAfter(String query, Sort sort, String cursor, int size) {
+        return SearchAfterQuery.search(
+            elasticsearchTemplate,
+            Employee.class,
+            SearchQueries.safeQueryString(query),
+            sort,
+            cursor,
+            size,
+            properties
+        );
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int size) {
+        return SearchQueries.suggest(
+            elasticsearchTemplate,
+            Employee.class,
+            prefix,
+            size,
+            properties,
+            source ->
+                Stream
+                    .of(source.get("firstName"), source.get("lastName"))
+                    .filter(Objects::nonNull)
+                    .map(Object::toString)
+                    .collect(Collectors.joining(" ")),
+            "firstName",
+            "lastName"
+        );
     }
 }
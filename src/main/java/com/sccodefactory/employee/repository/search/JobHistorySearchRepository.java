@@ -1,17 +1,12 @@
 package com.sccodefactory.employee.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
+import com.sccodefactory.employee.config.ApplicationProperties;
 import com.sccodefactory.employee.domain.JobHistory;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import com.sccodefactory.employee.repository.CursorPage;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
-import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 /**
@@ -21,26 +16,46 @@ public interface JobHistorySearchRepository extends ElasticsearchRepository<JobH
 
 interface JobHistorySearchRepositoryInternal {
     Page<JobHistory> search(String query, Pageable pageable);
+
+    /**
+     * Search with {@code search_after} deep pagination.
+     *
+     * @param query the query of the search.
+     * @param sort the sort order, completed with the id as a tie-breaker.
+     * @param cursor the cursor of the page to fetch, or empty for the first page.
+     * @param size the page size.
+     * @return the page, without a total count.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    CursorPage<JobHistory> searchAfter(String query, Sort sort, String cursor, int size);
 }
 
 class JobHistorySearchRepositoryInternalImpl implements JobHistorySearchRepositoryInternal {
 
     private final ElasticsearchRestTemplate elasticsearchTemplate;
 
-    JobHistorySearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate) {
+    private final ApplicationProperties.Search properties;
+
+    JobHistorySearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate, ApplicationProperties applicationProperties) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.properties = applicationProperties.getSearch();
     }
 
     @Override
     public Page<JobHistory> search(String query, Pageable pageable) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
-        nativeSearchQuery.setPageable(pageable);
-        List<JobHistory> hits = elasticsearchTemplate
-            .search(nativeSearchQuery, JobHistory.class)
-            .map(SearchHit::getContent)
-            .stream()
-            .collect(Collectors.toList());
-
-        return new PageImpl<>(hits, pageable, hits.size());
+        return SearchQueries.page(elasticsearchTemplate, JobHistory.class, SearchQueries.safeQueryString(query), pageable, properties);
+    }
+
+    @Override
+    public CursorPage<JobHistory> searchAfter(String query, Sort sort, String cursor, int size) {
+        return SearchAfterQuery.search(
+            elasticsearchTemplate,
+            JobHistory.class,
+            SearchQueries.safeQueryString(query),
+            sort,
+            cursor,
+            size,
+            properties
+        );
     }
 }
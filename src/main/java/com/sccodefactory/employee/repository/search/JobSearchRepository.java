@@ -1,17 +1,11 @@
 package com.sccodefactory.employee.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
+import com.sccodefactory.employee.config.ApplicationProperties;
 import com.sccodefactory.employee.domain.Job;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
-import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 /**
@@ -21,26 +15,43 @@ public interface JobSearchRepository extends ElasticsearchRepository<Job, Long>,
 
 interface JobSearchRepositoryInternal {
     Page<Job> search(String query, Pageable pageable);
+
+    /**
+     * Suggest jobs whose title starts with the given prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions.
+     * @return the ids and labels of the matching jobs, best first.
+     */
+    List<Suggestion> suggest(String prefix, int size);
 }
 
 class JobSearchRepositoryInternalImpl implements JobSearchRepositoryInternal {
 
     private final ElasticsearchRestTemplate elasticsearchTemplate;
 
-    JobSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate) {
+    private final ApplicationProperties.Search properties;
+
+    JobSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate, ApplicationProperties applicationProperties) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.properties = applicationProperties.getSearch();
     }
 
     @Override
     public Page<Job> search(String query, Pageable pageable) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
-        nativeSearchQuery.setPageable(pageable);
-        List<Job> hits = elasticsearchTemplate
-            .search(nativeSearchQuery, Job.class)
-            .map(SearchHit::getContent)
-            .stream()
-            .collect(Collectors.toList());
-
-        return new PageImpl<>(hits, pageable, hits.size());
+        return SearchQueries.page(elasticsearchTemplate, Job.class, SearchQueries.safeQueryString(query), pageable, properties);
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int size) {
+        return SearchQueries.suggest(
+            elasticsearchTemplate,
+            Job.class,
+            prefix,
+            size,
+            properties,
+            source -> (String) source.get("jobTitle"),
+            "jobTitle"
+        );
     }
 }
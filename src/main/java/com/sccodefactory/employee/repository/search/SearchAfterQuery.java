@@ -0,0 +1,87 @@
+package com.sccodefactory.employee.repository.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.repository.CursorPage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+
+/**
+ * Deep pagination with {@code search_after}: each page resumes from the sort values of the previous page's last
+ * hit, carried in an opaque cursor, so its cost does not grow with depth the way {@code from}/{@code size} does.
+ * The {@code id} field is appended to the sort as a tie-breaker, so that every hit has a unique position. Each page
+ * is bounded by {@code application.search.timeout-ms}, like {@link SearchQueries#page}, and a page that times out
+ * holds the hits collected so far.
+ */
+final class SearchAfterQuery {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Logger log = LoggerFactory.getLogger(SearchAfterQuery.class);
+
+    private SearchAfterQuery() {}
+
+    /**
+     * @param cursor the cursor returned with the previous page, or {@code null} or empty for the first page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    static <T> CursorPage<T> search(
+        ElasticsearchRestTemplate elasticsearchTemplate,
+        Class<T> entityClass,
+        QueryBuilder query,
+        Sort sort,
+        String cursor,
+        int size,
+        ApplicationProperties.Search properties
+    ) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(query)
+            .size(size)
+            .trackTotalHits(false)
+            .timeout(TimeValue.timeValueMillis(properties.getTimeoutMs()));
+        SearchQueries.sort(source, sort);
+        if (sort.getOrderFor("id") == null) {
+            source.sort(SortBuilders.fieldSort("id").order(SortOrder.ASC));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            source.searchAfter(decode(cursor));
+        }
+        SearchResponse response = SearchQueries.execute(elasticsearchTemplate, entityClass, source);
+        if (response.isTimedOut()) {
+            log.warn("Search after of {} timed out, returning partial results: {}", entityClass.getSimpleName(), query);
+        }
+        SearchHit[] hits = response.getHits().getHits();
+        List<T> content = SearchQueries.read(elasticsearchTemplate, entityClass, hits);
+        Object[] lastSortValues = hits.length > 0 ? hits[hits.length - 1].getSortValues() : null;
+        return new CursorPage<>(content, content.size() == size && lastSortValues != null ? encode(lastSortValues) : null);
+    }
+
+    private static String encode(Object[] sortValues) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(sortValues));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object[] decode(String cursor) {
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Object[].class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
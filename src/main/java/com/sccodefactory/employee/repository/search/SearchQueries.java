@@ -0,0 +1,175 @@
+package com.sccodefactory.employee.repository.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+
+/**
+ * Helpers to run searches through the low-level client, for the options {@link
+ * org.springframework.data.elasticsearch.core.query.NativeSearchQuery} does not expose, such as timeouts.
+ */
+final class SearchQueries {
+
+    /**
+     * A term starting with a wildcard, which has to scan the whole terms dictionary.
+     */
+    private static final Pattern LEADING_WILDCARD = Pattern.compile("(^|[\\s(:+\\-!])[*?]");
+
+    /**
+     * A regular expression term, e.g. {@code /joh?n(ath[oa]n)/}.
+     */
+    private static final Pattern REGEXP = Pattern.compile("(^|[\\s(:+\\-!])/");
+
+    /**
+     * The completion field of the indexed entities.
+     */
+    private static final String SUGGEST_FIELD = "suggest";
+
+    private static final String SUGGESTION_NAME = "suggestion";
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(SearchQueries.class);
+
+    private SearchQueries() {}
+
+    /**
+     * Parse a user query string, rejecting the terms whose cost does not depend on the number of matches.
+     *
+     * @param query the query string.
+     * @return the query, searching all fields.
+     * @throws IllegalArgumentException if the query contains a leading wildcard or a regular expression.
+     */
+    static QueryStringQueryBuilder safeQueryString(String query) {
+        if (LEADING_WILDCARD.matcher(query).find()) {
+            throw new IllegalArgumentException("Leading wildcards are not allowed: " + query);
+        }
+        if (REGEXP.matcher(query).find()) {
+            throw new IllegalArgumentException("Regular expressions are not allowed: " + query);
+        }
+        return queryStringQuery(query).allowLeadingWildcard(false);
+    }
+
+    /**
+     * Run a paginated search, with the total hits counted up to {@code application.search.track-total-hits-up-to}
+     * and bounded by {@code application.search.timeout-ms}. A search that times out returns the hits collected
+     * so far.
+     */
+    static <T> Page<T> page(
+        ElasticsearchRestTemplate elasticsearchTemplate,
+        Class<T> entityClass,
+        QueryBuilder query,
+        Pageable pageable,
+        ApplicationProperties.Search properties
+    ) {
+        SearchSourceBuilder source = new SearchSourceBuilder().query(query).timeout(TimeValue.timeValueMillis(properties.getTimeoutMs()));
+        if (properties.getTrackTotalHitsUpTo() != null) {
+            source.trackTotalHitsUpTo(properties.getTrackTotalHitsUpTo());
+        } else {
+            source.trackTotalHits(true);
+        }
+        if (pageable.isPaged()) {
+            source.from((int) pageable.getOffset()).size(pageable.getPageSize());
+        }
+        sort(source, pageable.getSort());
+        SearchResponse response = execute(elasticsearchTemplate, entityClass, source);
+        if (response.isTimedOut()) {
+            log.warn("Search of {} timed out, returning partial results: {}", entityClass.getSimpleName(), query);
+        }
+        List<T> content = read(elasticsearchTemplate, entityClass, response.getHits().getHits());
+        long total = response.getHits().getTotalHits() != null ? response.getHits().getTotalHits().value : content.size();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Run a completion suggester on the {@code suggest} field of an entity, fetching only the fields of the label.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions, capped to {@value #MAX_SUGGESTIONS}.
+     * @param label the label of a suggestion, from its fetched source.
+     * @param labelFields the fields the label is built from.
+     * @return the suggestions, best first; none for a blank prefix.
+     */
+    static List<Suggestion> suggest(
+        ElasticsearchRestTemplate elasticsearchTemplate,
+        Class<?> entityClass,
+        String prefix,
+        int size,
+        ApplicationProperties.Search properties,
+        Function<Map<String, Object>, String> label,
+        String... labelFields
+    ) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        int maxSuggestions = Math.min(size, MAX_SUGGESTIONS);
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .size(0)
+            .fetchSource(labelFields, null)
+            .timeout(TimeValue.timeValueMillis(properties.getTimeoutMs()))
+            .suggest(
+                new SuggestBuilder()
+                    .addSuggestion(SUGGESTION_NAME, SuggestBuilders.completionSuggestion(SUGGEST_FIELD).prefix(prefix).size(maxSuggestions))
+            );
+        SearchResponse response = execute(elasticsearchTemplate, entityClass, source);
+        List<Suggestion> suggestions = new ArrayList<>(maxSuggestions);
+        if (response.getSuggest() == null) {
+            return suggestions;
+        }
+        CompletionSuggestion completion = response.getSuggest().getSuggestion(SUGGESTION_NAME);
+        for (CompletionSuggestion.Entry.Option option : completion.getOptions()) {
+            SearchHit hit = option.getHit();
+            suggestions.add(new Suggestion(Long.valueOf(hit.getId()), label.apply(hit.getSourceAsMap())));
+        }
+        return suggestions;
+    }
+
+    static void sort(SearchSourceBuilder source, Sort sort) {
+        for (Sort.Order order : sort) {
+            source.sort(SortBuilders.fieldSort(order.getProperty()).order(order.isAscending() ? SortOrder.ASC : SortOrder.DESC));
+        }
+    }
+
+    static SearchResponse execute(ElasticsearchRestTemplate elasticsearchTemplate, Class<?> entityClass, SearchSourceBuilder source) {
+        SearchRequest request = new SearchRequest(elasticsearchTemplate.getIndexCoordinatesFor(entityClass).getIndexName()).source(source);
+        return elasticsearchTemplate.execute(client -> client.search(request, RequestOptions.DEFAULT));
+    }
+
+    static <T> List<T> read(ElasticsearchRestTemplate elasticsearchTemplate, Class<T> entityClass, SearchHit[] hits) {
+        ElasticsearchConverter converter = elasticsearchTemplate.getElasticsearchConverter();
+        List<T> content = new ArrayList<>(hits.length);
+        for (SearchHit hit : hits) {
+            Document document = Document.from(hit.getSourceAsMap());
+            document.setId(hit.getId());
+            content.add(converter.read(entityClass, document));
+        }
+        return content;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sccodefactory.employee.repository.search;
+
+/**
+ * A typeahead suggestion: the id of the matching entity and the label to display for it.
+ */
+public class Suggestion {
+
+    private final Long id;
+
+    private final String label;
+
+    public Suggestion(Long id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Suggestion{" +
+            "id=" + getId() +
+            ", label='" + getLabel() + "'" +
+            "}";
+    }
+}
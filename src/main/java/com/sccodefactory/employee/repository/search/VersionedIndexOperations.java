@@ -0,0 +1,206 @@
+package com.sccodefactory.employee.repository.search;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.elasticsearch.annotations.Setting;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.ResourceUtil;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manage versioned Elasticsearch indices behind the alias each {@code @Document} entity reads and writes.
+ * <p>
+ * A rebuild writes into a fresh index named {@code <alias>_<timestamp>}, then {@link #swapAlias(Class, String)}
+ * points the alias at it and drops the previous indices in a single atomic request, so searches never see a
+ * partially filled index.
+ * <p>
+ * Indices are created from the settings and mapping files declared by the entity's {@code @Setting} and
+ * {@code @Mapping} annotations. A mapping carries its version in {@code _meta.version}, which is bumped on every
+ * change so that the indices created from an older mapping can be detected and rebuilt.
+ */
+@Component
+public class VersionedIndexOperations {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+
+    private final Logger log = LoggerFactory.getLogger(VersionedIndexOperations.class);
+
+    private final ElasticsearchRestTemplate elasticsearchTemplate;
+
+    public VersionedIndexOperations(ElasticsearchRestTemplate elasticsearchTemplate) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return the alias the entity is read from and written to.
+     */
+    public String getAlias(Class<?> entityClass) {
+        return elasticsearchTemplate.getIndexCoordinatesFor(entityClass).getIndexName();
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return whether the entity's alias, or a concrete index named like it, exists.
+     */
+    public boolean exists(Class<?> entityClass) {
+        return elasticsearchTemplate.indexOps(IndexCoordinates.of(getAlias(entityClass))).exists();
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return the version of the mapping declared by the entity's {@code @Mapping} file, in {@code _meta.version}.
+     */
+    public int getDeclaredMappingVersion(Class<?> entityClass) {
+        Map<String, Object> mapping = elasticsearchTemplate.indexOps(entityClass).createMapping(entityClass);
+        return mappingVersion(mapping).orElseThrow(() -> new IllegalStateException("No _meta.version in the mapping of " + entityClass));
+    }
+
+    /**
+     * @param entityClass the {@code @Document} entity class.
+     * @return the version of the mapping of the indices the entity's alias points to, empty if one of them has none,
+     * e.g. because it was created from a dynamic mapping.
+     */
+    public OptionalInt getLiveMappingVersion(Class<?> entityClass) {
+        GetMappingsRequest request = new GetMappingsRequest().indices(getAlias(entityClass));
+        Map<String, MappingMetadata> mappings = elasticsearchTemplate.execute(
+            client -> client.indices().getMapping(request, RequestOptions.DEFAULT).mappings()
+        );
+        OptionalInt version = OptionalInt.empty();
+        for (MappingMetadata mapping : mappings.values()) {
+            OptionalInt indexVersion = mappingVersion(mapping.sourceAsMap());
+            if (!indexVersion.isPresent()) {
+                return OptionalInt.empty();
+            }
+            if (!version.isPresent() || indexVersion.getAsInt() < version.getAsInt()) {
+                version = indexVersion;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Create an empty index with the entity's declared settings and mapping, tuned for bulk loading: refreshes are
+     * disabled until {@link #completeLoading(Class, String)}.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     * @return the name of the new index.
+     */
+    public String createVersionedIndex(Class<?> entityClass) {
+        String indexName = getAlias(entityClass) + "_" + VERSION_FORMAT.format(ZonedDateTime.now(ZoneOffset.UTC));
+        CreateIndexRequest request = new CreateIndexRequest(indexName)
+            .settings(Settings.builder().put(declaredSettings(entityClass)).put(REFRESH_INTERVAL, "-1"))
+            .mapping(elasticsearchTemplate.indexOps(entityClass).createMapping(entityClass));
+        elasticsearchTemplate.execute(client -> client.indices().create(request, RequestOptions.DEFAULT));
+        log.debug("Created index {}", indexName);
+        return indexName;
+    }
+
+    /**
+     * Restore the declared refresh interval of a loaded index and make its documents searchable.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     * @param indexName the index.
+     */
+    public void completeLoading(Class<?> entityClass, String indexName) {
+        String refreshInterval = declaredSettings(entityClass).get(REFRESH_INTERVAL);
+        Settings.Builder settings = refreshInterval != null
+            ? Settings.builder().put(REFRESH_INTERVAL, refreshInterval)
+            : Settings.builder().putNull(REFRESH_INTERVAL);
+        UpdateSettingsRequest request = new UpdateSettingsRequest(indexName).settings(settings);
+        elasticsearchTemplate.execute(client -> client.indices().putSettings(request, RequestOptions.DEFAULT));
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).refresh();
+    }
+
+    /**
+     * @param indexName the index.
+     * @return the size of the primary shards of the index on disk, replicas excluded.
+     */
+    public long getStoreSizeInBytes(String indexName) {
+        Request request = new Request("GET", "/" + indexName + "/_stats/store");
+        Document stats = elasticsearchTemplate.execute(
+            client -> Document.parse(EntityUtils.toString(client.getLowLevelClient().performRequest(request).getEntity()))
+        );
+        Map<?, ?> primaries = (Map<?, ?>) ((Map<?, ?>) stats.get("_all")).get("primaries");
+        return ((Number) ((Map<?, ?>) primaries.get("store")).get("size_in_bytes")).longValue();
+    }
+
+    /**
+     * Atomically point the entity's alias at the given index, and delete the indices it pointed to before. A
+     * concrete index named like the alias, as created by earlier versions, is deleted as well.
+     *
+     * @param entityClass the {@code @Document} entity class.
+     * @param indexName the index the alias should point to.
+     */
+    public void swapAlias(Class<?> entityClass, String indexName) {
+        String alias = getAlias(entityClass);
+        IndicesAliasesRequest request = new IndicesAliasesRequest().addAliasAction(AliasActions.add().index(indexName).alias(alias));
+        elasticsearchTemplate.execute(
+            client -> {
+                Set<String> previousIndices = client
+                    .indices()
+                    .getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT)
+                    .getAliases()
+                    .keySet();
+                if (previousIndices.isEmpty() && client.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT)) {
+                    request.addAliasAction(AliasActions.removeIndex().index(alias));
+                }
+                previousIndices
+                    .stream()
+                    .filter(previousIndex -> !previousIndex.equals(indexName))
+                    .forEach(previousIndex -> request.addAliasAction(AliasActions.removeIndex().index(previousIndex)));
+                return client.indices().updateAliases(request, RequestOptions.DEFAULT);
+            }
+        );
+        log.info("Alias {} now points to index {}", alias, indexName);
+    }
+
+    /**
+     * Delete an index, e.g. one whose rebuild failed.
+     *
+     * @param indexName the index.
+     */
+    public void deleteIndex(String indexName) {
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).delete();
+    }
+
+    private Settings declaredSettings(Class<?> entityClass) {
+        Setting setting = AnnotatedElementUtils.findMergedAnnotation(entityClass, Setting.class);
+        if (setting == null || setting.settingPath().isEmpty()) {
+            return Settings.EMPTY;
+        }
+        return Settings.builder().loadFromSource(ResourceUtil.readFileFromClasspath(setting.settingPath()), XContentType.JSON).build();
+    }
+
+    private static OptionalInt mappingVersion(Map<String, Object> mapping) {
+        Object meta = mapping.get("_meta");
+        if (!(meta instanceof Map) || !(((Map<?, ?>) meta).get("version") instanceof Number)) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(((Number) ((Map<?, ?>) meta).get("version")).intValue());
+    }
+}
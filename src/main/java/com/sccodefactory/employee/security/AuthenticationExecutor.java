@@ -0,0 +1,91 @@
+package com.sccodefactory.employee.security;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticate the logins on their own bounded pool of threads, so that a burst of logins, each one hashing its
+ * password, does not hold the request threads of the other requests.
+ * <p>
+ * The logins wait in a bounded queue when all the threads are busy, and are rejected right away with a
+ * {@link LoginRejectedException} when it is full. The pool is monitored as the {@code login} executor, along with the
+ * {@code security.login} timer and the {@code security.login.rejected} counter.
+ */
+@Component
+public class AuthenticationExecutor {
+
+    private final Logger log = LoggerFactory.getLogger(AuthenticationExecutor.class);
+
+    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor;
+
+    public AuthenticationExecutor(
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.meterRegistry = meterRegistry;
+        ApplicationProperties.Security.Login properties = applicationProperties.getSecurity().getLogin();
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+            ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+            : new SynchronousQueue<>();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0,
+            TimeUnit.MILLISECONDS,
+            queue,
+            new CustomizableThreadFactory("login-")
+        );
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "login");
+    }
+
+    /**
+     * Authenticate a login on the login threads.
+     *
+     * @param authentication the login and password.
+     * @return the authenticated user, or a future completed with an
+     * {@link org.springframework.security.core.AuthenticationException} if the authentication fails.
+     * @throws LoginRejectedException if the queue of the logins is full.
+     */
+    public CompletableFuture<Authentication> authenticate(Authentication authentication) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Authentication> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> authenticationManagerBuilder.getObject().authenticate(authentication), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejecting the login of {}: all the login threads are busy and their queue is full", authentication.getName());
+            meterRegistry.counter("security.login.rejected").increment();
+            throw new LoginRejectedException("Too many logins in progress", e);
+        }
+        return result.whenComplete(
+            (authenticated, error) -> sample.stop(meterRegistry.timer("security.login", "outcome", error == null ? "success" : "failure"))
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
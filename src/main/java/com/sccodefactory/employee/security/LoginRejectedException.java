@@ -0,0 +1,14 @@
+package com.sccodefactory.employee.security;
+
+/**
+ * This exception is thrown in case of a login arriving while all the password checks threads are busy and their queue
+ * is full.
+ */
+public class LoginRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginRejectedException(String message, Throwable t) {
+        super(message, t);
+    }
+}
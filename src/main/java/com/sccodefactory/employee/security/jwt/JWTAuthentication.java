@@ -0,0 +1,61 @@
+package com.sccodefactory.employee.security.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * What a verified JWT tells about its user: the login, authorities and expiration read from its claims.
+ * <p>
+ * It is immutable, so that it can be shared by every request bearing the token; each request installs its own
+ * {@link #toAuthenticationToken() authentication}, which Spring Security is free to modify, e.g. to set its details or
+ * erase its credentials.
+ */
+public final class JWTAuthentication {
+
+    private final String login;
+
+    private final String token;
+
+    private final List<GrantedAuthority> authorities;
+
+    private final long expiration;
+
+    public JWTAuthentication(String login, String token, Collection<? extends GrantedAuthority> authorities, long expiration) {
+        this.login = login;
+        this.token = token;
+        this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+        this.expiration = expiration;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * @return the expiration time of the token, in milliseconds since the epoch, or 0 if the token does not expire.
+     */
+    public long getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * @return a new authentication of the user, the token being its credentials.
+     */
+    public UsernamePasswordAuthenticationToken toAuthenticationToken() {
+        User principal = new User(login, "", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+}
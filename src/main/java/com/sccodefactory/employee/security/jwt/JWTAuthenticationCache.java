@@ -0,0 +1,87 @@
+package com.sccodefactory.employee.security.jwt;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of the authentications of the JWTs already verified, until they expire, so that a token is parsed and
+ * its signature verified on its first request only. The cached {@link JWTAuthentication}s are immutable, each request
+ * getting its own authentication token from them.
+ * <p>
+ * Only verified tokens are cached, by the token itself: an entry is never returned for another token. Expired entries
+ * are dropped when they are read, and swept when the cache is full; if it is still full, new tokens are verified on
+ * every request until entries expire.
+ */
+public class JWTAuthenticationCache {
+
+    /**
+     * Minimum interval between two sweeps of a full cache, which read every entry.
+     */
+    private static final long SWEEP_INTERVAL_MS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(JWTAuthenticationCache.class);
+
+    private final TokenProvider tokenProvider;
+
+    private final int maxEntries;
+
+    private final Map<String, JWTAuthentication> authentications = new ConcurrentHashMap<>();
+
+    private volatile long sweptAt;
+
+    /**
+     * @param tokenProvider the provider verifying the tokens.
+     * @param maxEntries the maximum number of cached tokens, 0 to verify every request.
+     */
+    public JWTAuthenticationCache(TokenProvider tokenProvider, int maxEntries) {
+        this.tokenProvider = tokenProvider;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Read the authentication of a token, verifying it unless it was verified before and has not expired since.
+     *
+     * @param token the token.
+     * @return the authentication, or empty if the token is not valid or expired.
+     */
+    public Optional<JWTAuthentication> authenticate(String token) {
+        long now = System.currentTimeMillis();
+        JWTAuthentication authentication = authentications.get(token);
+        if (authentication != null) {
+            if (authentication.getExpiration() > now) {
+                return Optional.of(authentication);
+            }
+            authentications.remove(token, authentication);
+        }
+        Optional<JWTAuthentication> verified = tokenProvider.authenticate(token);
+        verified.ifPresent(it -> put(token, it, now));
+        return verified;
+    }
+
+    /**
+     * @return the number of cached tokens, including the expired ones not swept yet.
+     */
+    public int size() {
+        return authentications.size();
+    }
+
+    private void put(String token, JWTAuthentication authentication, long now) {
+        if (authentication.getExpiration() <= now) {
+            return;
+        }
+        if (authentications.size() >= maxEntries) {
+            if (now - sweptAt >= SWEEP_INTERVAL_MS) {
+                sweptAt = now;
+                authentications.values().removeIf(it -> it.getExpiration() <= now);
+            }
+            if (authentications.size() >= maxEntries) {
+                log.debug("JWT authentication cache full with {} tokens", authentications.size());
+                return;
+            }
+        }
+        authentications.put(token, authentication);
+    }
+}
@@ -9,13 +9,16 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final int tokenCacheMaxEntries;
+
+    public JWTConfigurer(TokenProvider tokenProvider, int tokenCacheMaxEntries) {
         this.tokenProvider = tokenProvider;
+        this.tokenCacheMaxEntries = tokenCacheMaxEntries;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, tokenCacheMaxEntries);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
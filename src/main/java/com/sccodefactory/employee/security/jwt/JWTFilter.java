@@ -6,7 +6,6 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.GenericFilterBean;
@@ -19,10 +18,19 @@ public class JWTFilter extends GenericFilterBean {
 
     public static final String AUTHORIZATION_HEADER = "Authorization";
 
-    private final TokenProvider tokenProvider;
+    private final JWTAuthenticationCache authenticationCache;
 
     public JWTFilter(TokenProvider tokenProvider) {
-        this.tokenProvider = tokenProvider;
+        this(tokenProvider, 0);
+    }
+
+    /**
+     * @param tokenProvider the provider verifying the tokens.
+     * @param tokenCacheMaxEntries the maximum number of verified tokens whose authentication is reused until they
+     * expire, 0 to verify every request.
+     */
+    public JWTFilter(TokenProvider tokenProvider, int tokenCacheMaxEntries) {
+        this.authenticationCache = new JWTAuthenticationCache(tokenProvider, tokenCacheMaxEntries);
     }
 
     @Override
@@ -30,9 +38,11 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            this.authenticationCache
+                .authenticate(jwt)
+                .map(JWTAuthentication::toAuthenticationToken)
+                .ifPresent(SecurityContextHolder.getContext()::setAuthentication);
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
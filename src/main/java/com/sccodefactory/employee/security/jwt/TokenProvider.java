@@ -9,11 +9,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import tech.jhipster.config.JHipsterProperties;
@@ -75,17 +73,23 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+        return toAuthentication(jwtParser.parseClaimsJws(token).getBody(), token).toAuthenticationToken();
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Verify a token and read its authentication, parsing it once.
+     *
+     * @param authToken the token.
+     * @return the authentication, or empty if the token is not valid or expired.
+     */
+    public Optional<JWTAuthentication> authenticate(String authToken) {
+        try {
+            return Optional.of(toAuthentication(jwtParser.parseClaimsJws(authToken).getBody(), authToken));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+        }
+        return Optional.empty();
     }
 
     public boolean validateToken(String authToken) {
@@ -98,4 +102,15 @@ public class TokenProvider {
         }
         return false;
     }
+
+    private JWTAuthentication toAuthentication(Claims claims, String token) {
+        Collection<? extends GrantedAuthority> authorities = Arrays
+            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+
+        long expiration = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0;
+        return new JWTAuthentication(claims.getSubject(), token, authorities, expiration);
+    }
 }
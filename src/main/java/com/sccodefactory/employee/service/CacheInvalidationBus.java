@@ -0,0 +1,339 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.config.ClearNotifyingCacheManager;
+import com.sccodefactory.employee.repository.QueryCacheRegions;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Keeps the local caches of several instances coherent through the {@code cache_invalidation} table, when
+ * {@code application.cache.invalidation.enabled} is set.
+ * <p>
+ * Every update or removal of an entry of a local cache, second-level cache regions and Spring caches alike, is
+ * published with the serialized key. The other instances remove the entry, so that their next read goes to the
+ * database. Updates of the last update times of the tables clear the query caches of the other instances instead, as
+ * their cached results would otherwise be checked against stale times. The entries added by reads are not published.
+ * <p>
+ * A cleared cache, which fires no entry event, is published without a key through the {@link ClearNotifyingCacheManager}:
+ * the other instances clear it as well. This covers the regions evicted as a whole through Hibernate, the query caches
+ * and the invalidated Spring caches.
+ * <p>
+ * The invalidations are exchanged every {@code application.cache.invalidation.poll-interval-ms}, which bounds the
+ * time an instance serves an entry changed by another one; the time to live of the caches bounds it if an instance
+ * stops before publishing. To try it locally, start two instances of the {@code prod} profile on the same PostgreSQL
+ * database with the bus enabled and different {@code server.port}, then update an employee through one of them.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final Set<String> QUERY_RESULTS_REGIONS = new HashSet<>(
+        Arrays.asList(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, QueryCacheRegions.REFERENCE_DATA)
+    );
+
+    /**
+     * How far back each poll reads again, for the rows of transactions that were not committed yet at the
+     * previous poll although they were created before it.
+     */
+    private static final long OVERLAP_MS = 10000;
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Queue<Invalidation> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Set while this instance applies the invalidations of the others, so that they are not published back.
+     */
+    private final ThreadLocal<Boolean> applying = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ClearNotifyingCacheManager.ClearListener clearListener = this::enqueueClear;
+
+    private final CacheEntryListenerConfiguration<Object, Object> listenerConfiguration = new MutableCacheEntryListenerConfiguration<>(
+        new FactoryBuilder.SingletonFactory<>(new Listener()),
+        null,
+        false,
+        true
+    );
+
+    /**
+     * The ids of the rows applied within the overlap, by creation date.
+     */
+    private final Map<Long, Timestamp> applied = new LinkedHashMap<>();
+
+    private Timestamp lastCreatedDate;
+
+    public CacheInvalidationBus(CacheManager cacheManager, JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getCache().getInvalidation();
+    }
+
+    /**
+     * @return the id of this instance on the bus.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lastCreatedDate = jdbcTemplate.queryForObject("select current_timestamp", Timestamp.class);
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (!QUERY_RESULTS_REGIONS.contains(cacheName)) {
+                cacheManager.getCache(cacheName).registerCacheEntryListener(listenerConfiguration);
+            }
+        }
+        cacheManager.unwrap(ClearNotifyingCacheManager.class).registerClearListener(clearListener);
+        log.info("Sharing cache invalidations with the other instances as {}", origin);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!properties.isEnabled() || cacheManager.isClosed()) {
+            return;
+        }
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (!QUERY_RESULTS_REGIONS.contains(cacheName)) {
+                cacheManager.getCache(cacheName).deregisterCacheEntryListener(listenerConfiguration);
+            }
+        }
+        cacheManager.unwrap(ClearNotifyingCacheManager.class).deregisterClearListener(clearListener);
+        relay();
+    }
+
+    /**
+     * Publish the pending invalidations of this instance, then apply the ones of the other instances.
+     * <p>
+     * This is scheduled to get fired every {@code application.cache.invalidation.poll-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            publish();
+            applyOthers();
+        } catch (DataAccessException e) {
+            log.warn("Could not exchange cache invalidations, retrying at the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the invalidations older than {@code application.cache.invalidation.retention-ms}.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.retention-ms:3600000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Timestamp before = new Timestamp(System.currentTimeMillis() - properties.getRetentionMs());
+        int deleted = jdbcTemplate.update("delete from cache_invalidation where created_date < ?", before);
+        log.debug("Purged {} cache invalidations", deleted);
+    }
+
+    private void publish() {
+        Set<Invalidation> invalidations = new LinkedHashSet<>();
+        for (Invalidation invalidation = pending.poll(); invalidation != null; invalidation = pending.poll()) {
+            invalidations.add(invalidation);
+        }
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(invalidations.size());
+        for (Invalidation invalidation : invalidations) {
+            rows.add(new Object[] { origin, invalidation.cacheName, SerializationUtils.serialize(invalidation.key) });
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                "insert into cache_invalidation (origin, cache_name, cache_key, created_date) values (?, ?, ?, current_timestamp)",
+                rows
+            );
+        } catch (DataAccessException e) {
+            pending.addAll(invalidations);
+            throw e;
+        }
+        log.debug("Published {} cache invalidations", rows.size());
+    }
+
+    private void applyOthers() {
+        Timestamp since = new Timestamp(lastCreatedDate.getTime() - OVERLAP_MS);
+        jdbcTemplate.query(
+            "select id, origin, cache_name, cache_key, created_date from cache_invalidation where created_date > ? order by id",
+            resultSet -> {
+                long id = resultSet.getLong("id");
+                Timestamp createdDate = resultSet.getTimestamp("created_date");
+                if (createdDate.after(lastCreatedDate)) {
+                    lastCreatedDate = createdDate;
+                }
+                if (!origin.equals(resultSet.getString("origin")) && applied.put(id, createdDate) == null) {
+                    apply(resultSet.getString("cache_name"), resultSet.getBytes("cache_key"));
+                }
+            },
+            since
+        );
+        Timestamp oldest = new Timestamp(lastCreatedDate.getTime() - OVERLAP_MS);
+        for (Iterator<Timestamp> createdDates = applied.values().iterator(); createdDates.hasNext();) {
+            if (createdDates.next().before(oldest)) {
+                createdDates.remove();
+            }
+        }
+    }
+
+    /**
+     * Apply an invalidation of another instance, without a key when the whole cache was cleared.
+     */
+    private void apply(String cacheName, byte[] key) {
+        applying.set(Boolean.TRUE);
+        try {
+            if (TIMESTAMPS_REGION.equals(cacheName)) {
+                for (String queryResultsRegion : QUERY_RESULTS_REGIONS) {
+                    Cache<Object, Object> cache = cacheManager.getCache(queryResultsRegion);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                }
+                return;
+            }
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            if (key == null) {
+                cache.clear();
+            } else {
+                cache.remove(SerializationUtils.deserialize(key));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping the invalidation of an unreadable key of cache {}: {}", cacheName, e.getMessage());
+        } finally {
+            applying.set(Boolean.FALSE);
+        }
+    }
+
+    private void enqueueClear(String cacheName) {
+        if (!applying.get()) {
+            pending.add(new Invalidation(cacheName, null));
+        }
+    }
+
+    private void enqueue(Iterable<CacheEntryEvent<?, ?>> events, boolean created) {
+        if (applying.get()) {
+            return;
+        }
+        for (CacheEntryEvent<?, ?> event : events) {
+            String cacheName = event.getSource().getName();
+            if (created && !TIMESTAMPS_REGION.equals(cacheName)) {
+                continue;
+            }
+            if (event.getKey() instanceof Serializable) {
+                pending.add(new Invalidation(cacheName, event.getKey()));
+            } else {
+                log.debug("Not publishing the invalidation of a key of cache {} that cannot be serialized", cacheName);
+            }
+        }
+    }
+
+    /**
+     * Listens to the entries of the local caches. The entries created by reads are only published for the last update
+     * times of the tables, which are created by the first write to each table.
+     */
+    private final class Listener
+        implements
+            CacheEntryCreatedListener<Object, Object>,
+            CacheEntryUpdatedListener<Object, Object>,
+            CacheEntryRemovedListener<Object, Object> {
+
+        @Override
+        public void onCreated(Iterable<CacheEntryEvent<?, ?>> events) {
+            enqueue(events, true);
+        }
+
+        @Override
+        public void onUpdated(Iterable<CacheEntryEvent<?, ?>> events) {
+            enqueue(events, false);
+        }
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) {
+            enqueue(events, false);
+        }
+    }
+
+    private static final class Invalidation {
+
+        private final String cacheName;
+
+        /**
+         * The key of the entry, or {@code null} for the whole cache.
+         */
+        private final Object key;
+
+        private Invalidation(String cacheName, Object key) {
+            this.cacheName = cacheName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Invalidation)) {
+                return false;
+            }
+            Invalidation other = (Invalidation) o;
+            return cacheName.equals(other.cacheName) && Objects.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cacheName, key);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.sccodefactory.employee.service;
 import com.sccodefactory.employee.domain.Country;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Country}.
@@ -31,6 +33,14 @@ public interface CountryService {
      */
     List<Country> findAll();
 
+    /**
+     * Get a page of the countries.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Country> findAll(Pageable pageable);
+
     /**
      * Get the "id" country.
      *
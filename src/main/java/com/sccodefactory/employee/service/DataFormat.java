@@ -0,0 +1,55 @@
+package com.sccodefactory.employee.service;
+
+/**
+ * The file formats of the bulk exports and imports.
+ */
+public enum DataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param extension the file extension of the format, e.g. {@code csv}.
+     * @return the format.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    public static DataFormat fromExtension(String extension) {
+        for (DataFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + extension);
+    }
+
+    /**
+     * @param contentType the content type of the format, with or without parameters, e.g. {@code text/csv; charset=UTF-8}.
+     * @return the format.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    public static DataFormat fromContentType(String contentType) {
+        String mimeType = contentType != null ? contentType.split(";", 2)[0].trim() : null;
+        for (DataFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(mimeType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
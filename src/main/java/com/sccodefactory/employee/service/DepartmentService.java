@@ -1,8 +1,11 @@
 package com.sccodefactory.employee.service;
 
 import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.repository.search.Suggestion;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Department}.
@@ -31,6 +34,14 @@ public interface DepartmentService {
      */
     List<Department> findAll();
 
+    /**
+     * Get a page of the departments.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Department> findAll(Pageable pageable);
+
     /**
      * Get the "id" department.
      *
@@ -53,4 +64,13 @@ public interface DepartmentService {
      * @return the list of entities.
      */
     List<Department> search(String query);
+
+    /**
+     * Suggest the departments whose name starts with the prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions.
+     * @return the ids and labels of the matching departments.
+     */
+    List<Suggestion> suggest(String prefix, int size);
 }
@@ -0,0 +1,159 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.EmployeeHierarchy;
+import com.sccodefactory.employee.repository.EmployeeHierarchyRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.OrgChartEntry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the org chart, the {@link EmployeeHierarchy} closure table of {@link Employee#getManager()}.
+ * <p>
+ * Like the search index outbox, the table is updated by the callers changing employees, in their transaction:
+ * a new employee adds one row per manager above it, and a change of manager relinks the whole subtree with two
+ * statements. Deleted employees leave the table through its foreign keys.
+ * <p>
+ * The same changes are applied to the in-memory {@link OrgTree} once they commit.
+ */
+@Service
+@Transactional
+public class EmployeeHierarchyService {
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeHierarchyService.class);
+
+    private final EmployeeHierarchyRepository employeeHierarchyRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final OrgTreeService orgTreeService;
+
+    public EmployeeHierarchyService(
+        EmployeeHierarchyRepository employeeHierarchyRepository,
+        EmployeeRepository employeeRepository,
+        OrgTreeService orgTreeService
+    ) {
+        this.employeeHierarchyRepository = employeeHierarchyRepository;
+        this.employeeRepository = employeeRepository;
+        this.orgTreeService = orgTreeService;
+    }
+
+    /**
+     * Add a new employee below its manager.
+     *
+     * @param employee the saved employee.
+     */
+    public void add(Employee employee) {
+        addAll(Collections.singletonMap(employee.getId(), managerId(employee)));
+    }
+
+    /**
+     * Add new employees below their managers, which must not be part of the same call.
+     *
+     * @param managerIds the ids of the managers of the saved employees, or {@code null}, by employee id.
+     */
+    public void addAll(Map<Long, Long> managerIds) {
+        log.debug("Request to add Employees to the hierarchy : {}", managerIds.keySet());
+        employeeHierarchyRepository.insertNodes(managerIds.keySet());
+        orgTreeService.putAll(managerIds);
+    }
+
+    /**
+     * Move an updated employee, with its reports, below its new manager.
+     *
+     * @param employee the saved employee.
+     * @throws IllegalArgumentException if the new manager is the employee or one of its reports.
+     */
+    public void update(Employee employee) {
+        Long id = employee.getId();
+        if (!employeeHierarchyRepository.existsByAncestorIdAndDescendantId(id, id)) {
+            add(employee);
+            return;
+        }
+        Long managerId = managerId(employee);
+        Long previousManagerId = employeeHierarchyRepository
+            .findOneByDescendantIdAndDepth(id, 1)
+            .map(EmployeeHierarchy::getAncestorId)
+            .orElse(null);
+        if (managerId == null ? previousManagerId == null : managerId.equals(previousManagerId)) {
+            return;
+        }
+        if (managerId != null && employeeHierarchyRepository.existsByAncestorIdAndDescendantId(id, managerId)) {
+            throw new IllegalArgumentException("Employee " + id + " cannot report to itself or to one of its reports: " + managerId);
+        }
+        log.debug("Request to move Employee {} from manager {} to manager {}", id, previousManagerId, managerId);
+        employeeHierarchyRepository.moveSubtree(id, managerId);
+        orgTreeService.putAll(Collections.singletonMap(id, managerId));
+    }
+
+    /**
+     * Remove a deleted employee; its rows of the hierarchy are removed with it by the database.
+     *
+     * @param id the id of the employee.
+     */
+    public void remove(Long id) {
+        orgTreeService.remove(id);
+    }
+
+    /**
+     * Get the reports of an employee.
+     *
+     * @param id the id of the employee.
+     * @param depth the maximum number of levels below the employee, or {@code null} for all of them.
+     * @return the direct reports first, then level by level.
+     */
+    @Transactional(readOnly = true)
+    public List<OrgChartEntry> findReports(Long id, Integer depth) {
+        log.debug("Request to get the reports of Employee {} down to depth {}", id, depth);
+        return employeeHierarchyRepository.findReports(id, depth != null ? depth : Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the managers of an employee.
+     *
+     * @param id the id of the employee.
+     * @return the direct manager first, up to the top of the organization.
+     */
+    @Transactional(readOnly = true)
+    public List<OrgChartEntry> findChainOfCommand(Long id) {
+        log.debug("Request to get the chain of command of Employee : {}", id);
+        return employeeHierarchyRepository.findChainOfCommand(id);
+    }
+
+    /**
+     * Rebuild the hierarchy if it does not match the employees, e.g. on the first startup after it was added or after
+     * employees were written around the services.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeHierarchy() {
+        long employees = employeeRepository.count();
+        long managed = employeeRepository.countByManagerIsNotNull();
+        if (employeeHierarchyRepository.countByDepth(0) != employees || employeeHierarchyRepository.countByDepth(1) != managed) {
+            log.info("Employee hierarchy out of date, rebuilding it for {} employees", employees);
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the whole hierarchy from the managers of the employees.
+     *
+     * @return the number of rows of the hierarchy.
+     */
+    public long rebuild() {
+        long rows = employeeHierarchyRepository.rebuild();
+        log.info("Rebuilt the employee hierarchy with {} rows", rows);
+        return rows;
+    }
+
+    private static Long managerId(Employee employee) {
+        return employee.getManager() != null ? employee.getManager().getId() : null;
+    }
+}
@@ -0,0 +1,478 @@
+package com.sccodefactory.employee.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.service.dto.ImportResultDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing new {@link Employee}s in bulk from NDJSON or CSV, with the columns of the export.
+ * <p>
+ * The file is parsed and validated as it is read, and the valid rows are inserted in chunks of
+ * {@code application.import.chunk-size} rows, each in its own transaction: the inserts are flushed together, so
+ * Hibernate sends them as JDBC batches, and the persistence context is cleared after every chunk. The rows are
+ * queued in the search index outbox in the same transaction, and the {@link SearchIndexOutboxRelay} indexes them in
+ * {@code _bulk} requests once committed.
+ * <p>
+ * An import is not atomic: a rejected row is reported and skipped, and a chunk failing in the database is retried
+ * row by row, so that only the offending rows are lost.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final List<String> COLUMNS = Arrays.asList(
+        "id",
+        "firstName",
+        "lastName",
+        "email",
+        "phoneNumber",
+        "hireDate",
+        "salary",
+        "commissionPct",
+        "managerId",
+        "departmentId"
+    );
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private final EntityManager em;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    private final EmployeeHierarchyService employeeHierarchyService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Import properties;
+
+    public EmployeeImportService(
+        EntityManager em,
+        ObjectMapper objectMapper,
+        Validator validator,
+        SearchIndexOutboxService searchIndexOutboxService,
+        EmployeeHierarchyService employeeHierarchyService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.searchIndexOutboxService = searchIndexOutboxService;
+        this.employeeHierarchyService = employeeHierarchyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getImport();
+    }
+
+    /**
+     * Import new employees.
+     * <p>
+     * The {@code id} column must be empty, and {@code managerId} and {@code departmentId} must reference existing
+     * rows.
+     *
+     * @param format the input format.
+     * @param in the stream to read from.
+     * @return the number of rows read and imported, and the errors of the rejected rows.
+     * @throws IOException if the input cannot be read.
+     * @throws IllegalArgumentException if the CSV header contains unknown columns.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResultDTO importEmployees(DataFormat format, InputStream in) throws IOException {
+        log.debug("Request to import Employees from {}", format);
+        ImportResultDTO result = new ImportResultDTO(properties.getMaxErrors());
+        try (RowReader reader = format == DataFormat.CSV ? new CsvRowReader(in) : new NdjsonRowReader(in)) {
+            List<PendingRow> chunk = new ArrayList<>(properties.getChunkSize());
+            for (Row row = reader.next(); row != null; row = reader.next()) {
+                result.addRow();
+                try {
+                    chunk.add(toPendingRow(row));
+                } catch (IllegalArgumentException e) {
+                    result.addError(row.number, e.getMessage());
+                }
+                if (chunk.size() == properties.getChunkSize()) {
+                    importChunk(chunk, result);
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result);
+            }
+        }
+        result.finish();
+        log.info(
+            "Imported {} of {} Employees at {} rows/s",
+            result.getImportedRows(),
+            result.getRows(),
+            String.format("%.0f", result.getRowsPerSecond())
+        );
+        return result;
+    }
+
+    /**
+     * Insert a chunk in one transaction, or row by row if the database rejects it.
+     */
+    private void importChunk(List<PendingRow> chunk, ImportResultDTO result) {
+        Map<Long, String> rejected;
+        try {
+            rejected = transactionTemplate.execute(status -> insert(chunk));
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            if (chunk.size() == 1) {
+                result.addError(chunk.get(0).number, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            } else {
+                log.debug("Import of a chunk of {} Employees failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                chunk.forEach(row -> importChunk(Collections.singletonList(row), result));
+            }
+            return;
+        }
+        result.addImported(chunk.size() - rejected.size());
+        rejected.forEach(result::addError);
+    }
+
+    /**
+     * @return the errors of the rows rejected before the insert, by row number.
+     */
+    private Map<Long, String> insert(List<PendingRow> chunk) {
+        Set<Long> departmentIds = existingIds(Department.class, chunk, row -> row.departmentId);
+        Set<Long> managerIds = existingIds(Employee.class, chunk, row -> row.managerId);
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        Map<Long, Long> inserted = new LinkedHashMap<>(chunk.size() * 2);
+        for (PendingRow row : chunk) {
+            Employee employee = row.employee;
+            if (row.departmentId != null && !departmentIds.contains(row.departmentId)) {
+                rejected.put(row.number, "Unknown department: " + row.departmentId);
+                continue;
+            }
+            if (row.managerId != null && !managerIds.contains(row.managerId)) {
+                rejected.put(row.number, "Unknown manager: " + row.managerId);
+                continue;
+            }
+            Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+            if (!violations.isEmpty()) {
+                rejected.put(
+                    row.number,
+                    violations
+                        .stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .collect(Collectors.joining(", "))
+                );
+                continue;
+            }
+            // a previous attempt of the chunk may have assigned an id before rolling back
+            employee.setId(null);
+            if (row.departmentId != null) {
+                employee.setDepartment(em.getReference(Department.class, row.departmentId));
+            }
+            if (row.managerId != null) {
+                employee.setManager(em.getReference(Employee.class, row.managerId));
+            }
+            em.persist(employee);
+            searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+            inserted.put(employee.getId(), row.managerId);
+        }
+        em.flush();
+        // the managers already existed, so two statements link the whole chunk below them
+        employeeHierarchyService.addAll(inserted);
+        em.clear();
+        return rejected;
+    }
+
+    private Set<Long> existingIds(Class<?> entityClass, List<PendingRow> chunk, Function<PendingRow, Long> reference) {
+        Set<Long> ids = chunk.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(
+            em
+                .createQuery("select e.id from " + entityClass.getSimpleName() + " e where e.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList()
+        );
+    }
+
+    private static PendingRow toPendingRow(Row row) {
+        if (row.error != null) {
+            throw new IllegalArgumentException(row.error);
+        }
+        Map<String, String> values = row.values;
+        for (String column : values.keySet()) {
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+        }
+        if (values.get("id") != null) {
+            throw new IllegalArgumentException("A new employee cannot already have an ID");
+        }
+        Employee employee = new Employee()
+            .firstName(values.get("firstName"))
+            .lastName(values.get("lastName"))
+            .email(values.get("email"))
+            .phoneNumber(values.get("phoneNumber"))
+            .hireDate(parse(values, "hireDate", Instant::parse))
+            .salary(parse(values, "salary", Long::valueOf))
+            .commissionPct(parse(values, "commissionPct", Long::valueOf));
+        return new PendingRow(
+            row.number,
+            employee,
+            parse(values, "managerId", Long::valueOf),
+            parse(values, "departmentId", Long::valueOf)
+        );
+    }
+
+    private static <T> T parse(Map<String, String> values, String column, Function<String, T> parser) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * A row as read from the file: its values by column, empty values being {@code null}, or why it could not be read.
+     */
+    private static final class Row {
+
+        private final long number;
+
+        private final Map<String, String> values;
+
+        private final String error;
+
+        private Row(long number, Map<String, String> values, String error) {
+            this.number = number;
+            this.values = values;
+            this.error = error;
+        }
+    }
+
+    private static final class PendingRow {
+
+        private final long number;
+
+        private final Employee employee;
+
+        private final Long managerId;
+
+        private final Long departmentId;
+
+        private PendingRow(long number, Employee employee, Long managerId, Long departmentId) {
+            this.number = number;
+            this.employee = employee;
+            this.managerId = managerId;
+            this.departmentId = departmentId;
+        }
+    }
+
+    private interface RowReader extends AutoCloseable {
+        /**
+         * @return the next row, or {@code null} at the end of the input.
+         */
+        Row next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Reads one JSON object per line; a malformed line only rejects its own row.
+     */
+    private class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private long number;
+
+        NdjsonRowReader(InputStream in) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                number++;
+            } while (stripBom(line).trim().isEmpty());
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(stripBom(line));
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new Row(number, null, "Expected a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                if (value.isContainerNode()) {
+                    return new Row(number, null, "Invalid " + field.getKey() + ": expected a scalar value");
+                }
+                values.put(field.getKey(), value.isNull() ? null : value.asText());
+            }
+            return new Row(number, values, null);
+        }
+
+        @Override
+        public void close() {
+            // the request stream is closed by the container
+        }
+    }
+
+    /**
+     * Reads RFC 4180 records, whose first one is the header.
+     */
+    private static class CsvRowReader implements RowReader {
+
+        private final PushbackReader reader;
+
+        private final List<String> header;
+
+        private long number;
+
+        private boolean unterminated;
+
+        CsvRowReader(InputStream in) throws IOException {
+            this.reader = new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            List<String> columns = readRecord();
+            if (columns != null && !columns.isEmpty() && columns.get(0) != null) {
+                columns.set(0, stripBom(columns.get(0)));
+            }
+            this.header = columns != null ? columns : Collections.emptyList();
+            List<String> unknown = header.stream().filter(column -> !COLUMNS.contains(column)).collect(Collectors.toList());
+            if (!unknown.isEmpty()) {
+                throw new IllegalArgumentException("Unknown columns: " + unknown + ", expected some of " + COLUMNS);
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0) == null);
+            number++;
+            if (unterminated) {
+                return new Row(number, null, "Unterminated quoted value");
+            }
+            if (record.size() != header.size()) {
+                return new Row(number, null, "Expected " + header.size() + " columns, found " + record.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                values.put(header.get(i), record.get(i));
+            }
+            return new Row(number, values, null);
+        }
+
+        /**
+         * @return the values of the next record, empty values being {@code null}, or {@code null} at the end of
+         * the input.
+         */
+        private List<String> readRecord() throws IOException {
+            unterminated = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        unterminated = true;
+                        values.add(value.toString());
+                        return values;
+                    }
+                    if (c == '"') {
+                        int next = reader.read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    value.append((char) c);
+                } else if (c == ',') {
+                    values.add(value.length() > 0 ? value.toString() : null);
+                    value.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int next = reader.read();
+                        if (next != '\n' && next != -1) {
+                            reader.unread(next);
+                        }
+                    }
+                    values.add(value.length() > 0 ? value.toString() : null);
+                    return values;
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        @Override
+        public void close() {
+            // the request stream is closed by the container
+        }
+    }
+
+    private static String stripBom(String value) {
+        return value.startsWith("\uFEFF") ? value.substring(1) : value;
+    }
+}
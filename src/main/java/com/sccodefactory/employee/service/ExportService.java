@@ -0,0 +1,228 @@
+package com.sccodefactory.employee.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service streaming whole tables out as NDJSON or CSV.
+ * <p>
+ * Rows are read through a forward-only cursor over a flat projection, one column per attribute and the ids of the
+ * related entities, so that neither the entities nor their eager relationships are ever loaded: the heap used does
+ * not depend on the number of rows, and the output is flushed every {@code application.export.flush-rows} rows.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> EMPLOYEE_COLUMNS = Arrays.asList(
+        "id",
+        "firstName",
+        "lastName",
+        "email",
+        "phoneNumber",
+        "hireDate",
+        "salary",
+        "commissionPct",
+        "managerId",
+        "departmentId"
+    );
+
+    private static final String EMPLOYEE_QUERY =
+        "select e.id, e.firstName, e.lastName, e.email, e.phoneNumber, e.hireDate, e.salary, e.commissionPct, m.id, d.id " +
+        "from Employee e left join e.manager m left join e.department d order by e.id";
+
+    private static final List<String> JOB_HISTORY_COLUMNS = Arrays.asList(
+        "id",
+        "startDate",
+        "endDate",
+        "language",
+        "jobId",
+        "departmentId",
+        "employeeId"
+    );
+
+    private static final String JOB_HISTORY_QUERY =
+        "select h.id, h.startDate, h.endDate, h.language, j.id, d.id, e.id " +
+        "from JobHistory h left join h.job j left join h.department d left join h.employee e order by h.id";
+
+    private final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final EntityManager em;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Export properties;
+
+    public ExportService(EntityManager em, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getExport();
+    }
+
+    /**
+     * Write all the employees, ordered by id.
+     *
+     * @param format the output format.
+     * @param out the stream to write to, left open.
+     * @return the number of rows written.
+     * @throws IOException if the output cannot be written, e.g. because the client went away.
+     */
+    @Transactional(readOnly = true)
+    public long exportEmployees(DataFormat format, OutputStream out) throws IOException {
+        log.debug("Request to export Employees as {}", format);
+        return export(EMPLOYEE_QUERY, EMPLOYEE_COLUMNS, format, out);
+    }
+
+    /**
+     * Write all the jobHistories, ordered by id.
+     *
+     * @param format the output format.
+     * @param out the stream to write to, left open.
+     * @return the number of rows written.
+     * @throws IOException if the output cannot be written, e.g. because the client went away.
+     */
+    @Transactional(readOnly = true)
+    public long exportJobHistories(DataFormat format, OutputStream out) throws IOException {
+        log.debug("Request to export JobHistories as {}", format);
+        return export(JOB_HISTORY_QUERY, JOB_HISTORY_COLUMNS, format, out);
+    }
+
+    private long export(String query, List<String> columns, DataFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        try (
+            ScrollableResults results = em
+                .unwrap(Session.class)
+                .createQuery(query)
+                .setFetchSize(properties.getFetchSize())
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+            RowWriter writer = format == DataFormat.CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns)
+        ) {
+            while (results.next()) {
+                writer.write(results.get());
+                if (++rows % properties.getFlushRows() == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private interface RowWriter extends AutoCloseable {
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+
+        /**
+         * Flush the buffered rows, leaving the underlying stream open.
+         */
+        @Override
+        void close() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final List<String> columns;
+
+        private final JsonGenerator generator;
+
+        private boolean empty = true;
+
+        NdjsonRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.columns = columns;
+            this.generator =
+                objectMapper
+                    .getFactory()
+                    .createGenerator(out, JsonEncoding.UTF8)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"))
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setCodec(objectMapper);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeObjectField(columns.get(i), row[i]);
+            }
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            write(columns.toArray());
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (row[i] != null) {
+                    writer.write(escape(row[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Quote a value as per RFC 4180 if it contains a separator, a quote or a line break.
+         */
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
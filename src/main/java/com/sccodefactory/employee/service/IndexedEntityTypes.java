@@ -0,0 +1,35 @@
+package com.sccodefactory.employee.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * The JPA entities mirrored in Elasticsearch, i.e. annotated with {@code @Document}, keyed by simple class name.
+ */
+@Component
+public class IndexedEntityTypes {
+
+    private final Map<String, Class<?>> entityTypes = new TreeMap<>();
+
+    public IndexedEntityTypes(EntityManager em) {
+        for (EntityType<?> entityType : em.getMetamodel().getEntities()) {
+            if (entityType.getJavaType().isAnnotationPresent(Document.class)) {
+                entityTypes.put(entityType.getJavaType().getSimpleName(), entityType.getJavaType());
+            }
+        }
+    }
+
+    public Optional<Class<?>> get(String entityType) {
+        return Optional.ofNullable(entityTypes.get(entityType));
+    }
+
+    public Map<String, Class<?>> getAll() {
+        return Collections.unmodifiableMap(entityTypes);
+    }
+}
@@ -1,6 +1,8 @@
 package com.sccodefactory.employee.service;
 
 import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.repository.CursorPage;
+import com.sccodefactory.employee.service.dto.JobHistoryDTO;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,17 +31,27 @@ public interface JobHistoryService {
      * Get all the jobHistories.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of DTOs.
      */
-    Page<JobHistory> findAll(Pageable pageable);
+    Page<JobHistoryDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the jobHistories with keyset pagination, without counting them.
+     *
+     * @param cursor the cursor of the page, or empty for the first page.
+     * @param pageable the pagination information: its sort and page size.
+     * @return the page of DTOs.
+     * @throws IllegalArgumentException if the sort is not supported or the cursor is malformed.
+     */
+    CursorPage<JobHistoryDTO> findAll(String cursor, Pageable pageable);
 
     /**
      * Get the "id" jobHistory.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the DTO.
      */
-    Optional<JobHistory> findOne(Long id);
+    Optional<JobHistoryDTO> findOne(Long id);
 
     /**
      * Delete the "id" jobHistory.
@@ -54,7 +66,18 @@ public interface JobHistoryService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of DTOs.
+     */
+    Page<JobHistoryDTO> search(String query, Pageable pageable);
+
+    /**
+     * Search for the jobHistory corresponding to the query, one {@code search_after} page at a time.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor of the page, or empty for the first page.
+     * @param pageable the page size and sort; the page number is ignored.
+     * @return the page of DTOs.
+     * @throws IllegalArgumentException if the cursor is malformed.
      */
-    Page<JobHistory> search(String query, Pageable pageable);
+    CursorPage<JobHistoryDTO> searchAfter(String query, String cursor, Pageable pageable);
 }
@@ -3,6 +3,8 @@ package com.sccodefactory.employee.service;
 import com.sccodefactory.employee.domain.Location;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Location}.
@@ -31,6 +33,14 @@ public interface LocationService {
      */
     List<Location> findAll();
 
+    /**
+     * Get a page of the locations.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Location> findAll(Pageable pageable);
+
     /**
      * Get the "id" location.
      *
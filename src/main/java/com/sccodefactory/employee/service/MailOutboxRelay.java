@@ -0,0 +1,244 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.MailOutbox;
+import com.sccodefactory.employee.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Background relay sending the emails queued in the {@link MailOutbox}, on the {@code mailExecutor}.
+ * <p>
+ * Each batch is sent through a single SMTP connection. The emails the server did not accept stay in the outbox and are
+ * retried with exponential backoff, until {@code application.mail-outbox.max-attempts}. Several instances share the
+ * outbox: each batch is claimed by postponing its next attempt in a short transaction, whose row locks the other
+ * instances skip, then sent without holding any lock or connection.
+ * <p>
+ * The {@code mail.session} timer measures each SMTP connection, and the {@code mail.messages} counter the emails by
+ * outcome: {@code sent}, {@code retried} or {@code dropped}.
+ */
+@Service
+public class MailOutboxRelay {
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxRelay.class);
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final Executor mailExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean relayScheduled = new AtomicBoolean();
+
+    public MailOutboxRelay(
+        MailOutboxRepository mailOutboxRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        @Qualifier("mailExecutor") Executor mailExecutor,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailExecutor = mailExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getMailOutbox();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Send the due emails on the {@code mailExecutor}, unless a run is already waiting for it.
+     */
+    public void wake() {
+        if (!properties.isEnabled() || !relayScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mailExecutor.execute(
+                () -> {
+                    relayScheduled.set(false);
+                    relayPendingEmails();
+                }
+            );
+        } catch (TaskRejectedException e) {
+            relayScheduled.set(false);
+            log.debug("Mail executor busy, the queued emails are sent at the next poll");
+        }
+    }
+
+    /**
+     * Send the emails whose retry is due, and the ones queued while the relay was disabled or the instance down.
+     * <p>
+     * This is scheduled to get fired every {@code application.mail-outbox.poll-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval-ms:10000}")
+    public void poll() {
+        wake();
+    }
+
+    /**
+     * Send the due emails until no full batch is left.
+     */
+    public void relayPendingEmails() {
+        while (relayBatch() == properties.getBatchSize()) {
+            log.debug("Mail outbox batch full, sending next batch");
+        }
+    }
+
+    /**
+     * Send one batch of due emails through one SMTP connection. The batch is claimed in a first transaction, sent
+     * outside of any, and its outcome recorded in a second one, so that no row is locked during the SMTP exchange.
+     *
+     * @return the number of emails processed, whether they were sent, rescheduled or dropped.
+     */
+    public int relayBatch() {
+        List<MailOutbox> batch = transactionTemplate.execute(status -> claim(Instant.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> errors = send(batch);
+        transactionTemplate.executeWithoutResult(status -> settle(batch, errors, Instant.now()));
+        return batch.size();
+    }
+
+    /**
+     * Lock the due emails, skipping the ones another instance is claiming, and postpone their next attempt by the
+     * claim timeout, so that the other instances leave them alone once the lock is released.
+     */
+    private List<MailOutbox> claim(Instant now) {
+        List<MailOutbox> batch = mailOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(
+            now,
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        Instant claimedUntil = now.plusMillis(properties.getClaimTimeoutMs());
+        batch.forEach(entry -> entry.setNextAttemptDate(claimedUntil));
+        return batch;
+    }
+
+    /**
+     * @return the error of each email that was not sent, by id.
+     */
+    private Map<Long, String> send(List<MailOutbox> batch) {
+        Map<Long, String> errors = new HashMap<>();
+        Map<MimeMessage, MailOutbox> messages = new LinkedHashMap<>();
+        for (MailOutbox entry : batch) {
+            try {
+                messages.put(toMimeMessage(entry), entry);
+            } catch (MessagingException e) {
+                errors.put(entry.getId(), e.getMessage());
+            }
+        }
+        Map<Object, Exception> failures = sendAll(messages.keySet());
+        messages.forEach(
+            (message, entry) -> {
+                Exception failure = failures.get(message);
+                if (failure != null) {
+                    errors.put(entry.getId(), failure.getMessage());
+                }
+            }
+        );
+        return errors;
+    }
+
+    /**
+     * Delete the emails sent, and reschedule or drop the others.
+     */
+    private void settle(List<MailOutbox> batch, Map<Long, String> errors, Instant now) {
+        List<Long> ids = new ArrayList<>();
+        batch.forEach(entry -> ids.add(entry.getId()));
+        List<MailOutbox> sent = new ArrayList<>();
+        for (MailOutbox entry : mailOutboxRepository.findAllById(ids)) {
+            String error = errors.get(entry.getId());
+            if (error == null) {
+                sent.add(entry);
+            } else {
+                scheduleRetry(entry, now, error);
+            }
+        }
+        mailOutboxRepository.deleteInBatch(sent);
+        meterRegistry.counter("mail.messages", "outcome", "sent").increment(sent.size());
+        log.debug("Sent {} of {} queued emails", sent.size(), batch.size());
+    }
+
+    /**
+     * @return the exceptions of the messages that were not sent, by message.
+     */
+    private Map<Object, Exception> sendAll(Collection<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Object, Exception> failures;
+        try {
+            javaMailSender.send(messages.toArray(new MimeMessage[0]));
+            failures = Collections.emptyMap();
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            failures = new IdentityHashMap<>();
+            for (MimeMessage message : messages) {
+                failures.put(message, e);
+            }
+        }
+        sample.stop(meterRegistry.timer("mail.session", "outcome", failures.isEmpty() ? "success" : "failure"));
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(MailOutbox entry) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, entry.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(entry.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(entry.getSubject());
+        message.setText(entry.getContent(), entry.isHtml());
+        return mimeMessage;
+    }
+
+    private void scheduleRetry(MailOutbox entry, Instant now, String error) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Dropping the email to '{}' after {} attempts: {}", entry.getRecipient(), attempts, error);
+            mailOutboxRepository.delete(entry);
+            meterRegistry.counter("mail.messages", "outcome", "dropped").increment();
+            return;
+        }
+        log.warn("Email could not be sent to '{}', retrying: {}", entry.getRecipient(), error);
+        long backoff = Math.min(properties.getInitialBackoffMs() << Math.min(attempts - 1, 20), properties.getMaxBackoffMs());
+        entry.setAttempts(attempts);
+        entry.setNextAttemptDate(now.plusMillis(backoff));
+        entry.setLastError(StringUtils.abbreviate(error, 1000));
+        meterRegistry.counter("mail.messages", "outcome", "retried").increment();
+    }
+}
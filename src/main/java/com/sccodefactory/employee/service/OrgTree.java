@@ -0,0 +1,357 @@
+package com.sccodefactory.employee.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable snapshot of the org chart, held in primitive arrays so that it costs a few dozen bytes per employee
+ * and can be read by any number of threads without locking.
+ * <p>
+ * The employees are sorted by id, and referenced by their position in that order: an id is found by binary search,
+ * the children of every employee are packed in one array, and the employees are numbered in depth-first order, so
+ * that the reports of an employee, at any depth, are the contiguous run of employees numbered after it.
+ * <p>
+ * Changes return a new snapshot, rebuilt from the ids and manager ids without touching the database. The ids are
+ * already sorted, so a change only merges or removes its own ids: the rebuild is linear in the number of employees.
+ */
+public final class OrgTree {
+
+    /**
+     * The manager id of the employees at the top of the organization.
+     */
+    public static final long NO_MANAGER = -1;
+
+    public static final OrgTree EMPTY = new OrgTree(new long[0], new long[0]);
+
+    private final Instant builtDate = Instant.now();
+
+    /**
+     * The ids of the employees, ascending.
+     */
+    private final long[] ids;
+
+    /**
+     * The ids of their managers, as given, or {@link #NO_MANAGER}.
+     */
+    private final long[] managerIds;
+
+    /**
+     * The position of the manager of each employee, or -1 at the top, or if the manager is unknown or would close a
+     * cycle.
+     */
+    private final int[] parent;
+
+    /**
+     * The direct reports of employee {@code i} are {@code children[childStart[i]]} to {@code children[childStart[i + 1] - 1]}.
+     */
+    private final int[] childStart;
+
+    private final int[] children;
+
+    /**
+     * The depth-first number of each employee, and its inverse.
+     */
+    private final int[] preorder;
+
+    private final int[] byPreorder;
+
+    /**
+     * The number of employees in the subtree of each employee, itself included.
+     */
+    private final int[] subtreeSize;
+
+    private final int[] depth;
+
+    /**
+     * @param ids the ids of the employees, in any order, without duplicates.
+     * @param managerIds the ids of their managers, or {@link #NO_MANAGER}.
+     */
+    public OrgTree(long[] ids, long[] managerIds) {
+        this(sortById(ids, managerIds));
+    }
+
+    /**
+     * @param sorted the ids of the employees, ascending, and the ids of their managers.
+     */
+    private OrgTree(long[][] sorted) {
+        this.ids = sorted[0];
+        this.managerIds = sorted[1];
+        int n = ids.length;
+        for (int i = 1; i < n; i++) {
+            if (this.ids[i] == this.ids[i - 1]) {
+                throw new IllegalArgumentException("Duplicate id: " + this.ids[i]);
+            }
+        }
+
+        parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = this.managerIds[i] == NO_MANAGER ? -1 : Math.max(-1, Arrays.binarySearch(this.ids, this.managerIds[i]));
+        }
+        breakCycles(parent);
+
+        childStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (parent[i] >= 0) {
+                childStart[parent[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        children = new int[childStart[n]];
+        int[] next = Arrays.copyOf(childStart, n);
+        for (int i = 0; i < n; i++) {
+            if (parent[i] >= 0) {
+                children[next[parent[i]]++] = i;
+            }
+        }
+
+        preorder = new int[n];
+        byPreorder = new int[n];
+        depth = new int[n];
+        subtreeSize = new int[n];
+        int[] stack = new int[n];
+        int numbered = 0;
+        for (int root = 0; root < n; root++) {
+            if (parent[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int i = stack[--top];
+                preorder[i] = numbered;
+                byPreorder[numbered++] = i;
+                depth[i] = parent[i] >= 0 ? depth[parent[i]] + 1 : 0;
+                // pushed in reverse, so that the reports are numbered by ascending id
+                for (int c = childStart[i + 1] - 1; c >= childStart[i]; c--) {
+                    stack[top++] = children[c];
+                }
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            int i = byPreorder[k];
+            subtreeSize[i] += 1;
+            if (parent[i] >= 0) {
+                subtreeSize[parent[i]] += subtreeSize[i];
+            }
+        }
+    }
+
+    public Instant getBuiltDate() {
+        return builtDate;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * @return the id of the manager of the employee, or {@link #NO_MANAGER} at the top of the organization.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public long getManagerId(long id) {
+        int i = indexOf(id);
+        return parent[i] >= 0 ? ids[parent[i]] : NO_MANAGER;
+    }
+
+    /**
+     * @return the number of managers above the employee.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public int getDepth(long id) {
+        return depth[indexOf(id)];
+    }
+
+    /**
+     * @return the number of direct reports of the employee.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public int getSpanOfControl(long id) {
+        int i = indexOf(id);
+        return childStart[i + 1] - childStart[i];
+    }
+
+    /**
+     * @return the number of direct and indirect reports of the employee.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public int getReportCount(long id) {
+        return subtreeSize[indexOf(id)] - 1;
+    }
+
+    /**
+     * @return the ids of the direct reports of the employee, ascending.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public long[] getDirectReports(long id) {
+        int i = indexOf(id);
+        long[] reports = new long[childStart[i + 1] - childStart[i]];
+        for (int c = 0; c < reports.length; c++) {
+            reports[c] = ids[children[childStart[i] + c]];
+        }
+        return reports;
+    }
+
+    /**
+     * @param maxDepth the maximum number of levels below the employee.
+     * @return the ids of the direct and indirect reports of the employee, depth first.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public long[] getReports(long id, int maxDepth) {
+        int i = indexOf(id);
+        int from = preorder[i] + 1;
+        int to = preorder[i] + subtreeSize[i];
+        long[] reports = new long[to - from];
+        int count = 0;
+        for (int k = from; k < to; k++) {
+            int report = byPreorder[k];
+            if (depth[report] - depth[i] <= maxDepth) {
+                reports[count++] = ids[report];
+            }
+        }
+        return count == reports.length ? reports : Arrays.copyOf(reports, count);
+    }
+
+    /**
+     * @return the ids of the managers of the employee, from its direct manager up.
+     * @throws NoSuchElementException if the employee is not in the tree.
+     */
+    public long[] getChainOfCommand(long id) {
+        int i = indexOf(id);
+        long[] managers = new long[depth[i]];
+        for (int m = 0, p = parent[i]; p >= 0; m++, p = parent[p]) {
+            managers[m] = ids[p];
+        }
+        return managers;
+    }
+
+    /**
+     * @return whether the employee reports, directly or not, to the manager.
+     * @throws NoSuchElementException if either employee is not in the tree.
+     */
+    public boolean isReportOf(long id, long managerId) {
+        int i = indexOf(id);
+        int m = indexOf(managerId);
+        return preorder[i] > preorder[m] && preorder[i] < preorder[m] + subtreeSize[m];
+    }
+
+    /**
+     * @param changedIds the ids of new or moved employees.
+     * @param changedManagerIds the ids of their managers, or {@link #NO_MANAGER}.
+     * @return a new tree with the changes.
+     */
+    public OrgTree withManagers(long[] changedIds, long[] changedManagerIds) {
+        long[][] changes = sortById(changedIds, changedManagerIds);
+        long[] sortedChangedIds = changes[0];
+        long[] sortedChangedManagerIds = changes[1];
+        long[] newIds = new long[ids.length + sortedChangedIds.length];
+        long[] newManagerIds = new long[newIds.length];
+        // merges the changes, both being sorted by id
+        int n = 0;
+        int i = 0;
+        for (int c = 0; c < sortedChangedIds.length; c++) {
+            while (i < ids.length && ids[i] < sortedChangedIds[c]) {
+                newIds[n] = ids[i];
+                newManagerIds[n++] = managerIds[i++];
+            }
+            if (i < ids.length && ids[i] == sortedChangedIds[c]) {
+                i++;
+            }
+            newIds[n] = sortedChangedIds[c];
+            newManagerIds[n++] = sortedChangedManagerIds[c];
+        }
+        System.arraycopy(ids, i, newIds, n, ids.length - i);
+        System.arraycopy(managerIds, i, newManagerIds, n, ids.length - i);
+        n += ids.length - i;
+        return new OrgTree(new long[][] { Arrays.copyOf(newIds, n), Arrays.copyOf(newManagerIds, n) });
+    }
+
+    /**
+     * @return a new tree without the employee; its reports, if any, move to the top.
+     */
+    public OrgTree without(long id) {
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) {
+            return this;
+        }
+        long[] newIds = new long[ids.length - 1];
+        long[] newManagerIds = new long[ids.length - 1];
+        System.arraycopy(ids, 0, newIds, 0, i);
+        System.arraycopy(ids, i + 1, newIds, i, ids.length - i - 1);
+        System.arraycopy(managerIds, 0, newManagerIds, 0, i);
+        System.arraycopy(managerIds, i + 1, newManagerIds, i, ids.length - i - 1);
+        return new OrgTree(new long[][] { newIds, newManagerIds });
+    }
+
+    private int indexOf(long id) {
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) {
+            throw new NoSuchElementException("No employee " + id + " in the org tree");
+        }
+        return i;
+    }
+
+    /**
+     * @return copies of the ids, ascending, and of the manager ids in the same order. The ids are sorted as primitives,
+     * then each manager id is placed at the position of its id, found by binary search; the duplicate ids are left
+     * adjacent, for the caller to reject.
+     */
+    private static long[][] sortById(long[] ids, long[] managerIds) {
+        if (ids.length != managerIds.length) {
+            throw new IllegalArgumentException("Expected as many manager ids as ids: " + managerIds.length + " != " + ids.length);
+        }
+        long[] sortedIds = ids.clone();
+        long[] sortedManagerIds = new long[managerIds.length];
+        boolean ascending = true;
+        for (int i = 1; i < ids.length && ascending; i++) {
+            ascending = ids[i - 1] < ids[i];
+        }
+        if (ascending) {
+            System.arraycopy(managerIds, 0, sortedManagerIds, 0, managerIds.length);
+        } else {
+            Arrays.sort(sortedIds);
+            for (int i = 0; i < ids.length; i++) {
+                sortedManagerIds[Arrays.binarySearch(sortedIds, ids[i])] = managerIds[i];
+            }
+        }
+        return new long[][] { sortedIds, sortedManagerIds };
+    }
+
+    /**
+     * Detach the employee closing each cycle of managers, so that every employee can be reached from the top.
+     */
+    private static void breakCycles(int[] parent) {
+        byte[] state = new byte[parent.length];
+        int[] path = new int[parent.length];
+        for (int start = 0; start < parent.length; start++) {
+            int length = 0;
+            int i = start;
+            while (i >= 0 && state[i] == 0) {
+                state[i] = 1;
+                path[length++] = i;
+                i = parent[i];
+            }
+            if (i >= 0 && state[i] == 1) {
+                parent[i] = -1;
+            }
+            for (int k = 0; k < length; k++) {
+                state[path[k]] = 2;
+            }
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrgTree{" +
+            "size=" + size() +
+            ", builtDate=" + getBuiltDate() +
+            "}";
+    }
+}
@@ -0,0 +1,152 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service publishing the current {@link OrgTree}, so that subtrees, depths and spans of control are read from memory.
+ * <p>
+ * The tree is loaded from the employees at startup and every {@code application.org-tree.refresh-interval-ms}.
+ * In between, the changes made through {@link EmployeeHierarchyService} are applied to a copy of the tree once their
+ * transaction commits, and the copy replaces the published tree, so readers never see a partial change. The changes
+ * applied while the tree is reloaded are recorded, and applied again to the reloaded tree before it is published.
+ */
+@Service
+public class OrgTreeService {
+
+    private final Logger log = LoggerFactory.getLogger(OrgTreeService.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final AtomicReference<OrgTree> snapshot = new AtomicReference<>(OrgTree.EMPTY);
+
+    /**
+     * Guards the changes to the published tree and to the pending patches.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The patches applied since the oldest running reload started, in order; empty when no reload runs.
+     */
+    private final List<UnaryOperator<OrgTree>> pendingPatches = new ArrayList<>();
+
+    private int runningReloads;
+
+    public OrgTreeService(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * @return the current tree; it does not change, later changes are published as a new tree.
+     */
+    public OrgTree getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Reload the tree from the employees. The patches applied meanwhile are applied again to the reloaded tree, as the
+     * employees may have been read before their change; a patch sets the managers of its employees, so applying one
+     * whose change was read already leaves the tree unchanged.
+     *
+     * @return the published tree.
+     */
+    @Scheduled(fixedDelayString = "${application.org-tree.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public OrgTree refresh() {
+        int firstPatch;
+        synchronized (lock) {
+            runningReloads++;
+            firstPatch = pendingPatches.size();
+        }
+        try {
+            OrgTree tree = load();
+            synchronized (lock) {
+                List<UnaryOperator<OrgTree>> patches = pendingPatches.subList(firstPatch, pendingPatches.size());
+                for (UnaryOperator<OrgTree> patch : patches) {
+                    tree = patch.apply(tree);
+                }
+                snapshot.set(tree);
+                log.debug("Reloaded the org tree with {} employees, {} changes replayed", tree.size(), patches.size());
+                return tree;
+            }
+        } finally {
+            synchronized (lock) {
+                if (--runningReloads == 0) {
+                    pendingPatches.clear();
+                }
+            }
+        }
+    }
+
+    private OrgTree load() {
+        List<Object[]> rows = employeeRepository.findAllIdsAndManagerIds();
+        long[] ids = new long[rows.size()];
+        long[] managerIds = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            managerIds[i] = row[1] != null ? (Long) row[1] : OrgTree.NO_MANAGER;
+        }
+        return new OrgTree(ids, managerIds);
+    }
+
+    /**
+     * Add or move employees once the current transaction commits.
+     *
+     * @param managerIds the ids of the managers of the employees, or {@code null}, by employee id.
+     */
+    public void putAll(Map<Long, Long> managerIds) {
+        long[] ids = new long[managerIds.size()];
+        long[] newManagerIds = new long[managerIds.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : managerIds.entrySet()) {
+            ids[i] = entry.getKey();
+            newManagerIds[i++] = entry.getValue() != null ? entry.getValue() : OrgTree.NO_MANAGER;
+        }
+        afterCommit(tree -> tree.withManagers(ids, newManagerIds));
+    }
+
+    /**
+     * Remove an employee once the current transaction commits.
+     *
+     * @param id the id of the employee.
+     */
+    public void remove(Long id) {
+        afterCommit(tree -> tree.without(id));
+    }
+
+    private void afterCommit(UnaryOperator<OrgTree> patch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(patch);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(patch);
+                }
+            }
+        );
+    }
+
+    private void apply(UnaryOperator<OrgTree> patch) {
+        synchronized (lock) {
+            snapshot.set(patch.apply(snapshot.get()));
+            if (runningReloads > 0) {
+                pendingPatches.add(patch);
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.sccodefactory.employee.service;
 import com.sccodefactory.employee.domain.Region;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Region}.
@@ -31,6 +33,14 @@ public interface RegionService {
      */
     List<Region> findAll();
 
+    /**
+     * Get a page of the regions.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Region> findAll(Pageable pageable);
+
     /**
      * Get the "id" region.
      *
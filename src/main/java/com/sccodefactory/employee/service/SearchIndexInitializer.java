@@ -0,0 +1,107 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.repository.search.VersionedIndexOperations;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Check the Elasticsearch indices against the mappings declared by the {@code @Document} entities at startup.
+ * <p>
+ * A missing index is created empty from its declared settings and mapping, so that writes never fall back to a
+ * dynamic mapping. An index whose mapping version is older than the declared one, or missing, is rebuilt if
+ * {@code application.search.reindex-on-mapping-change} is set, and reported otherwise.
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private final VersionedIndexOperations versionedIndexOperations;
+
+    private final IndexedEntityTypes indexedEntityTypes;
+
+    private final SearchReindexService searchReindexService;
+
+    private final ApplicationProperties.Search properties;
+
+    public SearchIndexInitializer(
+        VersionedIndexOperations versionedIndexOperations,
+        IndexedEntityTypes indexedEntityTypes,
+        SearchReindexService searchReindexService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.versionedIndexOperations = versionedIndexOperations;
+        this.indexedEntityTypes = indexedEntityTypes;
+        this.searchReindexService = searchReindexService;
+        this.properties = applicationProperties.getSearch();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndices() {
+        if (!properties.isManageIndices()) {
+            return;
+        }
+        List<String> outdated = new ArrayList<>();
+        for (Map.Entry<String, Class<?>> entityType : indexedEntityTypes.getAll().entrySet()) {
+            try {
+                if (checkIndex(entityType.getValue())) {
+                    outdated.add(entityType.getKey());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not check the search index of {}: {}", entityType.getKey(), e.getMessage());
+            }
+        }
+        if (outdated.isEmpty()) {
+            return;
+        }
+        if (!properties.isReindexOnMappingChange()) {
+            log.warn("The search indices of {} are outdated, rebuild them with POST /api/admin/search/reindex", outdated);
+        } else if (searchReindexService.start(outdated).isPresent()) {
+            log.info("Rebuilding the outdated search indices of {}", outdated);
+        } else {
+            log.warn("The search indices of {} are outdated, but a reindex is already running", outdated);
+        }
+    }
+
+    /**
+     * @return whether the index has to be rebuilt to match the declared mapping.
+     */
+    private boolean checkIndex(Class<?> entityClass) {
+        int declaredVersion = versionedIndexOperations.getDeclaredMappingVersion(entityClass);
+        if (!versionedIndexOperations.exists(entityClass)) {
+            String indexName = versionedIndexOperations.createVersionedIndex(entityClass);
+            versionedIndexOperations.completeLoading(entityClass, indexName);
+            versionedIndexOperations.swapAlias(entityClass, indexName);
+            log.info("Created search index {} with mapping version {}", indexName, declaredVersion);
+            // the table may already have rows
+            return true;
+        }
+        OptionalInt liveVersion = versionedIndexOperations.getLiveMappingVersion(entityClass);
+        if (!liveVersion.isPresent() || liveVersion.getAsInt() < declaredVersion) {
+            log.info(
+                "Search index of {} has mapping version {}, {} is declared",
+                entityClass.getSimpleName(),
+                liveVersion.isPresent() ? liveVersion.getAsInt() : "none",
+                declaredVersion
+            );
+            return true;
+        }
+        if (liveVersion.getAsInt() > declaredVersion) {
+            log.warn(
+                "Search index of {} has mapping version {}, newer than the declared {}",
+                entityClass.getSimpleName(),
+                liveVersion.getAsInt(),
+                declaredVersion
+            );
+        }
+        return false;
+    }
+}
@@ -0,0 +1,215 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import com.sccodefactory.employee.repository.search.BulkIndexResult;
+import com.sccodefactory.employee.repository.search.BulkSearchIndexer;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background relay draining the {@link SearchIndexOutbox} to Elasticsearch.
+ * <p>
+ * Each batch is sent through the {@link BulkSearchIndexer} as a single {@code _bulk} request covering every
+ * entity type. Rows for the same entity id are collapsed so only the latest operation is applied, and documents
+ * are always rebuilt from the current database state, so retries and out-of-order delivery converge to the right
+ * document, which is written with external versioning so that it never replaces a later one. Rows whose bulk item
+ * failed stay in the outbox and are retried with exponential backoff. Several instances share the outbox: each batch
+ * is claimed by postponing its next attempt in a short transaction, whose row locks the other instances skip, then
+ * sent without holding any lock or connection.
+ */
+@Service
+public class SearchIndexOutboxRelay {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexOutboxRelay.class);
+
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    private final BulkSearchIndexer bulkSearchIndexer;
+
+    private final EntityManager em;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties.SearchOutbox properties;
+
+    private final IndexedEntityTypes indexedEntityTypes;
+
+    public SearchIndexOutboxRelay(
+        SearchIndexOutboxRepository searchIndexOutboxRepository,
+        BulkSearchIndexer bulkSearchIndexer,
+        IndexedEntityTypes indexedEntityTypes,
+        EntityManager em,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.searchIndexOutboxRepository = searchIndexOutboxRepository;
+        this.bulkSearchIndexer = bulkSearchIndexer;
+        this.indexedEntityTypes = indexedEntityTypes;
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getSearchOutbox();
+    }
+
+    /**
+     * Drain the outbox until no full batch is left.
+     * <p>
+     * This is scheduled to get fired every {@code application.search-outbox.poll-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.search-outbox.poll-interval-ms:1000}")
+    public void relayPendingEntries() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        while (relayBatch() == properties.getBatchSize()) {
+            log.debug("Search index outbox batch full, draining next batch");
+        }
+    }
+
+    /**
+     * Relay one batch of due outbox rows to Elasticsearch. The batch is claimed in a first transaction, its documents
+     * built in a read-only one, sent outside of any, and its outcome recorded in a last one, so that no row is locked
+     * and no connection held during the {@code _bulk} request.
+     *
+     * @return the number of rows processed, whether they succeeded or were rescheduled.
+     */
+    public int relayBatch() {
+        List<SearchIndexOutbox> batch = transactionTemplate.execute(status -> claim(Instant.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<BulkSearchIndexer.Action> actions = readOnlyTransactionTemplate.execute(status -> toActions(batch));
+        BulkIndexResult result = bulkSearchIndexer.execute(actions);
+        transactionTemplate.executeWithoutResult(status -> settle(batch, result, Instant.now()));
+        return batch.size();
+    }
+
+    /**
+     * Lock the due rows, skipping the ones another instance is claiming, and postpone their next attempt by the claim
+     * timeout, so that the other instances leave them alone once the lock is released.
+     */
+    private List<SearchIndexOutbox> claim(Instant now) {
+        List<SearchIndexOutbox> batch = searchIndexOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(
+            now,
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        Instant claimedUntil = now.plusMillis(properties.getClaimTimeoutMs());
+        batch.forEach(entry -> entry.setNextAttemptDate(claimedUntil));
+        return batch;
+    }
+
+    /**
+     * @return the actions of the batch, converted to their requests while their entities can be read.
+     */
+    private List<BulkSearchIndexer.Action> toActions(List<SearchIndexOutbox> batch) {
+        Map<String, List<SearchIndexOutbox>> entriesByType = batch
+            .stream()
+            .collect(Collectors.groupingBy(SearchIndexOutbox::getEntityType, LinkedHashMap::new, Collectors.toList()));
+        List<BulkSearchIndexer.Action> actions = new ArrayList<>();
+        entriesByType.forEach(
+            (entityType, entries) -> {
+                Optional<Class<?>> entityClass = indexedEntityTypes.get(entityType);
+                if (entityClass.isPresent()) {
+                    actions.addAll(toActions(entityClass.get(), latestEntries(entries)));
+                } else {
+                    log.warn("Dropping {} search index outbox entries for unknown entity type {}", entries.size(), entityType);
+                }
+            }
+        );
+        bulkSearchIndexer.prepare(actions);
+        return actions;
+    }
+
+    /**
+     * Documents are written with the id of their latest row as external version, so that a batch relayed late never
+     * replaces the document written by a later one.
+     */
+    private List<BulkSearchIndexer.Action> toActions(Class<?> entityClass, Map<Long, SearchIndexOutbox> entries) {
+        List<Long> idsToIndex = entries
+            .values()
+            .stream()
+            .filter(entry -> entry.getOperation() == SearchIndexOperation.INDEX)
+            .map(SearchIndexOutbox::getEntityId)
+            .collect(Collectors.toList());
+        List<BulkSearchIndexer.Action> actions = new ArrayList<>();
+        Set<Long> indexed = new HashSet<>();
+        if (!idsToIndex.isEmpty()) {
+            PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+            em
+                .createQuery("select e from " + entityClass.getSimpleName() + " e where e.id in :ids", entityClass)
+                .setParameter("ids", idsToIndex)
+                .getResultList()
+                .forEach(
+                    entity -> {
+                        Long id = (Long) persistenceUnitUtil.getIdentifier(entity);
+                        actions.add(BulkSearchIndexer.Action.index(entity, entries.get(id).getId()));
+                        indexed.add(id);
+                    }
+                );
+        }
+        // deleted rows, and rows removed after an index request was queued, must leave the index
+        entries
+            .values()
+            .stream()
+            .filter(entry -> !indexed.contains(entry.getEntityId()))
+            .forEach(entry -> actions.add(BulkSearchIndexer.Action.delete(entityClass, entry.getEntityId(), entry.getId())));
+        return actions;
+    }
+
+    /**
+     * Delete the rows relayed, and reschedule the others.
+     */
+    private void settle(List<SearchIndexOutbox> batch, BulkIndexResult result, Instant now) {
+        Map<String, BulkIndexResult.Failure> failures = new HashMap<>();
+        result.getFailures().forEach(failure -> failures.put(key(failure.getEntityClass().getSimpleName(), failure.getId()), failure));
+        List<Long> ids = new ArrayList<>();
+        batch.forEach(entry -> ids.add(entry.getId()));
+        List<SearchIndexOutbox> done = new ArrayList<>();
+        for (SearchIndexOutbox entry : searchIndexOutboxRepository.findAllById(ids)) {
+            BulkIndexResult.Failure failure = failures.get(key(entry.getEntityType(), String.valueOf(entry.getEntityId())));
+            if (failure == null) {
+                done.add(entry);
+            } else {
+                scheduleRetry(entry, now, failure.getMessage());
+            }
+        }
+        searchIndexOutboxRepository.deleteInBatch(done);
+        log.debug("Relayed {} of {} search index outbox entries in {} ms", done.size(), batch.size(), result.getTookMillis());
+    }
+
+    private static String key(String entityType, String id) {
+        return entityType + "#" + id;
+    }
+
+    private Map<Long, SearchIndexOutbox> latestEntries(List<SearchIndexOutbox> entries) {
+        // entries are ordered by id, so the last write per entity wins
+        Map<Long, SearchIndexOutbox> latest = new LinkedHashMap<>();
+        entries.forEach(entry -> latest.put(entry.getEntityId(), entry));
+        return latest;
+    }
+
+    private void scheduleRetry(SearchIndexOutbox entry, Instant now, String error) {
+        int attempts = entry.getAttempts() + 1;
+        long backoff = Math.min(properties.getInitialBackoffMs() << Math.min(attempts - 1, 20), properties.getMaxBackoffMs());
+        entry.setAttempts(attempts);
+        entry.setNextAttemptDate(now.plusMillis(backoff));
+        entry.setLastError(StringUtils.abbreviate(error, 1000));
+    }
+}
@@ -0,0 +1,63 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service recording Elasticsearch writes in the transactional outbox.
+ * <p>
+ * Callers must already be inside the transaction that changes the entity, so that the outbox row
+ * commits or rolls back together with it. The {@link SearchIndexOutboxRelay} picks the rows up afterwards.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class SearchIndexOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexOutboxService.class);
+
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    public SearchIndexOutboxService(SearchIndexOutboxRepository searchIndexOutboxRepository) {
+        this.searchIndexOutboxRepository = searchIndexOutboxRepository;
+    }
+
+    /**
+     * Queue the (re)indexing of an entity.
+     *
+     * @param entityClass the indexed entity class.
+     * @param id the id of the entity.
+     */
+    public void enqueueIndex(Class<?> entityClass, Long id) {
+        enqueue(entityClass, id, SearchIndexOperation.INDEX);
+    }
+
+    /**
+     * Queue the removal of an entity from its index.
+     *
+     * @param entityClass the indexed entity class.
+     * @param id the id of the entity.
+     */
+    public void enqueueDelete(Class<?> entityClass, Long id) {
+        enqueue(entityClass, id, SearchIndexOperation.DELETE);
+    }
+
+    private void enqueue(Class<?> entityClass, Long id, SearchIndexOperation operation) {
+        log.debug("Queue {} of {} : {}", operation, entityClass.getSimpleName(), id);
+        Instant now = Instant.now();
+        searchIndexOutboxRepository.save(
+            new SearchIndexOutbox()
+                .entityType(entityClass.getSimpleName())
+                .entityId(id)
+                .operation(operation)
+                .createdDate(now)
+                .nextAttemptDate(now)
+        );
+    }
+}
@@ -0,0 +1,306 @@
+package com.sccodefactory.employee.service;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.repository.search.BulkIndexResult;
+import com.sccodefactory.employee.repository.search.BulkSearchIndexer;
+import com.sccodefactory.employee.repository.search.VersionedIndexOperations;
+import com.sccodefactory.employee.service.dto.SearchReindexStatusDTO;
+import com.sccodefactory.employee.service.dto.SearchReindexStatusDTO.EntityStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service rebuilding the Elasticsearch indices from the database.
+ * <p>
+ * Each table is split into {@code application.search-reindex.threads} id ranges, scanned in parallel with
+ * forward-only cursors and written in bulk into a new versioned index. Once every document made it, the entity's
+ * alias is swapped to the new index, so searches keep using the previous index until then. Writes relayed while a
+ * table is being scanned are mirrored into the new index, and scanned rows never overwrite them; a mirrored write
+ * that fails fails the rebuild, the write to the current index being left as it is.
+ * <p>
+ * The mirroring is held in the memory of the {@link BulkSearchIndexer}, so the writes relayed by other instances
+ * while a rebuild runs are not mirrored. A rebuild is to run while a single instance relays the search outbox.
+ */
+@Service
+public class SearchReindexService {
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final EntityManager em;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final BulkSearchIndexer bulkSearchIndexer;
+
+    private final VersionedIndexOperations versionedIndexOperations;
+
+    private final IndexedEntityTypes indexedEntityTypes;
+
+    private final ApplicationProperties.SearchReindex properties;
+
+    private final Executor searchIndexingExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<SearchReindexStatusDTO> currentStatus = new AtomicReference<>();
+
+    public SearchReindexService(
+        EntityManager em,
+        PlatformTransactionManager transactionManager,
+        BulkSearchIndexer bulkSearchIndexer,
+        VersionedIndexOperations versionedIndexOperations,
+        IndexedEntityTypes indexedEntityTypes,
+        ApplicationProperties applicationProperties,
+        @Qualifier("searchIndexingExecutor") Executor searchIndexingExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        this.em = em;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.bulkSearchIndexer = bulkSearchIndexer;
+        this.versionedIndexOperations = versionedIndexOperations;
+        this.indexedEntityTypes = indexedEntityTypes;
+        this.properties = applicationProperties.getSearchReindex();
+        this.searchIndexingExecutor = searchIndexingExecutor;
+        this.meterRegistry = meterRegistry;
+        for (String entityType : indexedEntityTypes.getAll().keySet()) {
+            registerGauge("search.reindex.progress", entityType, EntityStatus::getProgress);
+            registerGauge("search.reindex.throughput", entityType, EntityStatus::getDocumentsPerSecond);
+        }
+    }
+
+    /**
+     * Start rebuilding indices in the background.
+     *
+     * @param entityTypes the simple names of the entities to reindex, or an empty collection for all of them.
+     * @return the status of the new job, or empty if a job is already running.
+     * @throws IllegalArgumentException if one of the entity types is not indexed.
+     */
+    public Optional<SearchReindexStatusDTO> start(Collection<String> entityTypes) {
+        Optional<SearchReindexStatusDTO> status = claim(entityTypes);
+        status.ifPresent(newStatus -> searchIndexingExecutor.execute(() -> run(newStatus)));
+        return status;
+    }
+
+    /**
+     * Rebuild indices, returning once done.
+     *
+     * @param entityTypes the simple names of the entities to reindex, or an empty collection for all of them.
+     * @return the final status of the job, or empty if a job is already running.
+     * @throws IllegalArgumentException if one of the entity types is not indexed.
+     */
+    public Optional<SearchReindexStatusDTO> reindex(Collection<String> entityTypes) {
+        Optional<SearchReindexStatusDTO> status = claim(entityTypes);
+        status.ifPresent(this::run);
+        return status;
+    }
+
+    /**
+     * @return the status of the running job, or of the last one.
+     */
+    public Optional<SearchReindexStatusDTO> getStatus() {
+        return Optional.ofNullable(currentStatus.get());
+    }
+
+    private Optional<SearchReindexStatusDTO> claim(Collection<String> entityTypes) {
+        List<String> types = entityTypes.isEmpty() ? new ArrayList<>(indexedEntityTypes.getAll().keySet()) : new ArrayList<>(entityTypes);
+        for (String type : types) {
+            if (!indexedEntityTypes.get(type).isPresent()) {
+                throw new IllegalArgumentException("Not an indexed entity: " + type);
+            }
+        }
+        SearchReindexStatusDTO previous = currentStatus.get();
+        if (previous != null && previous.isRunning()) {
+            return Optional.empty();
+        }
+        SearchReindexStatusDTO status = new SearchReindexStatusDTO(types);
+        return currentStatus.compareAndSet(previous, status) ? Optional.of(status) : Optional.empty();
+    }
+
+    private void run(SearchReindexStatusDTO status) {
+        log.info("Reindexing {}", status.getEntities().stream().map(EntityStatus::getEntityType).collect(Collectors.toList()));
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("search-reindex-"));
+        try {
+            for (EntityStatus entityStatus : status.getEntities()) {
+                indexedEntityTypes.get(entityStatus.getEntityType()).ifPresent(entityClass -> reindex(entityClass, entityStatus, workers));
+            }
+        } finally {
+            workers.shutdownNow();
+            status.finish();
+            log.info("Reindex finished: {}", status);
+        }
+    }
+
+    private void reindex(Class<?> entityClass, EntityStatus entityStatus, ExecutorService workers) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String indexName = null;
+        try {
+            indexName = versionedIndexOperations.createVersionedIndex(entityClass);
+            bulkSearchIndexer.startShadowWrites(entityClass, indexName);
+            Object[] bounds = readOnlyTransactionTemplate.execute(status -> idBounds(entityClass));
+            entityStatus.start(indexName, (Long) bounds[2]);
+            List<Future<?>> partitions = new ArrayList<>();
+            if (bounds[0] != null) {
+                String targetIndex = indexName;
+                for (long[] range : partitions((Long) bounds[0], (Long) bounds[1])) {
+                    partitions.add(workers.submit(() -> indexRange(entityClass, targetIndex, range[0], range[1], entityStatus)));
+                }
+            }
+            for (Future<?> partition : partitions) {
+                partition.get();
+            }
+            // a row deleted while its range was scanned may have been written back from a stale read
+            replayDeletes(entityClass, indexName, entityStatus);
+            entityStatus.addFailed(bulkSearchIndexer.getShadowFailureCount(entityClass));
+            if (entityStatus.getFailedDocuments() > 0) {
+                throw new IllegalStateException(entityStatus.getFailedDocuments() + " documents could not be indexed");
+            }
+            versionedIndexOperations.completeLoading(entityClass, indexName);
+            entityStatus.setIndexSizeInBytes(versionedIndexOperations.getStoreSizeInBytes(indexName));
+            versionedIndexOperations.swapAlias(entityClass, indexName);
+            entityStatus.complete();
+            log.info(
+                "Reindexed {} {} documents into {} at {} documents/s, {} bytes",
+                entityStatus.getIndexedDocuments(),
+                entityStatus.getEntityType(),
+                indexName,
+                Math.round(entityStatus.getDocumentsPerSecond()),
+                entityStatus.getIndexSizeInBytes()
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(entityStatus, indexName, e);
+        } catch (ExecutionException e) {
+            fail(entityStatus, indexName, e.getCause());
+        } catch (RuntimeException e) {
+            fail(entityStatus, indexName, e);
+        } finally {
+            bulkSearchIndexer.stopShadowWrites(entityClass);
+            String state = entityStatus.getState().name();
+            sample.stop(meterRegistry.timer("search.reindex.duration", "entity", entityStatus.getEntityType(), "state", state));
+        }
+    }
+
+    private Object[] idBounds(Class<?> entityClass) {
+        return em
+            .createQuery("select min(e.id), max(e.id), count(e) from " + entityClass.getSimpleName() + " e", Object[].class)
+            .getSingleResult();
+    }
+
+    private List<long[]> partitions(long minId, long maxId) {
+        int count = Math.max(1, properties.getThreads());
+        long step = (maxId - minId) / count + 1;
+        List<long[]> partitions = new ArrayList<>();
+        for (int i = 0; i < count && minId + i * step <= maxId; i++) {
+            long fromId = minId + i * step;
+            partitions.add(new long[] { fromId, Math.min(maxId, fromId + step - 1) });
+        }
+        return partitions;
+    }
+
+    private void indexRange(Class<?> entityClass, String indexName, long fromId, long toId, EntityStatus entityStatus) {
+        readOnlyTransactionTemplate.executeWithoutResult(
+            status -> {
+                Session session = em.unwrap(Session.class);
+                try (
+                    ScrollableResults results = session
+                        .createQuery(
+                            "select e from " + entityClass.getSimpleName() + " e where e.id between :fromId and :toId order by e.id",
+                            entityClass
+                        )
+                        .setParameter("fromId", fromId)
+                        .setParameter("toId", toId)
+                        .setFetchSize(properties.getFetchSize())
+                        .setReadOnly(true)
+                        .setCacheMode(CacheMode.IGNORE)
+                        .scroll(ScrollMode.FORWARD_ONLY)
+                ) {
+                    List<BulkSearchIndexer.Action> batch = new ArrayList<>();
+                    while (results.next()) {
+                        batch.add(BulkSearchIndexer.Action.create(results.get(0), indexName));
+                        if (batch.size() >= properties.getBatchSize()) {
+                            send(batch, entityStatus);
+                            batch.clear();
+                            // documents are built, don't keep the scanned entities in the persistence context
+                            session.clear();
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        send(batch, entityStatus);
+                    }
+                }
+            }
+        );
+    }
+
+    private void replayDeletes(Class<?> entityClass, String indexName, EntityStatus entityStatus) {
+        List<BulkSearchIndexer.Action> deletes = bulkSearchIndexer
+            .getShadowDeletes(entityClass)
+            .stream()
+            .map(id -> BulkSearchIndexer.Action.delete(entityClass, id, indexName))
+            .collect(Collectors.toList());
+        if (!deletes.isEmpty()) {
+            entityStatus.addFailed(bulkSearchIndexer.execute(deletes).getFailures().size());
+        }
+    }
+
+    private void send(List<BulkSearchIndexer.Action> batch, EntityStatus entityStatus) {
+        BulkIndexResult result = bulkSearchIndexer.execute(batch);
+        int failed = result.getFailures().size();
+        entityStatus.addIndexed(batch.size() - failed);
+        entityStatus.addFailed(failed);
+        String entityType = entityStatus.getEntityType();
+        meterRegistry.counter("search.reindex.documents", "entity", entityType, "outcome", "indexed").increment(batch.size() - failed);
+        meterRegistry.counter("search.reindex.documents", "entity", entityType, "outcome", "failed").increment(failed);
+    }
+
+    private void fail(EntityStatus entityStatus, String indexName, Throwable cause) {
+        log.error("Reindex of {} failed", entityStatus.getEntityType(), cause);
+        entityStatus.fail(cause.toString());
+        if (indexName != null) {
+            try {
+                versionedIndexOperations.deleteIndex(indexName);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete index {}: {}", indexName, e.getMessage());
+            }
+        }
+    }
+
+    private void registerGauge(String name, String entityType, ToDoubleFunction<EntityStatus> value) {
+        Gauge
+            .builder(
+                name,
+                currentStatus,
+                status ->
+                    Optional
+                        .ofNullable(status.get())
+                        .flatMap(s -> s.getEntities().stream().filter(e -> e.getEntityType().equals(entityType)).findFirst())
+                        .map(value::applyAsDouble)
+                        .orElse(0.0)
+            )
+            .tag("entity", entityType)
+            .register(meterRegistry);
+    }
+}
@@ -3,6 +3,8 @@ package com.sccodefactory.employee.service;
 import com.sccodefactory.employee.domain.Task;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Task}.
@@ -31,6 +33,14 @@ public interface TaskService {
      */
     List<Task> findAll();
 
+    /**
+     * Get a page of the tasks.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Task> findAll(Pageable pageable);
+
     /**
      * Get the "id" task.
      *
@@ -5,7 +5,6 @@ import com.sccodefactory.employee.domain.Authority;
 import com.sccodefactory.employee.domain.User;
 import com.sccodefactory.employee.repository.AuthorityRepository;
 import com.sccodefactory.employee.repository.UserRepository;
-import com.sccodefactory.employee.repository.search.UserSearchRepository;
 import com.sccodefactory.employee.security.AuthoritiesConstants;
 import com.sccodefactory.employee.security.SecurityUtils;
 import com.sccodefactory.employee.service.dto.AdminUserDTO;
@@ -38,7 +37,7 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final UserSearchRepository userSearchRepository;
+    private final SearchIndexOutboxService searchIndexOutboxService;
 
     private final AuthorityRepository authorityRepository;
 
@@ -47,13 +46,13 @@ public class UserService {
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
-        UserSearchRepository userSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService,
         AuthorityRepository authorityRepository,
         CacheManager cacheManager
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.userSearchRepository = userSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
     }
@@ -67,7 +66,7 @@ public class UserService {
                     // activate given user for the registration key.
                     user.setActivated(true);
                     user.setActivationKey(null);
-                    userSearchRepository.save(user);
+                    searchIndexOutboxService.enqueueIndex(User.class, user.getId());
                     this.clearUserCaches(user);
                     log.debug("Activated user: {}", user);
                     return user;
@@ -146,7 +145,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+        searchIndexOutboxService.enqueueIndex(User.class, newUser.getId());
         this.clearUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
@@ -192,7 +191,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
-        userSearchRepository.save(user);
+        searchIndexOutboxService.enqueueIndex(User.class, user.getId());
         this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
@@ -230,7 +229,7 @@ public class UserService {
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .forEach(managedAuthorities::add);
-                    userSearchRepository.save(user);
+                    searchIndexOutboxService.enqueueIndex(User.class, user.getId());
                     this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
@@ -245,7 +244,7 @@ public class UserService {
             .ifPresent(
                 user -> {
                     userRepository.delete(user);
-                    userSearchRepository.delete(user);
+                    searchIndexOutboxService.enqueueDelete(User.class, user.getId());
                     this.clearUserCaches(user);
                     log.debug("Deleted User: {}", user);
                 }
@@ -274,7 +273,7 @@ public class UserService {
                     }
                     user.setLangKey(langKey);
                     user.setImageUrl(imageUrl);
-                    userSearchRepository.save(user);
+                    searchIndexOutboxService.enqueueIndex(User.class, user.getId());
                     this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                 }
@@ -333,7 +332,7 @@ public class UserService {
                 user -> {
                     log.debug("Deleting not activated user {}", user.getLogin());
                     userRepository.delete(user);
-                    userSearchRepository.delete(user);
+                    searchIndexOutboxService.enqueueDelete(User.class, user.getId());
                     this.clearUserCaches(user);
                 }
             );
@@ -3,6 +3,8 @@ package com.sccodefactory.employee.service;
 import com.sccodefactory.employee.domain.Vacation;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link Vacation}.
@@ -31,6 +33,14 @@ public interface VacationService {
      */
     List<Vacation> findAll();
 
+    /**
+     * Get a page of the vacations.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Vacation> findAll(Pageable pageable);
+
     /**
      * Get the "id" vacation.
      *
@@ -0,0 +1,188 @@
+package com.sccodefactory.employee.service.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.sccodefactory.employee.domain.Employee} entity, read without loading the entity
+ * or its relationships.
+ */
+@ApiModel(description = "The Employee entity.")
+public class EmployeeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    /**
+     * The firstname attribute.
+     */
+    @ApiModelProperty(value = "The firstname attribute.")
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phoneNumber;
+
+    private Instant hireDate;
+
+    private Long salary;
+
+    private Long commissionPct;
+
+    private ReferenceDTO manager;
+
+    private ReferenceDTO department;
+
+    public EmployeeDTO() {}
+
+    /**
+     * The constructor of the JPQL projection, with the ids of the related entities.
+     */
+    public EmployeeDTO(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        Instant hireDate,
+        Long salary,
+        Long commissionPct,
+        Long managerId,
+        Long departmentId
+    ) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.hireDate = hireDate;
+        this.salary = salary;
+        this.commissionPct = commissionPct;
+        this.manager = ReferenceDTO.of(managerId);
+        this.department = ReferenceDTO.of(departmentId);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public Instant getHireDate() {
+        return hireDate;
+    }
+
+    public void setHireDate(Instant hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public Long getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Long salary) {
+        this.salary = salary;
+    }
+
+    public Long getCommissionPct() {
+        return commissionPct;
+    }
+
+    public void setCommissionPct(Long commissionPct) {
+        this.commissionPct = commissionPct;
+    }
+
+    public ReferenceDTO getManager() {
+        return manager;
+    }
+
+    public void setManager(ReferenceDTO manager) {
+        this.manager = manager;
+    }
+
+    public ReferenceDTO getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(ReferenceDTO department) {
+        this.department = department;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeDTO)) {
+            return false;
+        }
+
+        EmployeeDTO employeeDTO = (EmployeeDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, employeeDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeDTO{" +
+            "id=" + getId() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", phoneNumber='" + getPhoneNumber() + "'" +
+            ", hireDate='" + getHireDate() + "'" +
+            ", salary=" + getSalary() +
+            ", commissionPct=" + getCommissionPct() +
+            ", manager=" + getManager() +
+            ", department=" + getDepartment() +
+            "}";
+    }
+}
@@ -0,0 +1,139 @@
+package com.sccodefactory.employee.service.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk import.
+ */
+public class ImportResultDTO {
+
+    private final int maxErrors;
+
+    private final Instant startedDate = Instant.now();
+
+    private Instant finishedDate;
+
+    private long rows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * @param maxErrors the maximum number of row errors to report; the failed rows are always all counted.
+     */
+    public ImportResultDTO(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    /**
+     * @return the errors of the rejected rows, up to the maximum given at creation.
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return whether some failed rows are missing from {@link #getErrors()}.
+     */
+    public boolean isErrorsTruncated() {
+        return failedRows > errors.size();
+    }
+
+    public double getRowsPerSecond() {
+        Instant end = finishedDate != null ? finishedDate : Instant.now();
+        long millis = Math.max(1, Duration.between(startedDate, end).toMillis());
+        return importedRows * 1000.0 / millis;
+    }
+
+    public void addRow() {
+        rows++;
+    }
+
+    public void addImported(long rows) {
+        importedRows += rows;
+    }
+
+    public void addError(long row, String message) {
+        failedRows++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public void finish() {
+        finishedDate = Instant.now();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+            "rows=" + rows +
+            ", importedRows=" + importedRows +
+            ", failedRows=" + failedRows +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            "}";
+    }
+
+    /**
+     * The reason a row was rejected.
+     */
+    public static class RowError {
+
+        private final long row;
+
+        private final String message;
+
+        RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        /**
+         * @return the number of the row in the file, starting at 1 with the first data row.
+         */
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "RowError{" +
+                "row=" + row +
+                ", message='" + message + "'" +
+                "}";
+        }
+    }
+}
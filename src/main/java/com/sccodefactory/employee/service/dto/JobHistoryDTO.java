@@ -0,0 +1,143 @@
+package com.sccodefactory.employee.service.dto;
+
+import com.sccodefactory.employee.domain.enumeration.Language;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.sccodefactory.employee.domain.JobHistory} entity, read without loading the entity
+ * or its relationships.
+ */
+public class JobHistoryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant startDate;
+
+    private Instant endDate;
+
+    private Language language;
+
+    private ReferenceDTO job;
+
+    private ReferenceDTO department;
+
+    private ReferenceDTO employee;
+
+    public JobHistoryDTO() {}
+
+    /**
+     * The constructor of the JPQL projection, with the ids of the related entities.
+     */
+    public JobHistoryDTO(
+        Long id,
+        Instant startDate,
+        Instant endDate,
+        Language language,
+        Long jobId,
+        Long departmentId,
+        Long employeeId
+    ) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.language = language;
+        this.job = ReferenceDTO.of(jobId);
+        this.department = ReferenceDTO.of(departmentId);
+        this.employee = ReferenceDTO.of(employeeId);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(Language language) {
+        this.language = language;
+    }
+
+    public ReferenceDTO getJob() {
+        return job;
+    }
+
+    public void setJob(ReferenceDTO job) {
+        this.job = job;
+    }
+
+    public ReferenceDTO getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(ReferenceDTO department) {
+        this.department = department;
+    }
+
+    public ReferenceDTO getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(ReferenceDTO employee) {
+        this.employee = employee;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobHistoryDTO)) {
+            return false;
+        }
+
+        JobHistoryDTO jobHistoryDTO = (JobHistoryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, jobHistoryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobHistoryDTO{" +
+            "id=" + getId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", language='" + getLanguage() + "'" +
+            ", job=" + getJob() +
+            ", department=" + getDepartment() +
+            ", employee=" + getEmployee() +
+            "}";
+    }
+}
@@ -0,0 +1,104 @@
+package com.sccodefactory.employee.service.dto;
+
+import com.sccodefactory.employee.service.OrgTree;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A DTO representing the position of an employee in the in-memory {@link OrgTree}, by ids only.
+ */
+public class OrgTreeNodeDTO {
+
+    private final Long id;
+
+    private final Long managerId;
+
+    private final int depth;
+
+    private final int spanOfControl;
+
+    private final int reportCount;
+
+    private final long[] chainOfCommandIds;
+
+    private final long[] reportIds;
+
+    private final Instant treeBuiltDate;
+
+    /**
+     * @param tree the tree, which must contain the employee.
+     * @param id the id of the employee.
+     * @param reportDepth the number of levels of reports listed in {@link #getReportIds()}.
+     */
+    public OrgTreeNodeDTO(OrgTree tree, long id, int reportDepth) {
+        this.id = id;
+        long manager = tree.getManagerId(id);
+        this.managerId = manager != OrgTree.NO_MANAGER ? manager : null;
+        this.depth = tree.getDepth(id);
+        this.spanOfControl = tree.getSpanOfControl(id);
+        this.reportCount = tree.getReportCount(id);
+        this.chainOfCommandIds = tree.getChainOfCommand(id);
+        this.reportIds = reportDepth == 1 ? tree.getDirectReports(id) : tree.getReports(id, reportDepth);
+        this.treeBuiltDate = tree.getBuiltDate();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    /**
+     * @return the number of managers above the employee.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of direct reports.
+     */
+    public int getSpanOfControl() {
+        return spanOfControl;
+    }
+
+    /**
+     * @return the number of direct and indirect reports.
+     */
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    /**
+     * @return the ids of the managers, from the direct manager up.
+     */
+    public long[] getChainOfCommandIds() {
+        return chainOfCommandIds;
+    }
+
+    /**
+     * @return the ids of the reports, depth first.
+     */
+    public long[] getReportIds() {
+        return reportIds;
+    }
+
+    public Instant getTreeBuiltDate() {
+        return treeBuiltDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrgTreeNodeDTO{" +
+            "id=" + getId() +
+            ", managerId=" + getManagerId() +
+            ", depth=" + getDepth() +
+            ", spanOfControl=" + getSpanOfControl() +
+            ", reportCount=" + getReportCount() +
+            ", reportIds=" + Arrays.toString(getReportIds()) +
+            "}";
+    }
+}
@@ -0,0 +1,54 @@
+package com.sccodefactory.employee.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO representing a related entity by its id only, serialized as {@code {"id": ...}} like the entity, so that
+ * clients reading the id of a relationship need not change.
+ */
+public class ReferenceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public ReferenceDTO(Long id) {
+        this.id = Objects.requireNonNull(id);
+    }
+
+    /**
+     * @return a reference to the id, or {@code null} if the id is {@code null}.
+     */
+    public static ReferenceDTO of(Long id) {
+        return id != null ? new ReferenceDTO(id) : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReferenceDTO)) {
+            return false;
+        }
+        return id.equals(((ReferenceDTO) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReferenceDTO{" +
+            "id=" + getId() +
+            "}";
+    }
+}
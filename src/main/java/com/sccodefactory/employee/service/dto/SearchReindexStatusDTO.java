@@ -0,0 +1,207 @@
+package com.sccodefactory.employee.service.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A DTO representing the live progress of a search reindex job.
+ */
+public class SearchReindexStatusDTO {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private final Instant startedDate = Instant.now();
+
+    private volatile Instant finishedDate;
+
+    private volatile State state = State.RUNNING;
+
+    private final List<EntityStatus> entities = new ArrayList<>();
+
+    public SearchReindexStatusDTO(List<String> entityTypes) {
+        entityTypes.forEach(entityType -> entities.add(new EntityStatus(entityType)));
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public List<EntityStatus> getEntities() {
+        return Collections.unmodifiableList(entities);
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public void finish() {
+        state = entities.stream().allMatch(entity -> entity.getState() == State.COMPLETED) ? State.COMPLETED : State.FAILED;
+        finishedDate = Instant.now();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexStatusDTO{" +
+            "startedDate=" + startedDate +
+            ", finishedDate=" + finishedDate +
+            ", state=" + state +
+            ", entities=" + entities +
+            "}";
+    }
+
+    /**
+     * Progress of the rebuild of one index.
+     */
+    public static class EntityStatus {
+
+        private final String entityType;
+
+        private volatile String indexName;
+
+        private volatile State state = State.PENDING;
+
+        private volatile String error;
+
+        private volatile Instant startedDate;
+
+        private volatile Instant finishedDate;
+
+        private volatile long totalDocuments;
+
+        private final AtomicLong indexedDocuments = new AtomicLong();
+
+        private final AtomicLong failedDocuments = new AtomicLong();
+
+        private volatile Long indexSizeInBytes;
+
+        EntityStatus(String entityType) {
+            this.entityType = entityType;
+        }
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public Instant getStartedDate() {
+            return startedDate;
+        }
+
+        public Instant getFinishedDate() {
+            return finishedDate;
+        }
+
+        public long getTotalDocuments() {
+            return totalDocuments;
+        }
+
+        public long getIndexedDocuments() {
+            return indexedDocuments.get();
+        }
+
+        public long getFailedDocuments() {
+            return failedDocuments.get();
+        }
+
+        /**
+         * @return the share of documents processed so far, between 0 and 1.
+         */
+        public double getProgress() {
+            if (state == State.COMPLETED) {
+                return 1;
+            }
+            long total = totalDocuments;
+            return total == 0 ? 0 : Math.min(1, (double) (getIndexedDocuments() + getFailedDocuments()) / total);
+        }
+
+        public double getDocumentsPerSecond() {
+            Instant start = startedDate;
+            if (start == null) {
+                return 0;
+            }
+            Instant end = finishedDate != null ? finishedDate : Instant.now();
+            long millis = Math.max(1, Duration.between(start, end).toMillis());
+            return getIndexedDocuments() * 1000.0 / millis;
+        }
+
+        /**
+         * @return the size of the primary shards of the new index once loaded, {@code null} before.
+         */
+        public Long getIndexSizeInBytes() {
+            return indexSizeInBytes;
+        }
+
+        public void setIndexSizeInBytes(Long indexSizeInBytes) {
+            this.indexSizeInBytes = indexSizeInBytes;
+        }
+
+        public void start(String indexName, long totalDocuments) {
+            this.indexName = indexName;
+            this.totalDocuments = totalDocuments;
+            this.startedDate = Instant.now();
+            this.state = State.RUNNING;
+        }
+
+        public void addIndexed(long documents) {
+            indexedDocuments.addAndGet(documents);
+        }
+
+        public void addFailed(long documents) {
+            failedDocuments.addAndGet(documents);
+        }
+
+        public void complete() {
+            finishedDate = Instant.now();
+            state = State.COMPLETED;
+        }
+
+        public void fail(String error) {
+            this.error = error;
+            finishedDate = Instant.now();
+            state = State.FAILED;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "EntityStatus{" +
+                "entityType='" + entityType + "'" +
+                ", indexName='" + indexName + "'" +
+                ", state=" + state +
+                ", totalDocuments=" + totalDocuments +
+                ", indexedDocuments=" + getIndexedDocuments() +
+                ", failedDocuments=" + getFailedDocuments() +
+                ", indexSizeInBytes=" + indexSizeInBytes +
+                "}";
+        }
+    }
+}
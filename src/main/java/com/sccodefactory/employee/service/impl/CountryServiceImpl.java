@@ -6,12 +6,15 @@ import com.sccodefactory.employee.domain.Country;
 import com.sccodefactory.employee.repository.CountryRepository;
 import com.sccodefactory.employee.repository.search.CountrySearchRepository;
 import com.sccodefactory.employee.service.CountryService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,23 @@ public class CountryServiceImpl implements CountryService {
 
     private final CountrySearchRepository countrySearchRepository;
 
-    public CountryServiceImpl(CountryRepository countryRepository, CountrySearchRepository countrySearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public CountryServiceImpl(
+        CountryRepository countryRepository,
+        CountrySearchRepository countrySearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.countryRepository = countryRepository;
         this.countrySearchRepository = countrySearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Country save(Country country) {
         log.debug("Request to save Country : {}", country);
         Country result = countryRepository.save(country);
-        countrySearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Country.class, result.getId());
         return result;
     }
 
@@ -56,7 +66,7 @@ public class CountryServiceImpl implements CountryService {
             })
             .map(countryRepository::save)
             .map(savedCountry -> {
-                countrySearchRepository.save(savedCountry);
+                searchIndexOutboxService.enqueueIndex(Country.class, savedCountry.getId());
 
                 return savedCountry;
             });
@@ -69,6 +79,13 @@ public class CountryServiceImpl implements CountryService {
         return countryRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Country> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Countries");
+        return countryRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Country> findOne(Long id) {
@@ -80,7 +97,7 @@ public class CountryServiceImpl implements CountryService {
     public void delete(Long id) {
         log.debug("Request to delete Country : {}", id);
         countryRepository.deleteById(id);
-        countrySearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Country.class, id);
     }
 
     @Override
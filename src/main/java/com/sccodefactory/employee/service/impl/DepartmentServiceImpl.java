@@ -5,13 +5,17 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.sccodefactory.employee.domain.Department;
 import com.sccodefactory.employee.repository.DepartmentRepository;
 import com.sccodefactory.employee.repository.search.DepartmentSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
 import com.sccodefactory.employee.service.DepartmentService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +32,23 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentSearchRepository departmentSearchRepository;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, DepartmentSearchRepository departmentSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public DepartmentServiceImpl(
+        DepartmentRepository departmentRepository,
+        DepartmentSearchRepository departmentSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.departmentRepository = departmentRepository;
         this.departmentSearchRepository = departmentSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Department save(Department department) {
         log.debug("Request to save Department : {}", department);
         Department result = departmentRepository.save(department);
-        departmentSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Department.class, result.getId());
         return result;
     }
 
@@ -56,7 +67,7 @@ public class DepartmentServiceImpl implements DepartmentService {
             })
             .map(departmentRepository::save)
             .map(savedDepartment -> {
-                departmentSearchRepository.save(savedDepartment);
+                searchIndexOutboxService.enqueueIndex(Department.class, savedDepartment.getId());
 
                 return savedDepartment;
             });
@@ -69,6 +80,13 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Department> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Departments");
+        return departmentRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Department> findOne(Long id) {
@@ -80,7 +98,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     public void delete(Long id) {
         log.debug("Request to delete Department : {}", id);
         departmentRepository.deleteById(id);
-        departmentSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Department.class, id);
     }
 
     @Override
@@ -89,4 +107,11 @@ public class DepartmentServiceImpl implements DepartmentService {
         log.debug("Request to search Departments for query {}", query);
         return StreamSupport.stream(departmentSearchRepository.search(query).spliterator(), false).collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Suggestion> suggest(String prefix, int size) {
+        log.debug("Request to suggest Departments for prefix {}", prefix);
+        return departmentSearchRepository.suggest(prefix, size);
+    }
 }
@@ -3,9 +3,13 @@ package com.sccodefactory.employee.service.impl;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.repository.CursorPage;
 import com.sccodefactory.employee.repository.JobHistoryRepository;
 import com.sccodefactory.employee.repository.search.JobHistorySearchRepository;
 import com.sccodefactory.employee.service.JobHistoryService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
+import com.sccodefactory.employee.service.dto.JobHistoryDTO;
+import com.sccodefactory.employee.service.mapper.JobHistoryMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,16 +31,27 @@ public class JobHistoryServiceImpl implements JobHistoryService {
 
     private final JobHistorySearchRepository jobHistorySearchRepository;
 
-    public JobHistoryServiceImpl(JobHistoryRepository jobHistoryRepository, JobHistorySearchRepository jobHistorySearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    private final JobHistoryMapper jobHistoryMapper;
+
+    public JobHistoryServiceImpl(
+        JobHistoryRepository jobHistoryRepository,
+        JobHistorySearchRepository jobHistorySearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService,
+        JobHistoryMapper jobHistoryMapper
+    ) {
         this.jobHistoryRepository = jobHistoryRepository;
         this.jobHistorySearchRepository = jobHistorySearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
+        this.jobHistoryMapper = jobHistoryMapper;
     }
 
     @Override
     public JobHistory save(JobHistory jobHistory) {
         log.debug("Request to save JobHistory : {}", jobHistory);
         JobHistory result = jobHistoryRepository.save(jobHistory);
-        jobHistorySearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(JobHistory.class, result.getId());
         return result;
     }
 
@@ -61,7 +76,7 @@ public class JobHistoryServiceImpl implements JobHistoryService {
             })
             .map(jobHistoryRepository::save)
             .map(savedJobHistory -> {
-                jobHistorySearchRepository.save(savedJobHistory);
+                searchIndexOutboxService.enqueueIndex(JobHistory.class, savedJobHistory.getId());
 
                 return savedJobHistory;
             });
@@ -69,29 +84,45 @@ public class JobHistoryServiceImpl implements JobHistoryService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<JobHistory> findAll(Pageable pageable) {
+    public Page<JobHistoryDTO> findAll(Pageable pageable) {
         log.debug("Request to get all JobHistories");
-        return jobHistoryRepository.findAll(pageable);
+        return jobHistoryRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobHistoryDTO> findAll(String cursor, Pageable pageable) {
+        log.debug("Request to get all JobHistories after {}", cursor);
+        return jobHistoryRepository.findAllDtosAfter(pageable.getSort(), cursor, pageable.getPageSize());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<JobHistory> findOne(Long id) {
+    public Optional<JobHistoryDTO> findOne(Long id) {
         log.debug("Request to get JobHistory : {}", id);
-        return jobHistoryRepository.findById(id);
+        return jobHistoryRepository.findDtoById(id);
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete JobHistory : {}", id);
         jobHistoryRepository.deleteById(id);
-        jobHistorySearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(JobHistory.class, id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<JobHistory> search(String query, Pageable pageable) {
+    public Page<JobHistoryDTO> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of JobHistories for query {}", query);
-        return jobHistorySearchRepository.search(query, pageable);
+        return jobHistorySearchRepository.search(query, pageable).map(jobHistoryMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobHistoryDTO> searchAfter(String query, String cursor, Pageable pageable) {
+        log.debug("Request to search for a page of JobHistories for query {} after {}", query, cursor);
+        return jobHistorySearchRepository
+            .searchAfter(query, pageable.getSort(), cursor, pageable.getPageSize())
+            .map(jobHistoryMapper::toDto);
     }
 }
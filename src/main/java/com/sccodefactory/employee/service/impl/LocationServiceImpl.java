@@ -6,12 +6,15 @@ import com.sccodefactory.employee.domain.Location;
 import com.sccodefactory.employee.repository.LocationRepository;
 import com.sccodefactory.employee.repository.search.LocationSearchRepository;
 import com.sccodefactory.employee.service.LocationService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,23 @@ public class LocationServiceImpl implements LocationService {
 
     private final LocationSearchRepository locationSearchRepository;
 
-    public LocationServiceImpl(LocationRepository locationRepository, LocationSearchRepository locationSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public LocationServiceImpl(
+        LocationRepository locationRepository,
+        LocationSearchRepository locationSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.locationRepository = locationRepository;
         this.locationSearchRepository = locationSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Location save(Location location) {
         log.debug("Request to save Location : {}", location);
         Location result = locationRepository.save(location);
-        locationSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Location.class, result.getId());
         return result;
     }
 
@@ -65,7 +75,7 @@ public class LocationServiceImpl implements LocationService {
             })
             .map(locationRepository::save)
             .map(savedLocation -> {
-                locationSearchRepository.save(savedLocation);
+                searchIndexOutboxService.enqueueIndex(Location.class, savedLocation.getId());
 
                 return savedLocation;
             });
@@ -78,6 +88,13 @@ public class LocationServiceImpl implements LocationService {
         return locationRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Location> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Locations");
+        return locationRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Location> findOne(Long id) {
@@ -89,7 +106,7 @@ public class LocationServiceImpl implements LocationService {
     public void delete(Long id) {
         log.debug("Request to delete Location : {}", id);
         locationRepository.deleteById(id);
-        locationSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Location.class, id);
     }
 
     @Override
@@ -6,12 +6,15 @@ import com.sccodefactory.employee.domain.Region;
 import com.sccodefactory.employee.repository.RegionRepository;
 import com.sccodefactory.employee.repository.search.RegionSearchRepository;
 import com.sccodefactory.employee.service.RegionService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,23 @@ public class RegionServiceImpl implements RegionService {
 
     private final RegionSearchRepository regionSearchRepository;
 
-    public RegionServiceImpl(RegionRepository regionRepository, RegionSearchRepository regionSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public RegionServiceImpl(
+        RegionRepository regionRepository,
+        RegionSearchRepository regionSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.regionRepository = regionRepository;
         this.regionSearchRepository = regionSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Region save(Region region) {
         log.debug("Request to save Region : {}", region);
         Region result = regionRepository.save(region);
-        regionSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Region.class, result.getId());
         return result;
     }
 
@@ -56,7 +66,7 @@ public class RegionServiceImpl implements RegionService {
             })
             .map(regionRepository::save)
             .map(savedRegion -> {
-                regionSearchRepository.save(savedRegion);
+                searchIndexOutboxService.enqueueIndex(Region.class, savedRegion.getId());
 
                 return savedRegion;
             });
@@ -69,6 +79,13 @@ public class RegionServiceImpl implements RegionService {
         return regionRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Region> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Regions");
+        return regionRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Region> findOne(Long id) {
@@ -80,7 +97,7 @@ public class RegionServiceImpl implements RegionService {
     public void delete(Long id) {
         log.debug("Request to delete Region : {}", id);
         regionRepository.deleteById(id);
-        regionSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Region.class, id);
     }
 
     @Override
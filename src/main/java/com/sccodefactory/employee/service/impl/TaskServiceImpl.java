@@ -5,6 +5,7 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.sccodefactory.employee.domain.Task;
 import com.sccodefactory.employee.repository.TaskRepository;
 import com.sccodefactory.employee.repository.search.TaskSearchRepository;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import com.sccodefactory.employee.service.TaskService;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +13,8 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,23 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskSearchRepository taskSearchRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskSearchRepository taskSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public TaskServiceImpl(
+        TaskRepository taskRepository,
+        TaskSearchRepository taskSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.taskRepository = taskRepository;
         this.taskSearchRepository = taskSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Task save(Task task) {
         log.debug("Request to save Task : {}", task);
         Task result = taskRepository.save(task);
-        taskSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Task.class, result.getId());
         return result;
     }
 
@@ -59,7 +69,7 @@ public class TaskServiceImpl implements TaskService {
             })
             .map(taskRepository::save)
             .map(savedTask -> {
-                taskSearchRepository.save(savedTask);
+                searchIndexOutboxService.enqueueIndex(Task.class, savedTask.getId());
 
                 return savedTask;
             });
@@ -72,6 +82,13 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Task> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Tasks");
+        return taskRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Task> findOne(Long id) {
@@ -83,7 +100,7 @@ public class TaskServiceImpl implements TaskService {
     public void delete(Long id) {
         log.debug("Request to delete Task : {}", id);
         taskRepository.deleteById(id);
-        taskSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Task.class, id);
     }
 
     @Override
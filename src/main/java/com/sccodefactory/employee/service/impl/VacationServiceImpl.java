@@ -5,6 +5,7 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.sccodefactory.employee.domain.Vacation;
 import com.sccodefactory.employee.repository.VacationRepository;
 import com.sccodefactory.employee.repository.search.VacationSearchRepository;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import com.sccodefactory.employee.service.VacationService;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +13,8 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,23 @@ public class VacationServiceImpl implements VacationService {
 
     private final VacationSearchRepository vacationSearchRepository;
 
-    public VacationServiceImpl(VacationRepository vacationRepository, VacationSearchRepository vacationSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public VacationServiceImpl(
+        VacationRepository vacationRepository,
+        VacationSearchRepository vacationSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.vacationRepository = vacationRepository;
         this.vacationSearchRepository = vacationSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     @Override
     public Vacation save(Vacation vacation) {
         log.debug("Request to save Vacation : {}", vacation);
         Vacation result = vacationRepository.save(vacation);
-        vacationSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Vacation.class, result.getId());
         return result;
     }
 
@@ -59,7 +69,7 @@ public class VacationServiceImpl implements VacationService {
             })
             .map(vacationRepository::save)
             .map(savedVacation -> {
-                vacationSearchRepository.save(savedVacation);
+                searchIndexOutboxService.enqueueIndex(Vacation.class, savedVacation.getId());
 
                 return savedVacation;
             });
@@ -72,6 +82,13 @@ public class VacationServiceImpl implements VacationService {
         return vacationRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Vacation> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Vacations");
+        return vacationRepository.findAll(pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Vacation> findOne(Long id) {
@@ -83,7 +100,7 @@ public class VacationServiceImpl implements VacationService {
     public void delete(Long id) {
         log.debug("Request to delete Vacation : {}", id);
         vacationRepository.deleteById(id);
-        vacationSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Vacation.class, id);
     }
 
     @Override
@@ -0,0 +1,18 @@
+package com.sccodefactory.employee.service.mapper;
+
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.service.dto.EmployeeDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for the entity {@link Employee} and its DTO {@link EmployeeDTO}, for the employees not read from the
+ * database, like search hits.
+ */
+@Mapper(componentModel = "spring")
+public interface EmployeeMapper extends EntityMapper<EmployeeDTO, Employee> {
+    @Override
+    @Mapping(target = "manager", source = "manager.id")
+    @Mapping(target = "department", source = "department.id")
+    EmployeeDTO toDto(Employee employee);
+}
@@ -0,0 +1,20 @@
+package com.sccodefactory.employee.service.mapper;
+
+import com.sccodefactory.employee.service.dto.ReferenceDTO;
+import java.util.List;
+
+/**
+ * Contract for a generic entity to read-only dto mapper.
+ *
+ * @param <D> - DTO type parameter.
+ * @param <E> - Entity type parameter.
+ */
+public interface EntityMapper<D, E> {
+    D toDto(E entity);
+
+    List<D> toDto(List<E> entityList);
+
+    default ReferenceDTO toReference(Long id) {
+        return ReferenceDTO.of(id);
+    }
+}
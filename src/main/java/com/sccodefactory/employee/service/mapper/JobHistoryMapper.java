@@ -0,0 +1,19 @@
+package com.sccodefactory.employee.service.mapper;
+
+import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.service.dto.JobHistoryDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for the entity {@link JobHistory} and its DTO {@link JobHistoryDTO}, for the job histories not read from the
+ * database, like search hits.
+ */
+@Mapper(componentModel = "spring")
+public interface JobHistoryMapper extends EntityMapper<JobHistoryDTO, JobHistory> {
+    @Override
+    @Mapping(target = "job", source = "job.id")
+    @Mapping(target = "department", source = "department.id")
+    @Mapping(target = "employee", source = "employee.id")
+    JobHistoryDTO toDto(JobHistory jobHistory);
+}
@@ -0,0 +1,126 @@
+package com.sccodefactory.employee.web.filter;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Statistics of the SQL statements run through Hibernate by the current thread between {@link #start()} and
+ * {@link #stop()}: the number of statements executed, a JDBC batch counting as one, the time spent executing them,
+ * and the number of entities loaded.
+ * <p>
+ * The statements are recorded by the {@link SessionListener} of every session, registered through
+ * {@code hibernate.session.events.auto}, and the entities by the {@link EntityLoadListener}, appended by an integrator
+ * of {@code SqlMetricsConfiguration}. The threads that did not start a recording only pay for a thread local lookup per
+ * statement.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private int entities;
+
+    private long jdbcNanos;
+
+    private SqlStatistics() {}
+
+    /**
+     * Start recording the statements of the current thread.
+     *
+     * @return the statistics, updated until {@link #stop()}.
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop recording the statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntities() {
+        return entities;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "statements=" + statements +
+            ", entities=" + entities +
+            ", jdbc-ms=" + jdbcNanos / 1_000_000;
+    }
+
+    /**
+     * Records the statements executed by a session. Hibernate creates one per session, which is confined to a thread.
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private long executionStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStart();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executionEnd();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executionStart();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executionEnd();
+        }
+
+        private void executionStart() {
+            if (CURRENT.get() != null) {
+                executionStart = System.nanoTime();
+            }
+        }
+
+        private void executionEnd() {
+            SqlStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statements++;
+                statistics.jdbcNanos += System.nanoTime() - executionStart;
+            }
+        }
+    }
+
+    /**
+     * Counts the entities loaded, from the result sets or from the second-level cache.
+     */
+    public static class EntityLoadListener implements PostLoadEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            SqlStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.entities++;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sccodefactory.employee.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the {@link SqlStatistics} of each request handled by a controller, tagged with its {@code method} and its
+ * route as {@code uri}: the {@code sql.request.statements} and {@code sql.request.entities} summaries and the
+ * {@code sql.request.jdbc} timer. A route whose maximum of statements grows with the size of its result is loading
+ * its entities one by one.
+ * <p>
+ * Only the statements run on the request thread are recorded, not the ones of the streamed exports or of the logins,
+ * which run on their own executors. When enabled, the statistics are also sent back in the
+ * {@value #STATISTICS_HEADER} header, as they stand when the response starts being written.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATISTICS_HEADER = "X-Sql-Statistics";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean responseHeader;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, boolean responseHeader) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        HttpServletResponse filteredResponse = responseHeader ? new StatisticsHeaderResponse(response, statistics) : response;
+        try {
+            filterChain.doFilter(request, filteredResponse);
+        } finally {
+            SqlStatistics.stop();
+        }
+        if (responseHeader && !response.isCommitted()) {
+            response.setHeader(STATISTICS_HEADER, statistics.toString());
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            record(Tags.of("method", request.getMethod(), "uri", route.toString()), statistics);
+        }
+    }
+
+    private void record(Tags tags, SqlStatistics statistics) {
+        DistributionSummary
+            .builder("sql.request.statements")
+            .description("The number of SQL statements executed by a request, a JDBC batch counting as one")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+        DistributionSummary
+            .builder("sql.request.entities")
+            .description("The number of entities loaded by a request, from the database or the second-level cache")
+            .baseUnit("entities")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getEntities());
+        Timer
+            .builder("sql.request.jdbc")
+            .description("The time a request spent executing SQL statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the statistics header right before the body is written, when the headers can still be set.
+     */
+    private static final class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private StatisticsHeaderResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setStatisticsHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setStatisticsHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setStatisticsHeader();
+            super.flushBuffer();
+        }
+
+        private void setStatisticsHeader() {
+            if (!isCommitted()) {
+                setHeader(STATISTICS_HEADER, statistics.toString());
+            }
+        }
+    }
+}
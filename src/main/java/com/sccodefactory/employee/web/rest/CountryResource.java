@@ -6,6 +6,7 @@ import com.sccodefactory.employee.domain.Country;
 import com.sccodefactory.employee.repository.CountryRepository;
 import com.sccodefactory.employee.service.CountryService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.OptionalPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -15,9 +16,15 @@ import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -132,14 +139,23 @@ public class CountryResource {
     }
 
     /**
-     * {@code GET  /countries} : get all the countries.
+     * {@code GET  /countries} : get all the countries, or a page of them if the request has a {@code page} or {@code size}
+     * parameter.
      *
+     * @param pageable the pagination information.
+     * @param request the current request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of countries in body.
      */
     @GetMapping("/countries")
-    public List<Country> getAllCountries() {
-        log.debug("REST request to get all Countries");
-        return countryService.findAll();
+    public ResponseEntity<List<Country>> getAllCountries(Pageable pageable, WebRequest request) {
+        if (!OptionalPaginationUtil.isPageRequested(request)) {
+            log.debug("REST request to get all Countries");
+            return ResponseEntity.ok(countryService.findAll());
+        }
+        log.debug("REST request to get a page of Countries");
+        Page<Country> page = countryService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
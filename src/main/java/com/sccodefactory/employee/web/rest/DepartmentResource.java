@@ -4,8 +4,10 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import com.sccodefactory.employee.domain.Department;
 import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
 import com.sccodefactory.employee.service.DepartmentService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.OptionalPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -17,9 +19,15 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -136,14 +144,23 @@ public class DepartmentResource {
     }
 
     /**
-     * {@code GET  /departments} : get all the departments.
+     * {@code GET  /departments} : get all the departments, or a page of them if the request has a {@code page} or {@code size}
+     * parameter.
      *
+     * @param pageable the pagination information.
+     * @param request the current request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of departments in body.
      */
     @GetMapping("/departments")
-    public List<Department> getAllDepartments() {
-        log.debug("REST request to get all Departments");
-        return departmentService.findAll();
+    public ResponseEntity<List<Department>> getAllDepartments(Pageable pageable, WebRequest request) {
+        if (!OptionalPaginationUtil.isPageRequested(request)) {
+            log.debug("REST request to get all Departments");
+            return ResponseEntity.ok(departmentService.findAll());
+        }
+        log.debug("REST request to get a page of Departments");
+        Page<Department> page = departmentService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -187,4 +204,18 @@ public class DepartmentResource {
         log.debug("REST request to search Departments for query {}", query);
         return departmentService.search(query);
     }
+
+    /**
+     * {@code GET  /_suggest/departments?prefix=:prefix} : suggest the departments whose name starts with the prefix,
+     * e.g. to fill a typeahead.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions, at most 50.
+     * @return the list of ids and labels of the matching departments, best first.
+     */
+    @GetMapping("/_suggest/departments")
+    public List<Suggestion> suggestDepartments(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to suggest Departments for prefix {}", prefix);
+        return departmentService.suggest(prefix, size);
+    }
 }
@@ -3,9 +3,27 @@ package com.sccodefactory.employee.web.rest;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.repository.CursorPage;
 import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.OrgChartEntry;
+import com.sccodefactory.employee.repository.search.EmployeeSearchQuery;
 import com.sccodefactory.employee.repository.search.EmployeeSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
+import com.sccodefactory.employee.service.DataFormat;
+import com.sccodefactory.employee.service.EmployeeHierarchyService;
+import com.sccodefactory.employee.service.EmployeeImportService;
+import com.sccodefactory.employee.service.ExportService;
+import com.sccodefactory.employee.service.OrgTree;
+import com.sccodefactory.employee.service.OrgTreeService;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
+import com.sccodefactory.employee.service.dto.EmployeeDTO;
+import com.sccodefactory.employee.service.dto.ImportResultDTO;
+import com.sccodefactory.employee.service.dto.OrgTreeNodeDTO;
+import com.sccodefactory.employee.service.mapper.EmployeeMapper;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.CursorPaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -20,9 +38,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -47,9 +68,36 @@ public class EmployeeResource {
 
     private final EmployeeSearchRepository employeeSearchRepository;
 
-    public EmployeeResource(EmployeeRepository employeeRepository, EmployeeSearchRepository employeeSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    private final ExportService exportService;
+
+    private final EmployeeImportService employeeImportService;
+
+    private final EmployeeHierarchyService employeeHierarchyService;
+
+    private final OrgTreeService orgTreeService;
+
+    private final EmployeeMapper employeeMapper;
+
+    public EmployeeResource(
+        EmployeeRepository employeeRepository,
+        EmployeeSearchRepository employeeSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService,
+        ExportService exportService,
+        EmployeeImportService employeeImportService,
+        EmployeeHierarchyService employeeHierarchyService,
+        OrgTreeService orgTreeService,
+        EmployeeMapper employeeMapper
+    ) {
         this.employeeRepository = employeeRepository;
         this.employeeSearchRepository = employeeSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
+        this.exportService = exportService;
+        this.employeeImportService = employeeImportService;
+        this.employeeHierarchyService = employeeHierarchyService;
+        this.orgTreeService = orgTreeService;
+        this.employeeMapper = employeeMapper;
     }
 
     /**
@@ -66,7 +114,8 @@ public class EmployeeResource {
             throw new BadRequestAlertException("A new employee cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Employee result = employeeRepository.save(employee);
-        employeeSearchRepository.save(result);
+        employeeHierarchyService.add(result);
+        searchIndexOutboxService.enqueueIndex(Employee.class, result.getId());
         return ResponseEntity
             .created(new URI("/api/employees/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -101,7 +150,12 @@ public class EmployeeResource {
         }
 
         Employee result = employeeRepository.save(employee);
-        employeeSearchRepository.save(result);
+        try {
+            employeeHierarchyService.update(result);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "managercycle");
+        }
+        searchIndexOutboxService.enqueueIndex(Employee.class, result.getId());
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
@@ -165,7 +219,7 @@ public class EmployeeResource {
             })
             .map(employeeRepository::save)
             .map(savedEmployee -> {
-                employeeSearchRepository.save(savedEmployee);
+                searchIndexOutboxService.enqueueIndex(Employee.class, savedEmployee.getId());
 
                 return savedEmployee;
             });
@@ -178,14 +232,30 @@ public class EmployeeResource {
 
     /**
      * {@code GET  /employees} : get all the employees.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, pages are fetched with keyset pagination: each page
+     * seeks past the sort key and id of the previous one, the cursor of the next page is returned in the
+     * {@code X-Next-Cursor} header and no total count is computed. The sort may have one property besides the id.
      *
+     * @param cursor the cursor of the page, for infinite scroll.
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body, or with status
+     * {@code 400 (Bad Request)} if the sort is not supported or the cursor is invalid.
      */
     @GetMapping("/employees")
-    public ResponseEntity<List<Employee>> getAllEmployees(Pageable pageable) {
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(@RequestParam(required = false) String cursor, Pageable pageable) {
         log.debug("REST request to get a page of Employees");
-        Page<Employee> page = employeeRepository.findAll(pageable);
+        if (cursor != null) {
+            CursorPage<EmployeeDTO> page;
+            try {
+                page = employeeRepository.findAllDtosAfter(pageable.getSort(), cursor, pageable.getPageSize());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcursor");
+            }
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Page<EmployeeDTO> page = employeeRepository.findAllDtos(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -197,12 +267,68 @@ public class EmployeeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employee, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/employees/{id}")
-    public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
+    public ResponseEntity<EmployeeDTO> getEmployee(@PathVariable Long id) {
         log.debug("REST request to get Employee : {}", id);
-        Optional<Employee> employee = employeeRepository.findById(id);
+        Optional<EmployeeDTO> employee = employeeRepository.findDtoById(id);
         return ResponseUtil.wrapOrNotFound(employee);
     }
 
+    /**
+     * {@code GET  /employees/:id/reports?depth=:depth} : get the direct and indirect reports of the "id" employee.
+     *
+     * @param id the id of the manager.
+     * @param depth the maximum number of levels below the manager, all of them by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the reports in body, level by level, or with
+     * status {@code 400 (Bad Request)} if the depth is not positive, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employees/{id}/reports")
+    public ResponseEntity<List<OrgChartEntry>> getEmployeeReports(@PathVariable Long id, @RequestParam(required = false) Integer depth) {
+        log.debug("REST request to get the reports of Employee {} down to depth {}", id, depth);
+        if (depth != null && depth < 1) {
+            throw new BadRequestAlertException("The depth must be positive", ENTITY_NAME, "invaliddepth");
+        }
+        return ResponseUtil.wrapOrNotFound(
+            Optional.of(id).filter(employeeRepository::existsById).map(managerId -> employeeHierarchyService.findReports(managerId, depth))
+        );
+    }
+
+    /**
+     * {@code GET  /employees/:id/chain-of-command} : get the managers of the "id" employee.
+     *
+     * @param id the id of the employee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the managers in body, from the direct manager
+     * up, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employees/{id}/chain-of-command")
+    public ResponseEntity<List<OrgChartEntry>> getEmployeeChainOfCommand(@PathVariable Long id) {
+        log.debug("REST request to get the chain of command of Employee : {}", id);
+        return ResponseUtil.wrapOrNotFound(
+            Optional.of(id).filter(employeeRepository::existsById).map(employeeHierarchyService::findChainOfCommand)
+        );
+    }
+
+    /**
+     * {@code GET  /employees/:id/org-tree?depth=:depth} : get the position of the "id" employee in the org chart, from
+     * the in-memory org tree, without reading the database.
+     *
+     * @param id the id of the employee.
+     * @param depth the number of levels of reports to list, 1 by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the ids of the managers and reports in body,
+     * or with status {@code 400 (Bad Request)} if the depth is not positive, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employees/{id}/org-tree")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<OrgTreeNodeDTO> getEmployeeOrgTreeNode(@PathVariable Long id, @RequestParam(defaultValue = "1") int depth) {
+        log.debug("REST request to get the org tree node of Employee {} down to depth {}", id, depth);
+        if (depth < 1) {
+            throw new BadRequestAlertException("The depth must be positive", ENTITY_NAME, "invaliddepth");
+        }
+        OrgTree tree = orgTreeService.getSnapshot();
+        return ResponseUtil.wrapOrNotFound(
+            Optional.of(id).filter(tree::contains).map(employeeId -> new OrgTreeNodeDTO(tree, employeeId, depth))
+        );
+    }
+
     /**
      * {@code DELETE  /employees/:id} : delete the "id" employee.
      *
@@ -213,7 +339,8 @@ public class EmployeeResource {
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
         log.debug("REST request to delete Employee : {}", id);
         employeeRepository.deleteById(id);
-        employeeSearchRepository.deleteById(id);
+        employeeHierarchyService.remove(id);
+        searchIndexOutboxService.enqueueDelete(Employee.class, id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -223,16 +350,118 @@ public class EmployeeResource {
     /**
      * {@code SEARCH  /_search/employees?query=:query} : search for the employee corresponding
      * to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, pages are fetched with {@code search_after}: the
+     * cursor of the next page is returned in the {@code X-Next-Cursor} header and no total count is computed.
      *
      * @param query the query of the employee search.
+     * @param cursor the cursor of the page, for deep pagination.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @return the result of the search, or with status {@code 400 (Bad Request)} if the query contains a leading
+     * wildcard or a regular expression, or if the cursor is invalid.
      */
     @GetMapping("/_search/employees")
-    public ResponseEntity<List<Employee>> searchEmployees(@RequestParam String query, Pageable pageable) {
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(
+        @RequestParam String query,
+        @RequestParam(required = false) String cursor,
+        Pageable pageable
+    ) {
         log.debug("REST request to search for a page of Employees for query {}", query);
-        Page<Employee> page = employeeSearchRepository.search(query, pageable);
+        try {
+            if (cursor != null) {
+                CursorPage<EmployeeDTO> page = employeeSearchRepository
+                    .searchAfter(query, pageable.getSort(), cursor, pageable.getPageSize())
+                    .map(employeeMapper::toDto);
+                HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    page
+                );
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+            Page<EmployeeDTO> page = employeeSearchRepository.search(query, pageable).map(employeeMapper::toDto);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidquery");
+        }
+    }
+
+    /**
+     * {@code SEARCH  /_search/employees/criteria} : search for the employees matching structured criteria.
+     *
+     * @param query the criteria: {@code name} prefix, {@code departmentId}, {@code hireDateFrom}/{@code hireDateTo}
+     * and {@code salaryMin}/{@code salaryMax}, all bounds being inclusive.
+     * @param pageable the pagination information.
+     * @return the result of the search.
+     */
+    @GetMapping("/_search/employees/criteria")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployeesByCriteria(EmployeeSearchQuery query, Pageable pageable) {
+        log.debug("REST request to search for a page of Employees by criteria {}", query);
+        Page<EmployeeDTO> page = employeeSearchRepository.search(query, pageable).map(employeeMapper::toDto);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
+
+    /**
+     * {@code GET  /_suggest/employees?prefix=:prefix} : suggest the employees whose first name, last name or email starts with the prefix,
+     * e.g. to fill a typeahead.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions, at most 50.
+     * @return the list of ids and labels of the matching employees, best first.
+     */
+    @GetMapping("/_suggest/employees")
+    public List<Suggestion> suggestEmployees(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to suggest Employees for prefix {}", prefix);
+        return employeeSearchRepository.suggest(prefix, size);
+    }
+
+    /**
+     * {@code GET  /employees/export?format=:format} : stream all the employees, ordered by id, with the ids of their
+     * relationships.
+     *
+     * @param format {@code ndjson}, one JSON object per line, or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employees in body, or with status
+     * {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/employees/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("REST request to export Employees as {}", format);
+        DataFormat exportFormat;
+        try {
+            exportFormat = DataFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidformat");
+        }
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees." + exportFormat.getExtension() + "\"")
+            .body(out -> exportService.exportEmployees(exportFormat, out));
+    }
+
+    /**
+     * {@code POST  /employees/import} : import new employees in bulk, with the columns of the export.
+     * <p>
+     * Valid rows are committed in chunks even if others are rejected.
+     *
+     * @param contentType {@code application/x-ndjson}, one JSON object per line, or {@code text/csv} with a header.
+     * @param body the employees to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts and errors of the import in body, or
+     * with status {@code 400 (Bad Request)} if the CSV header has unknown columns.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/employees/import", consumes = { "application/x-ndjson", "text/csv" })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<ImportResultDTO> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+        throws IOException {
+        log.debug("REST request to import Employees as {}", contentType);
+        ImportResultDTO result;
+        try {
+            result = employeeImportService.importEmployees(DataFormat.fromContentType(contentType), body);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidimport");
+        }
+        return ResponseEntity.ok(result);
+    }
 }
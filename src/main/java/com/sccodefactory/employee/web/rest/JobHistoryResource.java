@@ -3,9 +3,14 @@ package com.sccodefactory.employee.web.rest;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.repository.CursorPage;
 import com.sccodefactory.employee.repository.JobHistoryRepository;
+import com.sccodefactory.employee.service.DataFormat;
+import com.sccodefactory.employee.service.ExportService;
 import com.sccodefactory.employee.service.JobHistoryService;
+import com.sccodefactory.employee.service.dto.JobHistoryDTO;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -19,8 +24,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -44,9 +51,12 @@ public class JobHistoryResource {
 
     private final JobHistoryRepository jobHistoryRepository;
 
-    public JobHistoryResource(JobHistoryService jobHistoryService, JobHistoryRepository jobHistoryRepository) {
+    private final ExportService exportService;
+
+    public JobHistoryResource(JobHistoryService jobHistoryService, JobHistoryRepository jobHistoryRepository, ExportService exportService) {
         this.jobHistoryService = jobHistoryService;
         this.jobHistoryRepository = jobHistoryRepository;
+        this.exportService = exportService;
     }
 
     /**
@@ -141,14 +151,30 @@ public class JobHistoryResource {
 
     /**
      * {@code GET  /job-histories} : get all the jobHistories.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, pages are fetched with keyset pagination: each page
+     * seeks past the sort key and id of the previous one, the cursor of the next page is returned in the
+     * {@code X-Next-Cursor} header and no total count is computed. The sort may have one property besides the id.
      *
+     * @param cursor the cursor of the page, for infinite scroll.
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body, or with status
+     * {@code 400 (Bad Request)} if the sort is not supported or the cursor is invalid.
      */
     @GetMapping("/job-histories")
-    public ResponseEntity<List<JobHistory>> getAllJobHistories(Pageable pageable) {
+    public ResponseEntity<List<JobHistoryDTO>> getAllJobHistories(@RequestParam(required = false) String cursor, Pageable pageable) {
         log.debug("REST request to get a page of JobHistories");
-        Page<JobHistory> page = jobHistoryService.findAll(pageable);
+        if (cursor != null) {
+            CursorPage<JobHistoryDTO> page;
+            try {
+                page = jobHistoryService.findAll(cursor, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidcursor");
+            }
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Page<JobHistoryDTO> page = jobHistoryService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -160,9 +186,9 @@ public class JobHistoryResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the jobHistory, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/job-histories/{id}")
-    public ResponseEntity<JobHistory> getJobHistory(@PathVariable Long id) {
+    public ResponseEntity<JobHistoryDTO> getJobHistory(@PathVariable Long id) {
         log.debug("REST request to get JobHistory : {}", id);
-        Optional<JobHistory> jobHistory = jobHistoryService.findOne(id);
+        Optional<JobHistoryDTO> jobHistory = jobHistoryService.findOne(id);
         return ResponseUtil.wrapOrNotFound(jobHistory);
     }
 
@@ -185,16 +211,61 @@ public class JobHistoryResource {
     /**
      * {@code SEARCH  /_search/job-histories?query=:query} : search for the jobHistory corresponding
      * to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, pages are fetched with {@code search_after}: the
+     * cursor of the next page is returned in the {@code X-Next-Cursor} header and no total count is computed.
      *
      * @param query the query of the jobHistory search.
+     * @param cursor the cursor of the page, for deep pagination.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @return the result of the search, or with status {@code 400 (Bad Request)} if the query contains a leading
+     * wildcard or a regular expression, or the cursor is invalid.
      */
     @GetMapping("/_search/job-histories")
-    public ResponseEntity<List<JobHistory>> searchJobHistories(@RequestParam String query, Pageable pageable) {
+    public ResponseEntity<List<JobHistoryDTO>> searchJobHistories(
+        @RequestParam String query,
+        @RequestParam(required = false) String cursor,
+        Pageable pageable
+    ) {
         log.debug("REST request to search for a page of JobHistories for query {}", query);
-        Page<JobHistory> page = jobHistoryService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        try {
+            if (cursor != null) {
+                CursorPage<JobHistoryDTO> page = jobHistoryService.searchAfter(query, cursor, pageable);
+                HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    page
+                );
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+            Page<JobHistoryDTO> page = jobHistoryService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidquery");
+        }
+    }
+
+    /**
+     * {@code GET  /job-histories/export?format=:format} : stream all the jobHistories, ordered by id, with the ids of their
+     * relationships.
+     *
+     * @param format {@code ndjson}, one JSON object per line, or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the jobHistories in body, or with status
+     * {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/job-histories/export")
+    public ResponseEntity<StreamingResponseBody> exportJobHistories(@RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("REST request to export JobHistories as {}", format);
+        DataFormat exportFormat;
+        try {
+            exportFormat = DataFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidformat");
+        }
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"job-histories." + exportFormat.getExtension() + "\"")
+            .body(out -> exportService.exportJobHistories(exportFormat, out));
     }
 }
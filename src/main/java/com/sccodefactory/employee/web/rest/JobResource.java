@@ -5,6 +5,8 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.sccodefactory.employee.domain.Job;
 import com.sccodefactory.employee.repository.JobRepository;
 import com.sccodefactory.employee.repository.search.JobSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
+import com.sccodefactory.employee.service.SearchIndexOutboxService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -47,9 +49,16 @@ public class JobResource {
 
     private final JobSearchRepository jobSearchRepository;
 
-    public JobResource(JobRepository jobRepository, JobSearchRepository jobSearchRepository) {
+    private final SearchIndexOutboxService searchIndexOutboxService;
+
+    public JobResource(
+        JobRepository jobRepository,
+        JobSearchRepository jobSearchRepository,
+        SearchIndexOutboxService searchIndexOutboxService
+    ) {
         this.jobRepository = jobRepository;
         this.jobSearchRepository = jobSearchRepository;
+        this.searchIndexOutboxService = searchIndexOutboxService;
     }
 
     /**
@@ -66,7 +75,7 @@ public class JobResource {
             throw new BadRequestAlertException("A new job cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Job result = jobRepository.save(job);
-        jobSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Job.class, result.getId());
         return ResponseEntity
             .created(new URI("/api/jobs/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -99,7 +108,7 @@ public class JobResource {
         }
 
         Job result = jobRepository.save(job);
-        jobSearchRepository.save(result);
+        searchIndexOutboxService.enqueueIndex(Job.class, result.getId());
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, job.getId().toString()))
@@ -149,7 +158,7 @@ public class JobResource {
             })
             .map(jobRepository::save)
             .map(savedJob -> {
-                jobSearchRepository.save(savedJob);
+                searchIndexOutboxService.enqueueIndex(Job.class, savedJob.getId());
 
                 return savedJob;
             });
@@ -206,7 +215,7 @@ public class JobResource {
     public ResponseEntity<Void> deleteJob(@PathVariable Long id) {
         log.debug("REST request to delete Job : {}", id);
         jobRepository.deleteById(id);
-        jobSearchRepository.deleteById(id);
+        searchIndexOutboxService.enqueueDelete(Job.class, id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -219,13 +228,32 @@ public class JobResource {
      *
      * @param query the query of the job search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @return the result of the search, or with status {@code 400 (Bad Request)} if the query contains a leading
+     * wildcard or a regular expression.
      */
     @GetMapping("/_search/jobs")
     public ResponseEntity<List<Job>> searchJobs(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Jobs for query {}", query);
-        Page<Job> page = jobSearchRepository.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        try {
+            Page<Job> page = jobSearchRepository.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidquery");
+        }
+    }
+
+    /**
+     * {@code GET  /_suggest/jobs?prefix=:prefix} : suggest the jobs whose title starts with the prefix,
+     * e.g. to fill a typeahead.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions, at most 50.
+     * @return the list of ids and labels of the matching jobs, best first.
+     */
+    @GetMapping("/_suggest/jobs")
+    public List<Suggestion> suggestJobs(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to suggest Jobs for prefix {}", prefix);
+        return jobSearchRepository.suggest(prefix, size);
     }
 }
@@ -6,6 +6,7 @@ import com.sccodefactory.employee.domain.Location;
 import com.sccodefactory.employee.repository.LocationRepository;
 import com.sccodefactory.employee.service.LocationService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.OptionalPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -15,9 +16,15 @@ import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -134,14 +141,23 @@ public class LocationResource {
     }
 
     /**
-     * {@code GET  /locations} : get all the locations.
+     * {@code GET  /locations} : get all the locations, or a page of them if the request has a {@code page} or {@code size}
+     * parameter.
      *
+     * @param pageable the pagination information.
+     * @param request the current request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locations in body.
      */
     @GetMapping("/locations")
-    public List<Location> getAllLocations() {
-        log.debug("REST request to get all Locations");
-        return locationService.findAll();
+    public ResponseEntity<List<Location>> getAllLocations(Pageable pageable, WebRequest request) {
+        if (!OptionalPaginationUtil.isPageRequested(request)) {
+            log.debug("REST request to get all Locations");
+            return ResponseEntity.ok(locationService.findAll());
+        }
+        log.debug("REST request to get a page of Locations");
+        Page<Location> page = locationService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
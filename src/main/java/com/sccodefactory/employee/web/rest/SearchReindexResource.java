@@ -0,0 +1,81 @@
+package com.sccodefactory.employee.web.rest;
+
+import com.sccodefactory.employee.security.AuthoritiesConstants;
+import com.sccodefactory.employee.service.SearchReindexService;
+import com.sccodefactory.employee.service.dto.SearchReindexStatusDTO;
+import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for rebuilding the Elasticsearch indices.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class SearchReindexResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexResource.class);
+
+    private static final String ENTITY_NAME = "searchReindex";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final SearchReindexService searchReindexService;
+
+    public SearchReindexResource(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    /**
+     * {@code POST  /admin/search/reindex} : Start rebuilding the search indices.
+     *
+     * @param entityTypes the entities to reindex, e.g. {@code Employee}; all of them if omitted.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the status of the job,
+     * or with status {@code 409 (Conflict)} if a reindex is already running,
+     * or with status {@code 400 (Bad Request)} if one of the entities is not indexed.
+     */
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<SearchReindexStatusDTO> startReindex(@RequestParam(value = "entity", required = false) List<String> entityTypes) {
+        log.debug("REST request to reindex : {}", entityTypes);
+        Optional<SearchReindexStatusDTO> status;
+        try {
+            status = searchReindexService.start(entityTypes == null ? Collections.emptyList() : entityTypes);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "entitynotindexed");
+        }
+        if (!status.isPresent()) {
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .headers(
+                    HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "reindexrunning", "A reindex is already running")
+                )
+                .build();
+        }
+        return ResponseEntity.accepted().body(status.get());
+    }
+
+    /**
+     * {@code GET  /admin/search/reindex} : get the progress of the running reindex, or the outcome of the last one.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the status of the job,
+     * or with status {@code 404 (Not Found)} if no reindex ran since startup.
+     */
+    @GetMapping("/search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<SearchReindexStatusDTO> getReindexStatus() {
+        log.debug("REST request to get the reindex status");
+        return ResponseUtil.wrapOrNotFound(searchReindexService.getStatus());
+    }
+}
@@ -6,6 +6,7 @@ import com.sccodefactory.employee.domain.Task;
 import com.sccodefactory.employee.repository.TaskRepository;
 import com.sccodefactory.employee.service.TaskService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.OptionalPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -15,9 +16,15 @@ import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -130,14 +137,23 @@ public class TaskResource {
     }
 
     /**
-     * {@code GET  /tasks} : get all the tasks.
+     * {@code GET  /tasks} : get all the tasks, or a page of them if the request has a {@code page} or {@code size}
+     * parameter.
      *
+     * @param pageable the pagination information.
+     * @param request the current request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body.
      */
     @GetMapping("/tasks")
-    public List<Task> getAllTasks() {
-        log.debug("REST request to get all Tasks");
-        return taskService.findAll();
+    public ResponseEntity<List<Task>> getAllTasks(Pageable pageable, WebRequest request) {
+        if (!OptionalPaginationUtil.isPageRequested(request)) {
+            log.debug("REST request to get all Tasks");
+            return ResponseEntity.ok(taskService.findAll());
+        }
+        log.debug("REST request to get a page of Tasks");
+        Page<Task> page = taskService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -1,17 +1,16 @@
 package com.sccodefactory.employee.web.rest;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccodefactory.employee.security.AuthenticationExecutor;
 import com.sccodefactory.employee.security.jwt.JWTFilter;
 import com.sccodefactory.employee.security.jwt.TokenProvider;
 import com.sccodefactory.employee.web.rest.vm.LoginVM;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -23,26 +22,40 @@ public class UserJWTController {
 
     private final TokenProvider tokenProvider;
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final AuthenticationExecutor authenticationExecutor;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    public UserJWTController(TokenProvider tokenProvider, AuthenticationExecutor authenticationExecutor) {
         this.tokenProvider = tokenProvider;
-        this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.authenticationExecutor = authenticationExecutor;
     }
 
+    /**
+     * {@code POST  /authenticate} : authenticate a user, and return a JWT.
+     * <p>
+     * The password is checked on the login threads, and the request thread is released meanwhile.
+     *
+     * @param loginVM the login and password.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the token, or with status
+     * {@code 401 (Unauthorized)} if the login or password are wrong, or with status {@code 429 (Too Many Requests)} if
+     * too many logins are in progress.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        return authenticationExecutor
+            .authenticate(authenticationToken)
+            .thenApply(
+                authentication -> {
+                    String jwt = tokenProvider.createToken(authentication, loginVM.isRememberMe());
+                    HttpHeaders httpHeaders = new HttpHeaders();
+                    httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+                    return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+                }
+            );
     }
 
     /**
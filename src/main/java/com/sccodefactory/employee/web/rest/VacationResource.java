@@ -6,6 +6,7 @@ import com.sccodefactory.employee.domain.Vacation;
 import com.sccodefactory.employee.repository.VacationRepository;
 import com.sccodefactory.employee.service.VacationService;
 import com.sccodefactory.employee.web.rest.errors.BadRequestAlertException;
+import com.sccodefactory.employee.web.rest.util.OptionalPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -15,9 +16,15 @@ import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -134,14 +141,23 @@ public class VacationResource {
     }
 
     /**
-     * {@code GET  /vacations} : get all the vacations.
+     * {@code GET  /vacations} : get all the vacations, or a page of them if the request has a {@code page} or {@code size}
+     * parameter.
      *
+     * @param pageable the pagination information.
+     * @param request the current request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vacations in body.
      */
     @GetMapping("/vacations")
-    public List<Vacation> getAllVacations() {
-        log.debug("REST request to get all Vacations");
-        return vacationService.findAll();
+    public ResponseEntity<List<Vacation>> getAllVacations(Pageable pageable, WebRequest request) {
+        if (!OptionalPaginationUtil.isPageRequested(request)) {
+            log.debug("REST request to get all Vacations");
+            return ResponseEntity.ok(vacationService.findAll());
+        }
+        log.debug("REST request to get a page of Vacations");
+        Page<Vacation> page = vacationService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.sccodefactory.employee.web.rest.util;
+
+import com.sccodefactory.employee.repository.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling cursor-based pagination.
+ * <p>
+ * The cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER} header, and as a
+ * <a href="https://tools.ietf.org/html/rfc5988">link header</a> with {@code rel="next"}. Both are omitted on the
+ * last page. No total count is computed.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String CURSOR_PARAM = "cursor";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Generate cursor pagination headers.
+     *
+     * @param uriBuilder the URI of the current page.
+     * @param page the current page.
+     * @param <T> the type of the elements.
+     * @return the HTTP headers.
+     */
+    public static <T> HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, CursorPage<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            String nextLink = uriBuilder.replaceQueryParam(CURSOR_PARAM, page.getNextCursor()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
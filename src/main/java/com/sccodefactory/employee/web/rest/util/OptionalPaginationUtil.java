@@ -0,0 +1,26 @@
+package com.sccodefactory.employee.web.rest.util;
+
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class for the list endpoints that predate pagination.
+ * <p>
+ * They keep returning every entity, unless the request has a {@code page} or {@code size} parameter, in which case they
+ * return that page with the usual pagination headers.
+ */
+public final class OptionalPaginationUtil {
+
+    private static final String PAGE_PARAM = "page";
+
+    private static final String SIZE_PARAM = "size";
+
+    private OptionalPaginationUtil() {}
+
+    /**
+     * @param request the current request.
+     * @return whether the request asks for a page.
+     */
+    public static boolean isPageRequested(WebRequest request) {
+        return request.getParameter(PAGE_PARAM) != null || request.getParameter(SIZE_PARAM) != null;
+    }
+}
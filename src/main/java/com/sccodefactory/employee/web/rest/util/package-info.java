@@ -0,0 +1,4 @@
+/**
+ * Utilities shared by the REST controllers.
+ */
+package com.sccodefactory.employee.web.rest.util;
@@ -0,0 +1,51 @@
+package com.sccodefactory.employee.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link TimingAspect}, on the Spring Data repository proxies.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(properties = "application.method-timing.sample-rate=1")
+class TimingAspectIT {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void inheritedRepositoryMethodsAreTimedPerRepository() {
+        double employeeCalls = count("EmployeeRepository");
+        double departmentCalls = count("DepartmentRepository");
+
+        employeeRepository.findAll();
+        departmentRepository.findAll();
+        departmentRepository.findAll();
+
+        assertThat(count("EmployeeRepository") - employeeCalls).isEqualTo(1);
+        assertThat(count("DepartmentRepository") - departmentCalls).isEqualTo(2);
+        assertThat(meterRegistry.find("method.timed").tag("class", "JpaRepository").timer()).isNull();
+        assertThat(meterRegistry.find("method.timed").tag("class", "CrudRepository").timer()).isNull();
+    }
+
+    private double count(String repository) {
+        Timer timer = meterRegistry.find("method.timed").tags("class", repository, "method", "findAll").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
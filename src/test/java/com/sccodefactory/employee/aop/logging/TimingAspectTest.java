@@ -0,0 +1,126 @@
+package com.sccodefactory.employee.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link TimingAspect}.
+ */
+class TimingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.MethodTiming properties;
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setup() throws Throwable {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties.MethodTiming();
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(SampleService.class.getDeclaredMethod("find", String.class));
+        when(signature.getName()).thenReturn("find");
+        when(signature.getParameterNames()).thenReturn(new String[] { "id" });
+        when(signature.getDeclaringTypeName()).thenReturn(SampleService.class.getName());
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(new SampleService());
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "id" });
+        when(joinPoint.proceed()).thenReturn("result");
+    }
+
+    @Test
+    void callsOutOfTheSampleAreOnlyPassedThrough() throws Throwable {
+        properties.setSampleRate(0);
+
+        assertThat(new TimingAspect(meterRegistry, properties).timeAround(joinPoint)).isEqualTo("result");
+
+        verify(joinPoint).proceed();
+        verify(joinPoint, never()).getSignature();
+        verify(joinPoint, never()).getArgs();
+        assertThat(meterRegistry.find("method.timed").timer()).isNull();
+    }
+
+    @Test
+    void sampledCallsAreTimedPerMethod() throws Throwable {
+        properties.setSampleRate(1);
+        TimingAspect timingAspect = new TimingAspect(meterRegistry, properties);
+
+        timingAspect.timeAround(joinPoint);
+        timingAspect.timeAround(joinPoint);
+
+        Timer timer = meterRegistry.get("method.timed").tag("class", "SampleService").tag("method", "find").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        verify(joinPoint, never()).getArgs();
+    }
+
+    @Test
+    void failedCallsAreTimed() throws Throwable {
+        properties.setSampleRate(1);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("failed"));
+
+        assertThatThrownBy(() -> new TimingAspect(meterRegistry, properties).timeAround(joinPoint))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("method.timed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowCallsAreLoggedWithTheirArguments() throws Throwable {
+        properties.setSampleRate(1);
+        properties.setSlowThresholdMs(0);
+
+        new TimingAspect(meterRegistry, properties).timeAround(joinPoint);
+
+        verify(joinPoint).getArgs();
+    }
+
+    @Test
+    void sensitiveArgumentsOfSlowCallsAreNotLogged() throws Throwable {
+        properties.setSampleRate(1);
+        properties.setSlowThresholdMs(0);
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        when(signature.getMethod())
+            .thenReturn(SampleService.class.getDeclaredMethod("changePassword", String.class, String.class, String.class));
+        when(signature.getName()).thenReturn("changePassword");
+        when(signature.getParameterNames()).thenReturn(new String[] { "login", "currentClearTextPassword", "newPassword" });
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "admin", "old-secret", "new-secret" });
+        Logger logger = (Logger) LoggerFactory.getLogger(SampleService.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            new TimingAspect(meterRegistry, properties).timeAround(joinPoint);
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertThat(appender.list).hasSize(1);
+        String message = appender.list.get(0).getFormattedMessage();
+        assertThat(message).contains("changePassword", "admin").doesNotContain("old-secret", "new-secret");
+    }
+
+    private static class SampleService {
+
+        String find(String id) {
+            return id;
+        }
+
+        void changePassword(String login, String currentClearTextPassword, String newPassword) {}
+    }
+}
@@ -0,0 +1,94 @@
+package com.sccodefactory.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.TaskRejectedException;
+import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+
+/**
+ * Unit tests for the {@link AsyncConfiguration} class.
+ */
+class AsyncConfigurationTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AsyncConfiguration asyncConfiguration;
+
+    private ExceptionHandlingAsyncTaskExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        asyncConfiguration = new AsyncConfiguration(new TaskExecutionProperties(), new ApplicationProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void shutdown() throws Exception {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void tasksRunOnTheThreadsOfTheirWorkload() throws Exception {
+        executor = asyncConfiguration.createExecutor("mail", "mail-", pool(1, 1, 10, false));
+
+        Future<String> threadName = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("mail-");
+        assertThat(meterRegistry.get("executor.pool.size").tag("name", "mail").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor").tag("name", "mail").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tasksBeyondTheQueueAreRejectedAndCounted() throws Exception {
+        executor = asyncConfiguration.createExecutor("reporting", "reporting-", pool(1, 1, 1, false));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+            assertThat(meterRegistry.get("executor.queued").tag("name", "reporting").gauge().value()).isEqualTo(1);
+            assertThat(meterRegistry.get("executor.rejected").tag("name", "reporting").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void virtualThreadsAreNamedAfterTheirWorkload() throws Exception {
+        executor = asyncConfiguration.createExecutor("search-indexing", "search-indexing-", pool(1, 1, 10, true));
+
+        Future<String> threadName = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("search-indexing-");
+    }
+
+    private static ApplicationProperties.TaskExecutors.Pool pool(int coreSize, int maxSize, int queueCapacity, boolean virtualThreads) {
+        ApplicationProperties.TaskExecutors.Pool pool = new ApplicationProperties.TaskExecutors.Pool();
+        pool.setCoreSize(coreSize);
+        pool.setMaxSize(maxSize);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setVirtualThreads(virtualThreads);
+        return pool;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.sccodefactory.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.Job;
+import com.sccodefactory.employee.repository.UserRepository;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region employee = new ApplicationProperties.Cache.Region();
+        employee.setMaxEntries(10L);
+        employee.setOffHeapMb(1);
+        applicationProperties.getCache().getRegions().put("Employee", employee);
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void regionNamesAreRelativeToTheDomainPackage() {
+        assertThat(CacheConfiguration.regionName(Employee.class.getName())).isEqualTo("Employee");
+        assertThat(CacheConfiguration.regionName(Employee.class.getName() + ".jobs")).isEqualTo("Employee.jobs");
+        assertThat(CacheConfiguration.regionName(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo(UserRepository.USERS_BY_LOGIN_CACHE);
+    }
+
+    @Test
+    void regionSettingsOverrideTheDefaults() {
+        ResourcePools resourcePools = resourcePools(Employee.class.getName());
+
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+    }
+
+    @Test
+    void otherRegionsUseTheDefaults() {
+        ResourcePools resourcePools = resourcePools(Job.class.getName());
+
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize())
+            .isEqualTo(jHipsterProperties.getCache().getEhcache().getMaxEntries());
+        assertThat(resourcePools.getResourceTypeSet()).doesNotContain(ResourceType.Core.OFFHEAP);
+    }
+
+    @Test
+    void offHeapRegionsStoreSerializableEntries() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+            cachingProvider.getDefaultURI(),
+            CacheConfigurationTest.class.getClassLoader()
+        );
+        try {
+            // ten entries on the heap, the others off-heap
+            Cache<Object, Object> cache = cacheManager.createCache(
+                Employee.class.getName(),
+                cacheConfiguration.jcacheConfiguration(Employee.class.getName())
+            );
+            for (long id = 0; id < 100; id++) {
+                cache.put(id, new Employee().id(id).firstName("First" + id));
+            }
+
+            assertThat(cache.get(42L)).isInstanceOf(Employee.class).extracting("firstName").isEqualTo("First42");
+        } finally {
+            cacheManager.close();
+        }
+    }
+
+    private ResourcePools resourcePools(String cacheName) {
+        return cacheConfiguration
+            .jcacheConfiguration(cacheName)
+            .unwrap(org.ehcache.config.CacheConfiguration.class)
+            .getResourcePools();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sccodefactory.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.repository.UserRepository;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link CacheStatisticsEndpoint}.
+ */
+@IntegrationTest
+class CacheStatisticsEndpointIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheStatisticsEndpoint cacheStatisticsEndpoint;
+
+    private Cache<Object, Object> cache;
+
+    @BeforeEach
+    void setup() {
+        cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.clear();
+        cacheStatisticsEndpoint.clearStatistics();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        cache.put("cache-statistics-hit", "user");
+        cache.get("cache-statistics-hit");
+        cache.get("cache-statistics-hit");
+        cache.get("cache-statistics-miss");
+
+        CacheStatisticsEndpoint.RegionStatistics statistics = cacheStatisticsEndpoint.regionStatistics(UserRepository.USERS_BY_LOGIN_CACHE);
+
+        assertThat(statistics.getHits()).isEqualTo(2);
+        assertThat(statistics.getMisses()).isEqualTo(1);
+        assertThat(statistics.getPuts()).isEqualTo(1);
+        assertThat(statistics.getHitRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void listsTheEntityRegionsByShortName() {
+        assertThat(cacheStatisticsEndpoint.cacheStatistics())
+            .containsKeys("Employee", "Employee.jobs", UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(cacheStatisticsEndpoint.regionStatistics("Employee")).isNotNull();
+        assertThat(cacheStatisticsEndpoint.regionStatistics("Unknown")).isNull();
+    }
+}
@@ -20,4 +20,12 @@ class EmployeeTest {
         employee1.setId(null);
         assertThat(employee1).isNotEqualTo(employee2);
     }
+
+    @Test
+    void suggestInputs() {
+        Employee employee = new Employee().firstName("John").lastName("Smith").email("jsmith@example.com");
+        assertThat(employee.getSuggest().getInput()).containsExactly("John Smith", "Smith", "jsmith@example.com");
+        assertThat(new Employee().lastName("Smith").getSuggest().getInput()).containsExactly("Smith");
+        assertThat(new Employee().getSuggest()).isNull();
+    }
 }
@@ -0,0 +1,94 @@
+package com.sccodefactory.employee.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Unit tests for the coverage of {@link QueryPlanIT}, which only runs on PostgreSQL: every query method declared by
+ * the repositories of this package is either checked by it or listed as a full read.
+ */
+class QueryPlanCoverageTest {
+
+    private static final String REPOSITORY_PACKAGE = QueryPlanCoverageTest.class.getPackage().getName();
+
+    @Test
+    void everyQueryMethodIsListed() {
+        Set<String> queryMethods = queryMethods();
+
+        Set<String> unlisted = new HashSet<>(queryMethods);
+        unlisted.removeAll(QueryPlanIT.CHECKED_QUERY_METHODS);
+        unlisted.removeAll(QueryPlanIT.FULL_READ_QUERY_METHODS);
+        assertThat(unlisted).as("query methods neither checked by QueryPlanIT nor listed as full reads").isEmpty();
+    }
+
+    @Test
+    void everyListedMethodIsAQueryMethod() {
+        Set<String> queryMethods = queryMethods();
+
+        Set<String> stale = new HashSet<>(QueryPlanIT.CHECKED_QUERY_METHODS);
+        stale.addAll(QueryPlanIT.FULL_READ_QUERY_METHODS);
+        stale.removeAll(queryMethods);
+        assertThat(stale).as("methods listed by QueryPlanIT that no repository declares").isEmpty();
+    }
+
+    @Test
+    void noMethodIsBothCheckedAndAFullRead() {
+        Set<String> both = new HashSet<>(QueryPlanIT.CHECKED_QUERY_METHODS);
+        both.retainAll(QueryPlanIT.FULL_READ_QUERY_METHODS);
+        assertThat(both).isEmpty();
+    }
+
+    /**
+     * @return the abstract methods of the Spring Data repositories of this package declared in this package, by
+     * themselves or by their custom fragments, as {@code Repository.method(ParameterTypes)}.
+     */
+    private static Set<String> queryMethods() {
+        Set<String> queryMethods = new HashSet<>();
+        for (JavaClass javaClass : new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+            .importPackages(REPOSITORY_PACKAGE)) {
+            if (!javaClass.getPackageName().equals(REPOSITORY_PACKAGE) || !javaClass.isInterface()) {
+                continue;
+            }
+            Class<?> repository = javaClass.reflect();
+            if (!Repository.class.isAssignableFrom(repository)) {
+                continue;
+            }
+            for (Method method : repository.getMethods()) {
+                if (isDeclaredQueryMethod(method)) {
+                    queryMethods.add(key(repository, method));
+                }
+            }
+        }
+        assertThat(queryMethods).as("query methods found in " + REPOSITORY_PACKAGE).isNotEmpty();
+        return queryMethods;
+    }
+
+    private static boolean isDeclaredQueryMethod(Method method) {
+        return (
+            method.getDeclaringClass().getPackage().getName().equals(REPOSITORY_PACKAGE) &&
+            !method.isDefault() &&
+            !method.isBridge() &&
+            !method.isSynthetic() &&
+            !Modifier.isStatic(method.getModifiers())
+        );
+    }
+
+    private static String key(Class<?> repository, Method method) {
+        StringJoiner parameters = new StringJoiner(", ", "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameters.add(parameterType.getSimpleName());
+        }
+        return repository.getSimpleName() + "." + method.getName() + parameters;
+    }
+}
@@ -0,0 +1,484 @@
+package com.sccodefactory.employee.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.JobHistory;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Query plan regression tests: the lookups of the repositories, and the lookups the database runs to check foreign
+ * keys, must not read any of the large tables with a sequential scan.
+ * <p>
+ * The plans only make sense on PostgreSQL, so the tests are skipped unless they run with the {@code testcontainers}
+ * profile. They seed a few tens of thousands of rows, capture the SQL of each repository call, and {@code EXPLAIN}
+ * its generic plan, which does not depend on the parameter values. Every query method declared by a repository is
+ * either checked here, or listed in {@link #FULL_READ_QUERY_METHODS} when it is meant to scan, like the exports and
+ * rebuilds: {@link QueryPlanCoverageTest} fails otherwise.
+ * <p>
+ * Run them with {@code ./mvnw verify -Ptestcontainers}, which needs Docker.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanIT {
+
+    private static final long SEED_ID = 1_000_000;
+
+    /**
+     * The number of departments, and of locations, countries and regions, one each per department.
+     */
+    private static final int DEPARTMENTS = 5_000;
+
+    private static final int EMPLOYEES = 20_000;
+
+    private static final int TASKS = 5_000;
+
+    private static final int JOBS = 50_000;
+
+    private static final int JOB_HISTORIES = 20_000;
+
+    private static final int USERS = 20_000;
+
+    private static final int OUTBOX_ENTRIES = 20_000;
+
+    private static final Pageable PAGE = PageRequest.of(1, 20, Sort.by("id"));
+
+    /**
+     * The seeded tables, large enough that a sequential scan is never the cheapest way to find a few rows.
+     */
+    private static final Set<String> LARGE_TABLES = new HashSet<>(
+        Arrays.asList(
+            "region",
+            "country",
+            "location",
+            "department",
+            "employee",
+            "employee_hierarchy",
+            "task",
+            "job",
+            "rel_job__task",
+            "job_history",
+            "jhi_user",
+            "search_index_outbox",
+            "mail_outbox"
+        )
+    );
+
+    /**
+     * The query methods declared by the repositories whose statements are checked by the tests below, as
+     * {@code Repository.method(ParameterTypes)}. {@link QueryPlanCoverageTest} fails when a query method is neither
+     * here nor in {@link #FULL_READ_QUERY_METHODS}.
+     */
+    static final Set<String> CHECKED_QUERY_METHODS = new HashSet<>(
+        Arrays.asList(
+            "EmployeeRepository.findAllDtos(Pageable)",
+            "EmployeeRepository.findDtoById(Long)",
+            "EmployeeRepository.findAllAfter(Sort, String, int)",
+            "EmployeeRepository.findAllDtosAfter(Sort, String, int)",
+            "EmployeeHierarchyRepository.findReports(Long, int)",
+            "EmployeeHierarchyRepository.findChainOfCommand(Long)",
+            "EmployeeHierarchyRepository.findOneByDescendantIdAndDepth(Long, int)",
+            "EmployeeHierarchyRepository.existsByAncestorIdAndDescendantId(Long, Long)",
+            "EmployeeHierarchyRepository.insertNodes(Collection)",
+            "EmployeeHierarchyRepository.moveSubtree(Long, Long)",
+            "JobRepository.findOneWithEagerRelationships(Long)",
+            "JobRepository.findAllWithEagerRelationships(Pageable)",
+            "JobHistoryRepository.findAllDtos(Pageable)",
+            "JobHistoryRepository.findDtoById(Long)",
+            "JobHistoryRepository.findAllAfter(Sort, String, int)",
+            "JobHistoryRepository.findAllDtosAfter(Sort, String, int)",
+            "DepartmentRepository.findAll(Pageable)",
+            "LocationRepository.findAll(Pageable)",
+            "CountryRepository.findAll(Pageable)",
+            "RegionRepository.findAll(Pageable)",
+            "TaskRepository.findAll(Pageable)",
+            "UserRepository.findOneByLogin(String)",
+            "UserRepository.findOneWithAuthoritiesByLogin(String)",
+            "UserRepository.findOneByEmailIgnoreCase(String)",
+            "UserRepository.findOneWithAuthoritiesByEmailIgnoreCase(String)",
+            "UserRepository.findOneByActivationKey(String)",
+            "UserRepository.findOneByResetKey(String)",
+            "UserRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant)",
+            "UserRepository.findAllByIdNotNullAndActivatedIsTrue(Pageable)",
+            "SearchIndexOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant, Pageable)",
+            "SearchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc(String, Long)",
+            "MailOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant, Pageable)"
+        )
+    );
+
+    /**
+     * The query methods declared by the repositories that read a whole table by design: the exports, rebuilds and
+     * cached reference lists, and the counts.
+     */
+    static final Set<String> FULL_READ_QUERY_METHODS = new HashSet<>(
+        Arrays.asList(
+            "EmployeeRepository.countByManagerIsNotNull()",
+            "EmployeeRepository.findAllIdsAndManagerIds()",
+            "EmployeeHierarchyRepository.countByDepth(int)",
+            "EmployeeHierarchyRepository.rebuild()",
+            "JobRepository.findAllWithEagerRelationships()",
+            "DepartmentRepository.findAll()",
+            "LocationRepository.findAll()",
+            "CountryRepository.findAll()",
+            "RegionRepository.findAll()",
+            "TaskRepository.findAll()"
+        )
+    );
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeHierarchyRepository employeeHierarchyRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @BeforeEach
+    void seed() {
+        assumeTrue("PostgreSQL".equals(doWithConnection(connection -> connection.getMetaData().getDatabaseProductName())));
+        execute(
+            "insert into region (id, region_name) select " + SEED_ID + " + g, 'Region ' || g from generate_series(1, " + DEPARTMENTS + ") g"
+        );
+        execute(
+            "insert into country (id, country_name, region_id) select " + SEED_ID + " + g, 'Country ' || g, " + SEED_ID + " + g " +
+            "from generate_series(1, " + DEPARTMENTS + ") g"
+        );
+        execute(
+            "insert into location (id, city, country_id) select " + SEED_ID + " + g, 'City ' || g, " + SEED_ID + " + g " +
+            "from generate_series(1, " + DEPARTMENTS + ") g"
+        );
+        execute(
+            "insert into department (id, department_name, location_id) select " + SEED_ID + " + g, 'Department ' || g, " +
+            SEED_ID + " + g from generate_series(1, " + DEPARTMENTS + ") g"
+        );
+        // ten employees at the top, and ten reports per manager below them
+        execute(
+            "insert into employee (id, first_name, last_name, email, hire_date, salary, manager_id, department_id) " +
+            "select " + SEED_ID + " + g, 'First' || g, 'Last' || g, 'employee' || g || '@example.com', " +
+            "timestamp '2000-01-01' + g * interval '1 hour', 30000 + g % 90000, " +
+            "case when g > 10 then " + SEED_ID + " + g / 10 end, " + SEED_ID + " + 1 + g % " + DEPARTMENTS + " " +
+            "from generate_series(1, " + EMPLOYEES + ") g"
+        );
+        execute("insert into task (id, title) select " + SEED_ID + " + g, 'Task ' || g from generate_series(1, " + TASKS + ") g");
+        execute(
+            "insert into job (id, job_title, employee_id) " +
+            "select " + SEED_ID + " + g, 'Job ' || g, " + SEED_ID + " + 1 + g % " + EMPLOYEES + " " +
+            "from generate_series(1, " + JOBS + ") g"
+        );
+        execute(
+            "insert into rel_job__task (job_id, task_id) select " + SEED_ID + " + g, " + SEED_ID + " + 1 + g % " + TASKS + " " +
+            "from generate_series(1, " + JOBS + ") g"
+        );
+        // one history per job and per employee, the department being unique as well
+        execute(
+            "insert into job_history (id, start_date, end_date, job_id, department_id, employee_id) " +
+            "select " + SEED_ID + " + g, timestamp '2000-01-01' + g * interval '1 hour', " +
+            "timestamp '2001-01-01' + g * interval '1 hour', " + SEED_ID + " + g, " +
+            "case when g <= " + DEPARTMENTS + " then " + SEED_ID + " + g end, " + SEED_ID + " + g " +
+            "from generate_series(1, " + JOB_HISTORIES + ") g"
+        );
+        // one user in a hundred waiting for its activation, and one in a thousand for a password reset
+        execute(
+            "insert into jhi_user (id, login, email, activated, activation_key, reset_key, created_by, created_date) " +
+            "select " + SEED_ID + " + g, 'user' || g, 'user' || g || '@example.com', g % 100 <> 0, " +
+            "case when g % 100 = 0 then 'act' || g end, case when g % 1000 = 0 then 'reset' || g end, 'system', " +
+            "timestamp '2020-01-01' + g * interval '1 minute' from generate_series(1, " + USERS + ") g"
+        );
+        execute(
+            "insert into search_index_outbox (id, entity_type, entity_id, operation, created_date, next_attempt_date, attempts) " +
+            "select " + SEED_ID + " + g, 'Employee', " + SEED_ID + " + g, 'INDEX', now(), now() + g * interval '1 second', 0 " +
+            "from generate_series(1, " + OUTBOX_ENTRIES + ") g"
+        );
+        execute(
+            "insert into mail_outbox (id, recipient, subject, content, multipart, html, created_date, next_attempt_date, attempts) " +
+            "select " + SEED_ID + " + g, 'user' || g || '@example.com', 'Subject', 'Content', false, false, now(), " +
+            "now() + g * interval '1 second', 0 from generate_series(1, " + OUTBOX_ENTRIES + ") g"
+        );
+        employeeHierarchyRepository.rebuild();
+        execute("analyze " + String.join(", ", LARGE_TABLES));
+        em.clear();
+        // the cached reference lists would not run their statements
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @Test
+    void foreignKeyChecksUseAnIndex() {
+        List<String[]> foreignKeys = doWithConnection(connection -> {
+            List<String[]> columns = new ArrayList<>();
+            try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                    "select kcu.table_name, kcu.column_name from information_schema.table_constraints tc " +
+                    "join information_schema.key_column_usage kcu " +
+                    "on kcu.constraint_name = tc.constraint_name and kcu.table_schema = tc.table_schema " +
+                    "where tc.constraint_type = 'FOREIGN KEY' and tc.table_schema = current_schema()"
+                )
+            ) {
+                while (resultSet.next()) {
+                    columns.add(new String[] { resultSet.getString(1), resultSet.getString(2) });
+                }
+            }
+            return columns;
+        });
+
+        assertThat(foreignKeys).isNotEmpty();
+        List<String> sequentialScans = new ArrayList<>();
+        for (String[] foreignKey : foreignKeys) {
+            // the lookup run by the database when a referenced row is deleted
+            sequentialScans.addAll(sequentialScans("select 1 from " + foreignKey[0] + " where " + foreignKey[1] + " = ?"));
+        }
+        assertThat(sequentialScans).isEmpty();
+    }
+
+    @Test
+    void employeeQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            employeeRepository.findById(SEED_ID + 1234).get().getJobs().size();
+            employeeRepository.findAllDtos(PAGE);
+            CursorPage<Employee> page = employeeRepository.findAllAfter(Sort.by("id"), null, 20);
+            employeeRepository.findAllAfter(Sort.by("id"), page.getNextCursor(), 20);
+            employeeRepository.findDtoById(SEED_ID + 1234);
+            employeeRepository.findAllDtosAfter(Sort.by("id"), page.getNextCursor(), 20);
+        });
+    }
+
+    @Test
+    void employeeKeysetPagesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            for (String key : new String[] { "lastName", "hireDate", "salary" }) {
+                for (Sort sort : new Sort[] { Sort.by(key), Sort.by(Sort.Direction.DESC, key, "id") }) {
+                    CursorPage<Employee> page = employeeRepository.findAllAfter(sort, null, 20);
+                    employeeRepository.findAllAfter(sort, page.getNextCursor(), 20);
+                    employeeRepository.findAllDtosAfter(sort, page.getNextCursor(), 20);
+                }
+            }
+        });
+    }
+
+    @Test
+    void jobHistoryQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            jobHistoryRepository.findAllDtos(PAGE);
+            jobHistoryRepository.findDtoById(SEED_ID + 1234);
+        });
+    }
+
+    @Test
+    void jobHistoryKeysetPagesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            for (String key : new String[] { "id", "startDate", "endDate" }) {
+                for (Sort sort : new Sort[] { Sort.by(key), Sort.by(Sort.Direction.DESC, key) }) {
+                    CursorPage<JobHistory> page = jobHistoryRepository.findAllAfter(sort, null, 20);
+                    jobHistoryRepository.findAllAfter(sort, page.getNextCursor(), 20);
+                    jobHistoryRepository.findAllDtosAfter(sort, page.getNextCursor(), 20);
+                }
+            }
+        });
+    }
+
+    @Test
+    void departmentQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> departmentRepository.findById(SEED_ID + 12).get().getEmployees().size());
+    }
+
+    @Test
+    void referenceDataPagesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            departmentRepository.findAll(PAGE);
+            locationRepository.findAll(PAGE);
+            countryRepository.findAll(PAGE);
+            regionRepository.findAll(PAGE);
+            taskRepository.findAll(PAGE);
+        });
+    }
+
+    @Test
+    void jobQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            jobRepository.findOneWithEagerRelationships(SEED_ID + 1234);
+            jobRepository.findAllWithEagerRelationships(PAGE);
+            taskRepository.findById(SEED_ID + 12).get().getJobs().size();
+        });
+    }
+
+    @Test
+    void employeeHierarchyQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            employeeHierarchyRepository.findReports(SEED_ID + 1, 2);
+            employeeHierarchyRepository.findChainOfCommand(SEED_ID + EMPLOYEES);
+            employeeHierarchyRepository.findOneByDescendantIdAndDepth(SEED_ID + 1234, 1);
+            employeeHierarchyRepository.existsByAncestorIdAndDescendantId(SEED_ID + 12, SEED_ID + 1234);
+        });
+    }
+
+    @Test
+    void employeeHierarchyUpdatesUseAnIndex() {
+        long newId = SEED_ID + EMPLOYEES + 1;
+        execute("insert into employee (id, first_name, manager_id) values (" + newId + ", 'New', " + (SEED_ID + 1) + ")");
+
+        assertNoSequentialScan(() -> {
+            employeeHierarchyRepository.insertNodes(Collections.singletonList(newId));
+            employeeHierarchyRepository.moveSubtree(SEED_ID + 1234, SEED_ID + 2);
+        });
+    }
+
+    @Test
+    void userQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            userRepository.findOneByLogin("user1234");
+            userRepository.findOneWithAuthoritiesByLogin("user1235");
+            userRepository.findOneByEmailIgnoreCase("User1234@Example.com");
+            userRepository.findOneWithAuthoritiesByEmailIgnoreCase("User1235@Example.com");
+            userRepository.findOneByActivationKey("act1200");
+            userRepository.findOneByResetKey("reset1000");
+            userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now());
+            userRepository.findAllByIdNotNullAndActivatedIsTrue(PAGE);
+        });
+    }
+
+    @Test
+    void outboxQueriesUseAnIndex() {
+        assertNoSequentialScan(() -> {
+            searchIndexOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant.now(), PageRequest.of(0, 50));
+            searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", SEED_ID + 1234);
+            mailOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant.now(), PageRequest.of(0, 50));
+        });
+    }
+
+    private void assertNoSequentialScan(Runnable queries) {
+        List<String> statements;
+        CapturingStatementInspector.start();
+        try {
+            queries.run();
+        } finally {
+            statements = CapturingStatementInspector.stop();
+        }
+
+        assertThat(statements).isNotEmpty();
+        List<String> sequentialScans = new ArrayList<>();
+        for (String sql : statements) {
+            // the counts of the pages read every row by definition
+            if (!sql.startsWith("select count(")) {
+                sequentialScans.addAll(sequentialScans(sql));
+            }
+        }
+        assertThat(sequentialScans).isEmpty();
+    }
+
+    /**
+     * @return the large tables read with a sequential scan by the generic plan of the statement, with the statement.
+     */
+    private List<String> sequentialScans(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        String[] nulls = new String[parameters];
+        Arrays.fill(nulls, "null");
+        String execute = parameters > 0 ? "execute query_plan_it(" + String.join(", ", nulls) + ")" : "execute query_plan_it";
+        JsonNode plan = doWithConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local plan_cache_mode = force_generic_plan");
+                statement.execute("prepare query_plan_it as " + prepared);
+                try (ResultSet resultSet = statement.executeQuery("explain (format json) " + execute)) {
+                    resultSet.next();
+                    return OBJECT_MAPPER.readTree(resultSet.getString(1));
+                } finally {
+                    statement.execute("deallocate query_plan_it");
+                }
+            } catch (IOException e) {
+                throw new SQLException(e);
+            }
+        });
+        List<String> sequentialScans = new ArrayList<>();
+        collectSequentialScans(plan.get(0).get("Plan"), sql, sequentialScans);
+        return sequentialScans;
+    }
+
+    private static void collectSequentialScans(JsonNode node, String sql, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText() + " in: " + sql);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, sql, sequentialScans);
+        }
+    }
+
+    private void execute(String sql) {
+        doWithConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                return statement.execute();
+            }
+        });
+    }
+
+    private <T> T doWithConnection(ReturningWork<T> work) {
+        Session session = em.unwrap(Session.class);
+        session.flush();
+        return session.doReturningWork(work);
+    }
+}
@@ -0,0 +1,209 @@
+package com.sccodefactory.employee.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.Region;
+import java.util.Arrays;
+import java.util.Collections;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+class BulkSearchIndexerTest {
+
+    private ElasticsearchRestTemplate elasticsearchTemplate;
+
+    private ApplicationProperties applicationProperties;
+
+    private BulkSearchIndexer bulkSearchIndexer;
+
+    @BeforeEach
+    public void setup() {
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        elasticsearchTemplate = mock(ElasticsearchRestTemplate.class);
+        when(elasticsearchTemplate.getElasticsearchConverter()).thenReturn(converter);
+        when(elasticsearchTemplate.getIndexCoordinatesFor(Region.class)).thenReturn(IndexCoordinates.of("region"));
+        applicationProperties = new ApplicationProperties();
+        bulkSearchIndexer = new BulkSearchIndexer(elasticsearchTemplate, applicationProperties);
+    }
+
+    @Test
+    void testExecuteSendsMixedActionsInOneRequest() {
+        respondWith(success(), success());
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Arrays.asList(
+                BulkSearchIndexer.Action.index(new Region().id(1L).regionName("AAAAAAAAAA")),
+                BulkSearchIndexer.Action.delete(Region.class, 2L)
+            )
+        );
+
+        verify(elasticsearchTemplate, times(1)).execute(any());
+        assertThat(result.getActions()).isEqualTo(2);
+        assertThat(result.getTookMillis()).isEqualTo(5);
+        assertThat(result.hasFailures()).isFalse();
+    }
+
+    @Test
+    void testExecuteSplitsRequestsOnActionCount() {
+        applicationProperties.getSearchBulk().setBulkActions(2);
+        respondWith(success(), success());
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Arrays.asList(
+                BulkSearchIndexer.Action.delete(Region.class, 1L),
+                BulkSearchIndexer.Action.delete(Region.class, 2L),
+                BulkSearchIndexer.Action.delete(Region.class, 3L),
+                BulkSearchIndexer.Action.delete(Region.class, 4L)
+            )
+        );
+
+        verify(elasticsearchTemplate, times(2)).execute(any());
+        assertThat(result.getActions()).isEqualTo(4);
+    }
+
+    @Test
+    void testExecuteReportsFailedItems() {
+        respondWith(success(), failure("mapper_parsing_exception"));
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Arrays.asList(BulkSearchIndexer.Action.index(new Region().id(1L)), BulkSearchIndexer.Action.index(new Region().id(2L)))
+        );
+
+        assertThat(result.getFailures())
+            .extracting(BulkIndexResult.Failure::getEntityClass, BulkIndexResult.Failure::getId, BulkIndexResult.Failure::getMessage)
+            .containsExactly(tuple(Region.class, "2", "mapper_parsing_exception"));
+    }
+
+    @Test
+    void testExecuteReportsEveryItemWhenTheRequestFails() {
+        when(elasticsearchTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("unavailable"));
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Arrays.asList(BulkSearchIndexer.Action.index(new Region().id(1L)), BulkSearchIndexer.Action.delete(Region.class, 2L))
+        );
+
+        assertThat(result.getActions()).isEqualTo(2);
+        assertThat(result.getFailures())
+            .extracting(BulkIndexResult.Failure::getId, BulkIndexResult.Failure::getType)
+            .containsExactly(tuple("1", BulkSearchIndexer.Action.Type.INDEX), tuple("2", BulkSearchIndexer.Action.Type.DELETE));
+        assertThat(result.getFailures().get(0).getMessage()).contains("unavailable");
+    }
+
+    @Test
+    void testExecuteIgnoresConflictsOfCreateActions() {
+        respondWith(failure("version_conflict_engine_exception", RestStatus.CONFLICT));
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Collections.singletonList(BulkSearchIndexer.Action.create(new Region().id(1L), "region_1"))
+        );
+
+        assertThat(result.hasFailures()).isFalse();
+    }
+
+    @Test
+    void testExecuteIgnoresConflictsOfVersionedActions() {
+        respondWith(failure("version_conflict_engine_exception", RestStatus.CONFLICT), failure("mapper_parsing_exception"));
+
+        BulkIndexResult result = bulkSearchIndexer.execute(
+            Arrays.asList(BulkSearchIndexer.Action.index(new Region().id(1L), 2L), BulkSearchIndexer.Action.index(new Region().id(3L)))
+        );
+
+        assertThat(result.getFailures()).extracting(BulkIndexResult.Failure::getId).containsExactly("3");
+    }
+
+    @Test
+    void testShadowWritesAreMirroredUntilStopped() {
+        bulkSearchIndexer.startShadowWrites(Region.class, "region_1");
+        respondWith(success(), success(), success(), success());
+
+        bulkSearchIndexer.execute(
+            Arrays.asList(BulkSearchIndexer.Action.index(new Region().id(1L)), BulkSearchIndexer.Action.delete(Region.class, 2L))
+        );
+
+        assertThat(bulkSearchIndexer.getShadowDeletes(Region.class)).containsExactly("2");
+        bulkSearchIndexer.stopShadowWrites(Region.class);
+        assertThat(bulkSearchIndexer.getShadowDeletes(Region.class)).isEmpty();
+        respondWith(success());
+        assertThat(bulkSearchIndexer.execute(Collections.singletonList(BulkSearchIndexer.Action.delete(Region.class, 3L))).getActions())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testShadowFailuresAreReportedApart() {
+        bulkSearchIndexer.startShadowWrites(Region.class, "region_1");
+        respondWith(success(), failure("es_rejected_execution_exception"));
+
+        BulkIndexResult result = bulkSearchIndexer.execute(Collections.singletonList(BulkSearchIndexer.Action.index(new Region().id(1L))));
+
+        assertThat(result.getActions()).isEqualTo(2);
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.getShadowFailures())
+            .extracting(BulkIndexResult.Failure::getId, BulkIndexResult.Failure::getMessage)
+            .containsExactly(tuple("1", "es_rejected_execution_exception"));
+        assertThat(bulkSearchIndexer.getShadowFailureCount(Region.class)).isEqualTo(1);
+        bulkSearchIndexer.stopShadowWrites(Region.class);
+        assertThat(bulkSearchIndexer.getShadowFailureCount(Region.class)).isZero();
+    }
+
+    @Test
+    void testAddSendsTheBufferOnceFull() {
+        applicationProperties.getSearchBulk().setBulkActions(2);
+        respondWith(success(), success());
+
+        bulkSearchIndexer.delete(Region.class, 1L);
+        verify(elasticsearchTemplate, never()).execute(any());
+
+        bulkSearchIndexer.delete(Region.class, 2L);
+        verify(elasticsearchTemplate, times(1)).execute(any());
+
+        assertThat(bulkSearchIndexer.flush().getActions()).isZero();
+        verify(elasticsearchTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void testFlushSendsWhatIsBuffered() {
+        respondWith(success());
+
+        bulkSearchIndexer.index(new Region().id(1L).regionName("AAAAAAAAAA"));
+        BulkIndexResult result = bulkSearchIndexer.flush();
+
+        verify(elasticsearchTemplate, times(1)).execute(any());
+        assertThat(result.getActions()).isEqualTo(1);
+        assertThat(bulkSearchIndexer.flush().getActions()).isZero();
+    }
+
+    private void respondWith(BulkItemResponse... items) {
+        when(elasticsearchTemplate.execute(any())).thenReturn(new BulkResponse(items, 5));
+    }
+
+    private BulkItemResponse success() {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(false);
+        return item;
+    }
+
+    private BulkItemResponse failure(String message) {
+        return failure(message, RestStatus.BAD_REQUEST);
+    }
+
+    private BulkItemResponse failure(String message, RestStatus status) {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(true);
+        when(item.getFailureMessage()).thenReturn(message);
+        when(item.status()).thenReturn(status);
+        return item;
+    }
+}
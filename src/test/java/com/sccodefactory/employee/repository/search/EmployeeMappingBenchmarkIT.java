@@ -0,0 +1,169 @@
+package com.sccodefactory.employee.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.client.ClientConfiguration;
+import org.springframework.data.elasticsearch.client.RestClients;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Benchmark of the employee index created from the declared {@code employee-settings.json} and
+ * {@code employee-mapping.json}, against an index of the same documents left to the dynamic mapping of Elasticsearch,
+ * as the indices were created before.
+ * <p>
+ * Both indices are loaded the way a rebuild loads them, with refreshes disabled and bulk requests of
+ * {@value #BULK_SIZE} documents, then merged to a single segment so that their store sizes can be compared. The store
+ * size is asserted; the indexing throughput depends on the machine and is only logged, for comparison.
+ * <p>
+ * The benchmark runs against the Elasticsearch image of {@code src/main/docker/elasticsearch.yml}, started with
+ * Testcontainers, and is skipped when Docker is not available.
+ */
+class EmployeeMappingBenchmarkIT {
+
+    private static final String IMAGE = "docker.elastic.co/elasticsearch/elasticsearch:7.9.3";
+
+    private static final String DYNAMIC_INDEX = "employee_dynamic";
+
+    private static final int DEPARTMENTS = 50;
+
+    private static final int EMPLOYEES = 20_000;
+
+    private static final int BULK_SIZE = 1_000;
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeMappingBenchmarkIT.class);
+
+    private static ElasticsearchContainer elasticsearch;
+
+    private static RestHighLevelClient client;
+
+    private static ElasticsearchRestTemplate elasticsearchTemplate;
+
+    private static VersionedIndexOperations indexOperations;
+
+    @BeforeAll
+    static void startElasticsearch() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        elasticsearch = new ElasticsearchContainer(DockerImageName.parse(IMAGE));
+        elasticsearch.start();
+        client = RestClients.create(ClientConfiguration.create(elasticsearch.getHttpHostAddress())).rest();
+        elasticsearchTemplate = new ElasticsearchRestTemplate(client);
+        indexOperations = new VersionedIndexOperations(elasticsearchTemplate);
+    }
+
+    @AfterAll
+    static void stopElasticsearch() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (elasticsearch != null) {
+            elasticsearch.stop();
+        }
+    }
+
+    @Test
+    void explicitMappingIsNotLargerThanDynamicMapping() throws IOException {
+        List<Employee> employees = employees();
+
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(DYNAMIC_INDEX)).create(Document.create().append("index.refresh_interval", "-1"));
+        Load dynamic = load(DYNAMIC_INDEX, employees);
+
+        String explicitIndex = indexOperations.createVersionedIndex(Employee.class);
+        Load explicit = load(explicitIndex, employees);
+
+        log.info("Dynamic mapping:  {}", dynamic);
+        log.info("Explicit mapping: {}", explicit);
+        assertThat(explicit.documents).isEqualTo(dynamic.documents).isEqualTo(EMPLOYEES);
+        assertThat(explicit.storeSizeInBytes).isLessThanOrEqualTo(dynamic.storeSizeInBytes);
+    }
+
+    private Load load(String indexName, List<Employee> employees) throws IOException {
+        IndexCoordinates index = IndexCoordinates.of(indexName);
+        long start = System.nanoTime();
+        for (int from = 0; from < employees.size(); from += BULK_SIZE) {
+            elasticsearchTemplate.save(employees.subList(from, Math.min(from + BULK_SIZE, employees.size())), index);
+        }
+        Load load = new Load();
+        load.nanos = System.nanoTime() - start;
+        elasticsearchTemplate.indexOps(index).refresh();
+        client.getLowLevelClient().performRequest(new Request("POST", "/" + indexName + "/_forcemerge?max_num_segments=1"));
+        load.documents = elasticsearchTemplate.count(elasticsearchTemplate.matchAllQuery(), index);
+        load.storeSizeInBytes = indexOperations.getStoreSizeInBytes(indexName);
+        return load;
+    }
+
+    /**
+     * @return a fixed set of employees, ten reports per manager, each with its department and manager, as indexed.
+     */
+    private static List<Employee> employees() {
+        Instant hireDate = Instant.parse("2020-01-01T00:00:00Z");
+        Department[] departments = new Department[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments[i] = new Department().id((long) i + 1).departmentName("Department " + (i + 1));
+        }
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(
+                new Employee()
+                    .id((long) i + 1)
+                    .firstName("First" + Integer.toString(i, 36))
+                    .lastName("Last" + Integer.toString(i * 7 % EMPLOYEES, 36))
+                    .email("employee" + i + "@example.com")
+                    .phoneNumber("+1 555 " + (1_000_000 + i))
+                    .hireDate(hireDate.plus(i % 3650, ChronoUnit.DAYS))
+                    .salary(30_000L + i % 90_000)
+                    .commissionPct((long) (i % 30))
+                    .department(departments[i % DEPARTMENTS])
+                    .manager(i >= 10 ? copyOf(employees.get(i / 10 - 1)) : null)
+            );
+        }
+        return employees;
+    }
+
+    /**
+     * @return the employee without its own manager, as a manager is embedded in its reports.
+     */
+    private static Employee copyOf(Employee employee) {
+        return new Employee()
+            .id(employee.getId())
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .email(employee.getEmail());
+    }
+
+    private static final class Load {
+
+        private long documents;
+
+        private long storeSizeInBytes;
+
+        private long nanos;
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "documents=" + documents +
+                ", storeSizeInBytes=" + storeSizeInBytes +
+                ", docsPerSecond=" + documents * 1_000_000_000L / Math.max(nanos, 1);
+        }
+    }
+}
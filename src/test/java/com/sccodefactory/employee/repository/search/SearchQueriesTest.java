@@ -0,0 +1,28 @@
+package com.sccodefactory.employee.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class SearchQueriesTest {
+
+    @Test
+    void testSafeQueryStringAcceptsTrailingWildcards() {
+        assertThat(SearchQueries.safeQueryString("firstName:joh* AND salary:[1000 TO 2000]").queryString())
+            .isEqualTo("firstName:joh* AND salary:[1000 TO 2000]");
+        assertThat(SearchQueries.safeQueryString("id:1").allowLeadingWildcard()).isFalse();
+    }
+
+    @Test
+    void testSafeQueryStringRejectsLeadingWildcards() {
+        assertThatThrownBy(() -> SearchQueries.safeQueryString("*son")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchQueries.safeQueryString("lastName:?ohnson")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchQueries.safeQueryString("john OR (*son)")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSafeQueryStringRejectsRegularExpressions() {
+        assertThatThrownBy(() -> SearchQueries.safeQueryString("firstName:/jo.*n/")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
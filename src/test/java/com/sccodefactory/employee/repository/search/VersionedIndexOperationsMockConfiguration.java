@@ -0,0 +1,15 @@
+package com.sccodefactory.employee.repository.search;
+
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure a Mock version of {@link VersionedIndexOperations} to test the
+ * application without starting Elasticsearch.
+ */
+@Configuration
+public class VersionedIndexOperationsMockConfiguration {
+
+    @MockBean
+    private VersionedIndexOperations mockVersionedIndexOperations;
+}
@@ -0,0 +1,99 @@
+package com.sccodefactory.employee.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.ObjectPostProcessor;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Unit tests for {@link AuthenticationExecutor}.
+ */
+class AuthenticationExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private AuthenticationExecutor authenticationExecutor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        AuthenticationManagerBuilder authenticationManagerBuilder = new AuthenticationManagerBuilder(
+            new ObjectPostProcessor<Object>() {
+                @Override
+                public <O> O postProcess(O object) {
+                    return object;
+                }
+            }
+        );
+        authenticationManagerBuilder.authenticationProvider(new BlockingAuthenticationProvider());
+        authenticationManagerBuilder.build();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getLogin().setThreads(1);
+        applicationProperties.getSecurity().getLogin().setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationExecutor = new AuthenticationExecutor(authenticationManagerBuilder, applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        authenticationExecutor.shutdown();
+    }
+
+    @Test
+    void loginsBeyondTheQueueAreRejected() throws Exception {
+        CompletableFuture<Authentication> running = authenticationExecutor.authenticate(login("password"));
+        CompletableFuture<Authentication> queued = authenticationExecutor.authenticate(login("wrong"));
+
+        assertThatThrownBy(() -> authenticationExecutor.authenticate(login("password"))).isInstanceOf(LoginRejectedException.class);
+        assertThat(meterRegistry.counter("security.login.rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "login").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS).isAuthenticated()).isTrue();
+        assertThatThrownBy(() -> queued.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(BadCredentialsException.class);
+        assertThat(meterRegistry.timer("security.login", "outcome", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("security.login", "outcome", "failure").count()).isEqualTo(1);
+    }
+
+    private static Authentication login(String password) {
+        return new UsernamePasswordAuthenticationToken("user", password);
+    }
+
+    private final class BlockingAuthenticationProvider implements AuthenticationProvider {
+
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!"password".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getPrincipal(), null, Collections.emptyList());
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+    }
+}
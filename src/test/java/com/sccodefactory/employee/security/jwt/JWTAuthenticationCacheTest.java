@@ -0,0 +1,102 @@
+package com.sccodefactory.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.sccodefactory.employee.security.AuthoritiesConstants;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link JWTAuthenticationCache}.
+ */
+class JWTAuthenticationCacheTest {
+
+    private static final long ONE_MINUTE = 60000;
+
+    private TokenProvider tokenProvider;
+
+    @BeforeEach
+    void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        tokenProvider = spy(new TokenProvider(jHipsterProperties));
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
+    }
+
+    @Test
+    void verifiedTokensAreParsedOnce() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(tokenProvider, 10);
+        String token = createToken("test-user");
+
+        JWTAuthentication authentication = cache.authenticate(token).get();
+
+        assertThat(authentication.getLogin()).isEqualTo("test-user");
+        assertThat(authentication.getToken()).isEqualTo(token);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly(AuthoritiesConstants.USER);
+        assertThat(cache.authenticate(token)).containsSame(authentication);
+        verify(tokenProvider, times(1)).authenticate(anyString());
+    }
+
+    @Test
+    void invalidAndExpiredTokensAreNotCached() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(tokenProvider, 10);
+        String token = createToken("test-user");
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String expiredToken = createToken("test-user");
+
+        assertThat(cache.authenticate(token.substring(1))).isEmpty();
+        assertThat(cache.authenticate(token.substring(1))).isEmpty();
+        assertThat(cache.authenticate(expiredToken)).isEmpty();
+
+        assertThat(cache.size()).isZero();
+        verify(tokenProvider, times(3)).authenticate(anyString());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(tokenProvider, 2);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.authenticate(createToken("user-" + i))).isPresent();
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void eachRequestGetsItsOwnAuthenticationToken() {
+        String token = createToken("test-user");
+        JWTAuthentication authentication = new JWTAuthenticationCache(tokenProvider, 0).authenticate(token).get();
+        UsernamePasswordAuthenticationToken first = authentication.toAuthenticationToken();
+
+        first.setDetails("details");
+        first.eraseCredentials();
+        UsernamePasswordAuthenticationToken second = authentication.toAuthenticationToken();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("test-user");
+        assertThat(second.getCredentials()).hasToString(token);
+        assertThat(second.getDetails()).isNull();
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly(AuthoritiesConstants.USER);
+    }
+
+    private String createToken(String login) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            login,
+            "password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        return tokenProvider.createToken(authentication, false);
+    }
+}
@@ -0,0 +1,130 @@
+package com.sccodefactory.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.security.AuthoritiesConstants;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the authentication of a request bearing a JWT: verified and parsed twice, the way {@link JWTFilter}
+ * used to, verified and parsed once, and read from the {@link JWTAuthenticationCache}.
+ * <p>
+ * The authentications are asserted; the time and the bytes allocated per request depend on the machine and are only
+ * logged, for comparison.
+ */
+class JWTFilterBenchmarkTest {
+
+    private static final int WARMUP_REQUESTS = 2000;
+
+    private static final int REQUESTS = 20000;
+
+    private final Logger log = LoggerFactory.getLogger(JWTFilterBenchmarkTest.class);
+
+    private TokenProvider tokenProvider;
+
+    private String jwt;
+
+    @BeforeEach
+    void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 3600000);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+        jwt = tokenProvider.createToken(authentication, false);
+    }
+
+    @Test
+    void cachedAuthenticationsAreCheaperThanParsing() throws Exception {
+        Round parsedTwice = measure(() -> {
+            if (tokenProvider.validateToken(jwt)) {
+                SecurityContextHolder.getContext().setAuthentication(tokenProvider.getAuthentication(jwt));
+            }
+        });
+        JWTFilter uncached = new JWTFilter(tokenProvider, 0);
+        Round parsedOnce = measure(() -> filter(uncached));
+        JWTFilter cached = new JWTFilter(tokenProvider, 100);
+        Round fromCache = measure(() -> filter(cached));
+
+        log.info("Parsed twice: {}", parsedTwice);
+        log.info("Parsed once:  {}", parsedOnce);
+        log.info("From cache:   {}", fromCache);
+        assertThat(parsedTwice.name).isEqualTo("test-user");
+        assertThat(parsedOnce.name).isEqualTo("test-user");
+        assertThat(fromCache.name).isEqualTo("test-user");
+    }
+
+    private void filter(JWTFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private Round measure(Request request) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request.run();
+        }
+        Round round = new Round();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            SecurityContextHolder.clearContext();
+            request.run();
+        }
+        round.nanos = System.nanoTime() - start;
+        round.allocatedBytes = allocatedBytes() - allocatedBefore;
+        round.name = SecurityContextHolder.getContext().getAuthentication().getName();
+        SecurityContextHolder.clearContext();
+        return round;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or 0 if the JVM does not tell.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws Exception;
+    }
+
+    private static final class Round {
+
+        private String name;
+
+        private long nanos;
+
+        private long allocatedBytes;
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "nanosPerRequest=" + nanos / REQUESTS +
+                ", allocatedBytesPerRequest=" + allocatedBytes / REQUESTS;
+        }
+    }
+}
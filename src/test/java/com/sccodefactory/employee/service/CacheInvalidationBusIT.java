@@ -0,0 +1,155 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.repository.CountryRepository;
+import com.sccodefactory.employee.repository.QueryCacheRegions;
+import com.sccodefactory.employee.repository.UserRepository;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus}, the other instances being played by rows inserted directly.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.cache.invalidation.enabled=true")
+class CacheInvalidationBusIT {
+
+    private static final String KEY = "cache-invalidation-bus-it";
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private org.springframework.cache.CacheManager springCacheManager;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    private Cache<Object, Object> cache;
+
+    @BeforeEach
+    void setup() {
+        cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+    }
+
+    @AfterEach
+    void cleanup() {
+        cache.remove(KEY);
+        cacheInvalidationBus.relay();
+        jdbcTemplate.update("delete from cache_invalidation");
+    }
+
+    @Test
+    void updatesAndRemovalsArePublished() {
+        cache.put(KEY, "created");
+        cacheInvalidationBus.relay();
+        assertThat(countPublished(cacheInvalidationBus.getOrigin())).isZero();
+
+        cache.put(KEY, "updated");
+        cache.remove(KEY);
+        cacheInvalidationBus.relay();
+
+        assertThat(countPublished(cacheInvalidationBus.getOrigin())).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationsOfOtherInstancesAreApplied() {
+        cache.put(KEY, "stale");
+        jdbcTemplate.update(
+            "insert into cache_invalidation (origin, cache_name, cache_key, created_date) values (?, ?, ?, current_timestamp)",
+            "other-instance",
+            UserRepository.USERS_BY_LOGIN_CACHE,
+            SerializationUtils.serialize(KEY)
+        );
+
+        cacheInvalidationBus.relay();
+
+        assertThat(cache.containsKey(KEY)).isFalse();
+        cacheInvalidationBus.relay();
+        assertThat(countPublished(cacheInvalidationBus.getOrigin())).isZero();
+    }
+
+    @Test
+    void clearedEntityRegionsArePublished() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Department.class);
+        cacheInvalidationBus.relay();
+
+        assertThat(countClearsPublished(Department.class.getName())).isEqualTo(1);
+    }
+
+    @Test
+    void clearedQueryCachesArePublished() {
+        // creates the region of the cached reference lists
+        countryRepository.findAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        cacheInvalidationBus.relay();
+
+        assertThat(countClearsPublished(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)).isEqualTo(1);
+        assertThat(countClearsPublished(QueryCacheRegions.REFERENCE_DATA)).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedSpringCachesArePublished() {
+        springCacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).invalidate();
+        cacheInvalidationBus.relay();
+
+        assertThat(countClearsPublished(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo(1);
+    }
+
+    @Test
+    void clearsOfOtherInstancesAreApplied() {
+        Cache<Object, Object> region = cacheManager.getCache(Department.class.getName());
+        region.put(KEY, "stale");
+        jdbcTemplate.update(
+            "insert into cache_invalidation (origin, cache_name, cache_key, created_date) values (?, ?, null, current_timestamp)",
+            "other-instance",
+            Department.class.getName()
+        );
+
+        cacheInvalidationBus.relay();
+
+        assertThat(region.containsKey(KEY)).isFalse();
+        cacheInvalidationBus.relay();
+        assertThat(countClearsPublished(Department.class.getName())).isZero();
+    }
+
+    private int countClearsPublished(String cacheName) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from cache_invalidation where origin = ? and cache_name = ? and cache_key is null",
+            Integer.class,
+            cacheInvalidationBus.getOrigin(),
+            cacheName
+        );
+    }
+
+    private int countPublished(String origin) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from cache_invalidation where origin = ? and cache_name = ?",
+            Integer.class,
+            origin,
+            UserRepository.USERS_BY_LOGIN_CACHE
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.repository.EmployeeHierarchyRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.OrgChartEntry;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link EmployeeHierarchyService}.
+ */
+@IntegrationTest
+@Transactional
+class EmployeeHierarchyServiceIT {
+
+    @Autowired
+    private EmployeeHierarchyService employeeHierarchyService;
+
+    @Autowired
+    private EmployeeHierarchyRepository employeeHierarchyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Employee ceo;
+
+    private Employee vp;
+
+    private Employee developer;
+
+    @BeforeEach
+    void initTest() {
+        ceo = employeeRepository.save(new Employee().firstName("Ceo"));
+        vp = employeeRepository.save(new Employee().firstName("Vp").manager(ceo));
+        developer = employeeRepository.save(new Employee().firstName("Developer").manager(vp));
+    }
+
+    @Test
+    void addAndMove() {
+        employeeHierarchyService.add(ceo);
+        employeeHierarchyService.add(vp);
+        employeeHierarchyService.add(developer);
+        Employee cto = employeeRepository.save(new Employee().firstName("Cto").manager(ceo));
+        employeeHierarchyService.add(cto);
+
+        vp.setManager(cto);
+        employeeHierarchyService.update(vp);
+
+        assertThat(employeeHierarchyService.findChainOfCommand(developer.getId()))
+            .extracting(OrgChartEntry::getId, OrgChartEntry::getDepth)
+            .containsExactly(tuple(vp.getId(), 1), tuple(cto.getId(), 2), tuple(ceo.getId(), 3));
+        assertThat(employeeHierarchyService.findReports(ceo.getId(), null))
+            .extracting(OrgChartEntry::getId)
+            .containsExactly(cto.getId(), vp.getId(), developer.getId());
+        assertThat(employeeHierarchyService.findReports(ceo.getId(), 2))
+            .extracting(OrgChartEntry::getId)
+            .containsExactly(cto.getId(), vp.getId());
+    }
+
+    @Test
+    void moveToTheTop() {
+        employeeHierarchyService.add(ceo);
+        employeeHierarchyService.add(vp);
+        employeeHierarchyService.add(developer);
+
+        vp.setManager(null);
+        employeeHierarchyService.update(vp);
+
+        assertThat(employeeHierarchyService.findReports(ceo.getId(), null)).isEmpty();
+        assertThat(employeeHierarchyService.findChainOfCommand(developer.getId()))
+            .extracting(OrgChartEntry::getId)
+            .containsExactly(vp.getId());
+    }
+
+    @Test
+    void moveBelowAReportIsRejected() {
+        employeeHierarchyService.add(ceo);
+        employeeHierarchyService.add(vp);
+        employeeHierarchyService.add(developer);
+
+        ceo.setManager(developer);
+
+        assertThatThrownBy(() -> employeeHierarchyService.update(ceo)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rebuildEmployeesWrittenAroundTheService() {
+        employeeHierarchyService.initializeHierarchy();
+
+        assertThat(employeeHierarchyRepository.countByDepth(0)).isEqualTo(employeeRepository.count());
+        assertThat(employeeHierarchyService.findReports(ceo.getId(), null))
+            .extracting(OrgChartEntry::getId, OrgChartEntry::getManagerId, OrgChartEntry::getDepth)
+            .containsExactly(tuple(vp.getId(), ceo.getId(), 1), tuple(developer.getId(), vp.getId(), 2));
+    }
+
+    @Test
+    void deletedEmployeesLeaveTheHierarchy() {
+        employeeHierarchyService.add(ceo);
+        employeeHierarchyService.add(vp);
+        employeeHierarchyService.add(developer);
+
+        employeeRepository.delete(developer);
+        em.flush();
+
+        assertThat(employeeHierarchyService.findReports(ceo.getId(), null))
+            .extracting(OrgChartEntry::getId)
+            .containsExactly(vp.getId());
+    }
+}
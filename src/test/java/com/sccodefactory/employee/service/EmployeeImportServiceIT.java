@@ -0,0 +1,188 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import com.sccodefactory.employee.service.dto.ImportResultDTO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link EmployeeImportService}.
+ * <p>
+ * Not transactional: every chunk is committed in its own transaction.
+ */
+@IntegrationTest
+class EmployeeImportServiceIT {
+
+    private static final String EMAIL_DOMAIN = "@import.example.com";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private int chunkSize;
+
+    private Department department;
+
+    private Employee manager;
+
+    @BeforeEach
+    void initTest() {
+        chunkSize = applicationProperties.getImport().getChunkSize();
+        // small chunks, so that the tests span several transactions
+        applicationProperties.getImport().setChunkSize(2);
+        department = departmentRepository.save(new Department().departmentName("Import"));
+        manager = employeeRepository.save(new Employee().firstName("Ada").lastName("Lovelace"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationProperties.getImport().setChunkSize(chunkSize);
+        List<Employee> imported = importedEmployees();
+        imported.forEach(
+            employee ->
+                searchIndexOutboxRepository.deleteAll(
+                    searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())
+                )
+        );
+        employeeRepository.deleteAll(imported);
+        employeeRepository.delete(manager);
+        departmentRepository.delete(department);
+    }
+
+    @Test
+    void importCsv() throws IOException {
+        String csv =
+            "firstName,lastName,email,hireDate,salary,managerId,departmentId\r\n" +
+            "Grace,\"Hopper, \"\"Amazing\"\"\",grace" +
+            EMAIL_DOMAIN +
+            ",2020-01-02T03:04:05Z,1000," +
+            manager.getId() +
+            "," +
+            department.getId() +
+            "\r\n" +
+            "Alan,Turing,alan" +
+            EMAIL_DOMAIN +
+            ",,,,\r\n" +
+            "\r\n" +
+            "Bad,Salary,bad.salary" +
+            EMAIL_DOMAIN +
+            ",,a lot,,\r\n" +
+            "Unknown,Department,unknown.department" +
+            EMAIL_DOMAIN +
+            ",,,,-1\r\n" +
+            "Too,Short\r\n" +
+            "Edsger,Dijkstra,edsger" +
+            EMAIL_DOMAIN +
+            ",,,,\r\n";
+
+        ImportResultDTO result = employeeImportService.importEmployees(DataFormat.CSV, stream(csv));
+
+        assertThat(result.getRows()).isEqualTo(6);
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getFailedRows()).isEqualTo(3);
+        assertThat(result.getErrors())
+            .extracting(ImportResultDTO.RowError::getRow, ImportResultDTO.RowError::getMessage)
+            .containsExactlyInAnyOrder(
+                tuple(3L, "Invalid salary: a lot"),
+                tuple(4L, "Unknown department: -1"),
+                tuple(5L, "Expected 7 columns, found 2")
+            );
+        assertThat(result.getRowsPerSecond()).isPositive();
+
+        List<Employee> imported = importedEmployees();
+        assertThat(imported).extracting(Employee::getFirstName).containsExactlyInAnyOrder("Grace", "Alan", "Edsger");
+        Employee grace = imported.stream().filter(employee -> "Grace".equals(employee.getFirstName())).findFirst().get();
+        assertThat(grace.getLastName()).isEqualTo("Hopper, \"Amazing\"");
+        assertThat(grace.getHireDate()).isEqualTo(Instant.parse("2020-01-02T03:04:05Z"));
+        assertThat(grace.getSalary()).isEqualTo(1000L);
+        assertThat(grace.getManager().getId()).isEqualTo(manager.getId());
+        assertThat(grace.getDepartment().getId()).isEqualTo(department.getId());
+        for (Employee employee : imported) {
+            assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId()))
+                .extracting(SearchIndexOutbox::getOperation)
+                .containsOnly(SearchIndexOperation.INDEX);
+        }
+    }
+
+    @Test
+    void importNdjson() throws IOException {
+        String ndjson =
+            "{\"firstName\":\"Grace\",\"email\":\"grace" +
+            EMAIL_DOMAIN +
+            "\",\"salary\":1000,\"departmentId\":" +
+            department.getId() +
+            "}\n" +
+            "{\"firstName\":\"Broken\"\n" +
+            "{\"id\":42,\"firstName\":\"Existing\",\"email\":\"existing" +
+            EMAIL_DOMAIN +
+            "\"}\n" +
+            "\n" +
+            "{\"firstName\":\"Unknown\",\"nickname\":\"column\"}\n" +
+            "{\"firstName\":\"Alan\",\"email\":\"alan" +
+            EMAIL_DOMAIN +
+            "\",\"hireDate\":null}\n";
+
+        ImportResultDTO result = employeeImportService.importEmployees(DataFormat.NDJSON, stream(ndjson));
+
+        assertThat(result.getRows()).isEqualTo(5);
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getErrors())
+            .extracting(ImportResultDTO.RowError::getRow)
+            .containsExactlyInAnyOrder(2L, 3L, 5L);
+        assertThat(result.getErrors())
+            .extracting(ImportResultDTO.RowError::getMessage)
+            .contains("A new employee cannot already have an ID", "Unknown column: nickname");
+        assertThat(importedEmployees()).extracting(Employee::getFirstName).containsExactlyInAnyOrder("Grace", "Alan");
+    }
+
+    @Test
+    void importCsvWithUnknownColumns() {
+        assertThatThrownBy(() -> employeeImportService.importEmployees(DataFormat.CSV, stream("firstName,nickname\r\nGrace,Amazing\r\n")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(importedEmployees()).isEmpty();
+    }
+
+    private List<Employee> importedEmployees() {
+        return employeeRepository
+            .findAll()
+            .stream()
+            .filter(employee -> employee.getEmail() != null && employee.getEmail().endsWith(EMAIL_DOMAIN))
+            .collect(Collectors.toList());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.domain.enumeration.Language;
+import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.JobHistoryRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ExportService}.
+ */
+@IntegrationTest
+@Transactional
+class ExportServiceIT {
+
+    private static final Instant HIRE_DATE = Instant.parse("2020-01-02T03:04:05Z");
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee manager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void initTest() {
+        Department department = departmentRepository.saveAndFlush(new Department().departmentName("Export"));
+        manager = employeeRepository.saveAndFlush(new Employee().firstName("Ada").lastName("Lovelace"));
+        employee =
+            employeeRepository.saveAndFlush(
+                new Employee()
+                    .firstName("Grace")
+                    .lastName("Hopper, \"Amazing\"")
+                    .hireDate(HIRE_DATE)
+                    .salary(1000L)
+                    .manager(manager)
+                    .department(department)
+            );
+    }
+
+    @Test
+    void assertThatEmployeesAreExportedAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportEmployees(DataFormat.NDJSON, out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize((int) rows);
+        JsonNode exported = lines.stream().filter(line -> line.get("id").asLong() == employee.getId()).findFirst().get();
+        assertThat(exported.get("lastName").asText()).isEqualTo("Hopper, \"Amazing\"");
+        assertThat(exported.get("hireDate").asText()).isEqualTo("2020-01-02T03:04:05Z");
+        assertThat(exported.get("salary").asLong()).isEqualTo(1000L);
+        assertThat(exported.get("managerId").asLong()).isEqualTo(manager.getId());
+        assertThat(exported.get("departmentId").asLong()).isEqualTo(employee.getDepartment().getId());
+        assertThat(exported.get("email").isNull()).isTrue();
+    }
+
+    @Test
+    void assertThatEmployeesAreExportedAsCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportEmployees(DataFormat.CSV, out);
+
+        List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8.name()).split("\r\n"));
+        assertThat(lines).hasSize((int) rows + 1);
+        assertThat(lines.get(0)).isEqualTo("id,firstName,lastName,email,phoneNumber,hireDate,salary,commissionPct,managerId,departmentId");
+        assertThat(lines)
+            .contains(
+                employee.getId() +
+                ",Grace,\"Hopper, \"\"Amazing\"\"\",,,2020-01-02T03:04:05Z,1000,," +
+                manager.getId() +
+                "," +
+                employee.getDepartment().getId()
+            );
+    }
+
+    @Test
+    void assertThatJobHistoriesAreExportedWithTheIdsOfTheirRelationships() throws Exception {
+        JobHistory jobHistory = jobHistoryRepository.saveAndFlush(
+            new JobHistory().startDate(HIRE_DATE).language(Language.FRENCH).employee(employee)
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportJobHistories(DataFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8.name()))
+            .startsWith("id,startDate,endDate,language,jobId,departmentId,employeeId\r\n")
+            .contains(jobHistory.getId() + ",2020-01-02T03:04:05Z,,FRENCH,,," + employee.getId() + "\r\n");
+    }
+}
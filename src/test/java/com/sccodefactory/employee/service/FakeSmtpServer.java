@@ -0,0 +1,131 @@
+package com.sccodefactory.employee.service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * A local SMTP server for the tests, accepting one connection at a time and keeping the messages in memory.
+ */
+public class FakeSmtpServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+
+    private final List<byte[]> messages = new CopyOnWriteArrayList<>();
+
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(this::serve, "fake-smtp-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the number of SMTP connections so far.
+     */
+    public int getSessions() {
+        return sessions.get();
+    }
+
+    /**
+     * @return the messages received so far, in order.
+     */
+    public List<MimeMessage> getMessages() throws MessagingException {
+        Session session = Session.getInstance(new Properties());
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        for (byte[] message : messages) {
+            mimeMessages.add(new MimeMessage(session, new ByteArrayInputStream(message)));
+        }
+        return mimeMessages;
+    }
+
+    /**
+     * Answer the messages to this recipient with a permanent failure.
+     */
+    public void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                sessions.incrementAndGet();
+                converse(socket);
+            } catch (IOException e) {
+                // closed, or the client went away
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1);
+        reply(out, "220 localhost fake SMTP server");
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase(Locale.ROOT);
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(out, "250 localhost");
+            } else if (command.startsWith("RCPT TO:")) {
+                String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                reply(out, rejectedRecipients.contains(recipient) ? "550 Mailbox unavailable" : "250 OK");
+            } else if (command.startsWith("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                messages.add(readData(in));
+                reply(out, "250 OK");
+            } else if (command.startsWith("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                // MAIL FROM, RSET, NOOP
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private static byte[] readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !".".equals(line)) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void reply(Writer out, String reply) throws IOException {
+        out.write(reply + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,161 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.MailOutbox;
+import com.sccodefactory.employee.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailOutboxRelay}, against a local SMTP server.
+ */
+@IntegrationTest
+@Transactional
+class MailOutboxRelayIT {
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FakeSmtpServer smtpServer;
+
+    private MailOutboxRelay mailOutboxRelay;
+
+    @BeforeEach
+    void setup() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(smtpServer.getPort());
+        applicationProperties.getMailOutbox().setMaxAttempts(2);
+        mailOutboxRelay =
+            new MailOutboxRelay(
+                mailOutboxRepository,
+                javaMailSender,
+                jHipsterProperties,
+                Runnable::run,
+                transactionManager,
+                applicationProperties,
+                meterRegistry
+            );
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    void assertThatABatchIsSentThroughOneSession() throws Exception {
+        enqueue("john.doe@example.com");
+        enqueue("jane.doe@example.com");
+        enqueue("jim.doe@example.com");
+
+        assertThat(mailOutboxRelay.relayBatch()).isEqualTo(3);
+
+        assertThat(smtpServer.getSessions()).isEqualTo(1);
+        List<MimeMessage> messages = smtpServer.getMessages();
+        assertThat(messages)
+            .extracting(message -> ((InternetAddress) message.getAllRecipients()[0]).getAddress())
+            .containsExactly("john.doe@example.com", "jane.doe@example.com", "jim.doe@example.com");
+        assertThat(mailOutboxRepository.findAll()).isEmpty();
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "sent").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("mail.session", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatOnlyRejectedEmailsAreRescheduled() throws Exception {
+        smtpServer.reject("john.doe@example.com");
+        MailOutbox rejected = enqueue("john.doe@example.com");
+        enqueue("jane.doe@example.com");
+        Instant beforeRelay = Instant.now();
+
+        mailOutboxRelay.relayBatch();
+
+        assertThat(smtpServer.getMessages()).hasSize(1);
+        List<MailOutbox> entries = mailOutboxRepository.findAll();
+        assertThat(entries).extracting(MailOutbox::getId).containsExactly(rejected.getId());
+        assertThat(entries.get(0).getAttempts()).isEqualTo(1);
+        assertThat(entries.get(0).getNextAttemptDate()).isAfter(beforeRelay);
+        assertThat(entries.get(0).getLastError()).isNotBlank();
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatEmailsAreDroppedAfterTheLastAttempt() {
+        smtpServer.reject("john.doe@example.com");
+        MailOutbox rejected = enqueue("john.doe@example.com");
+        rejected.setAttempts(1);
+        mailOutboxRepository.saveAndFlush(rejected);
+
+        mailOutboxRelay.relayBatch();
+
+        assertThat(mailOutboxRepository.findAll()).isEmpty();
+        assertThat(meterRegistry.counter("mail.messages", "outcome", "dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatClaimedEmailsAreNotSentAgainWhileBeingSent() {
+        enqueue("john.doe@example.com");
+        int[] processedMeanwhile = new int[1];
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                processedMeanwhile[0] = mailOutboxRelay.relayBatch();
+            }
+        };
+        MailOutboxRelay claimingRelay = new MailOutboxRelay(
+            mailOutboxRepository,
+            javaMailSender,
+            jHipsterProperties,
+            Runnable::run,
+            transactionManager,
+            applicationProperties,
+            meterRegistry
+        );
+
+        assertThat(claimingRelay.relayBatch()).isEqualTo(1);
+
+        assertThat(processedMeanwhile[0]).isZero();
+        assertThat(smtpServer.getMessages()).isEmpty();
+        assertThat(mailOutboxRepository.findAll()).isEmpty();
+    }
+
+    private MailOutbox enqueue(String recipient) {
+        Instant now = Instant.now();
+        return mailOutboxRepository.saveAndFlush(
+            new MailOutbox()
+                .recipient(recipient)
+                .subject("testSubject")
+                .content("testContent")
+                .multipart(false)
+                .html(false)
+                .createdDate(now)
+                .nextAttemptDate(now)
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrgTreeService}.
+ */
+class OrgTreeServiceTest {
+
+    private EmployeeRepository employeeRepository;
+
+    private OrgTreeService orgTreeService;
+
+    @BeforeEach
+    void init() {
+        employeeRepository = mock(EmployeeRepository.class);
+        orgTreeService = new OrgTreeService(employeeRepository);
+    }
+
+    @Test
+    void refreshLoadsTheEmployees() {
+        when(employeeRepository.findAllIdsAndManagerIds()).thenReturn(rows(new Object[] { 1L, null }, new Object[] { 2L, 1L }));
+
+        OrgTree tree = orgTreeService.refresh();
+
+        assertThat(orgTreeService.getSnapshot()).isSameAs(tree);
+        assertThat(tree.getManagerId(2)).isEqualTo(1);
+    }
+
+    @Test
+    void refreshReplaysTheChangesAppliedWhileReloading() {
+        when(employeeRepository.findAllIdsAndManagerIds())
+            .thenAnswer(
+                invocation -> {
+                    // committed after the employees were read
+                    orgTreeService.putAll(Collections.singletonMap(3L, 1L));
+                    orgTreeService.remove(2L);
+                    return rows(new Object[] { 1L, null }, new Object[] { 2L, 1L });
+                }
+            );
+
+        OrgTree tree = orgTreeService.refresh();
+
+        assertThat(orgTreeService.getSnapshot()).isSameAs(tree);
+        assertThat(tree.contains(2)).isFalse();
+        assertThat(tree.getManagerId(3)).isEqualTo(1);
+    }
+
+    @Test
+    void changesAppliedBetweenReloadsAreNotReplayed() {
+        when(employeeRepository.findAllIdsAndManagerIds()).thenReturn(rows(new Object[] { 1L, null }));
+        orgTreeService.refresh();
+        orgTreeService.putAll(Collections.singletonMap(2L, 1L));
+        // the employee was deleted since, without going through the service
+        when(employeeRepository.findAllIdsAndManagerIds()).thenReturn(rows(new Object[] { 1L, null }));
+
+        OrgTree tree = orgTreeService.refresh();
+
+        assertThat(tree.contains(2)).isFalse();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+}
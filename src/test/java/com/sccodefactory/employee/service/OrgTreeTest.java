@@ -0,0 +1,101 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrgTreeTest {
+
+    private static final long NONE = OrgTree.NO_MANAGER;
+
+    private OrgTree tree;
+
+    /**
+     * 1
+     * ├── 2
+     * │   ├── 4
+     * │   └── 5
+     * │       └── 7
+     * └── 3
+     *     └── 6
+     * 8
+     */
+    @BeforeEach
+    void init() {
+        tree = new OrgTree(new long[] { 7, 5, 1, 3, 8, 2, 6, 4 }, new long[] { 5, 2, NONE, 1, NONE, 1, 3, 2 });
+    }
+
+    @Test
+    void queries() {
+        assertThat(tree.size()).isEqualTo(8);
+        assertThat(tree.getManagerId(5)).isEqualTo(2);
+        assertThat(tree.getManagerId(1)).isEqualTo(NONE);
+        assertThat(tree.getDepth(7)).isEqualTo(3);
+        assertThat(tree.getSpanOfControl(2)).isEqualTo(2);
+        assertThat(tree.getSpanOfControl(8)).isZero();
+        assertThat(tree.getReportCount(1)).isEqualTo(6);
+        assertThat(tree.getDirectReports(1)).containsExactly(2, 3);
+        assertThat(tree.getReports(1, Integer.MAX_VALUE)).containsExactly(2, 4, 5, 7, 3, 6);
+        assertThat(tree.getReports(1, 2)).containsExactly(2, 4, 5, 3, 6);
+        assertThat(tree.getChainOfCommand(7)).containsExactly(5, 2, 1);
+        assertThat(tree.isReportOf(7, 1)).isTrue();
+        assertThat(tree.isReportOf(6, 2)).isFalse();
+        assertThat(tree.isReportOf(1, 1)).isFalse();
+    }
+
+    @Test
+    void unknownEmployee() {
+        assertThat(tree.contains(9)).isFalse();
+        assertThatThrownBy(() -> tree.getDepth(9)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void withManagersMovesAndAdds() {
+        OrgTree patched = tree.withManagers(new long[] { 2, 9 }, new long[] { 3, 7 });
+
+        assertThat(patched.getChainOfCommand(9)).containsExactly(7, 5, 2, 3, 1);
+        assertThat(patched.getReports(3, Integer.MAX_VALUE)).containsExactly(2, 4, 5, 7, 9, 6);
+        assertThat(patched.getSpanOfControl(1)).isEqualTo(1);
+        assertThat(tree.getSpanOfControl(1)).isEqualTo(2);
+        assertThat(tree.contains(9)).isFalse();
+    }
+
+    @Test
+    void withManagersMergesTheIdsInOrder() {
+        OrgTree patched = tree.withManagers(new long[] { 9, 0, 4 }, new long[] { NONE, 1, 3 });
+
+        assertThat(patched.size()).isEqualTo(10);
+        assertThat(patched.getDirectReports(1)).containsExactly(0, 2, 3);
+        assertThat(patched.getDirectReports(3)).containsExactly(4, 6);
+        assertThat(patched.getManagerId(9)).isEqualTo(NONE);
+        assertThat(patched.getReports(1, Integer.MAX_VALUE)).containsExactly(0, 2, 5, 7, 3, 4, 6);
+    }
+
+    @Test
+    void withoutMovesTheReportsToTheTop() {
+        OrgTree patched = tree.without(5);
+
+        assertThat(patched.contains(5)).isFalse();
+        assertThat(patched.getDepth(7)).isZero();
+        assertThat(patched.getReportCount(1)).isEqualTo(4);
+        assertThat(tree.without(9)).isSameAs(tree);
+    }
+
+    @Test
+    void cyclesAreBroken() {
+        OrgTree cyclic = new OrgTree(new long[] { 1, 2, 3, 4 }, new long[] { 3, 1, 2, 1 });
+
+        assertThat(cyclic.getManagerId(1)).isEqualTo(NONE);
+        assertThat(cyclic.getReports(1, Integer.MAX_VALUE)).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void duplicateIdsAreRejected() {
+        assertThatThrownBy(() -> new OrgTree(new long[] { 1, 1 }, new long[] { NONE, NONE })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OrgTree(new long[] { 3, 1, 3 }, new long[] { NONE, NONE, 1 }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
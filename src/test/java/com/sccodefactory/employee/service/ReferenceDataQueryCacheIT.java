@@ -0,0 +1,85 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Region;
+import com.sccodefactory.employee.repository.RegionRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the query cache of the reference data lists, with the second-level cache enabled as in
+ * production.
+ * <p>
+ * The cached results are only reused across transactions, so the tests commit, and clean up after themselves.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class ReferenceDataQueryCacheIT {
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Region region;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        region = regionService.save(new Region().regionName("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        regionService.delete(region.getId());
+        searchIndexOutboxRepository.deleteAll();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void listsAreReadFromTheQueryCache() {
+        statistics.clear();
+
+        assertThat(regionRepository.findAll()).contains(region);
+        assertThat(regionRepository.findAll()).contains(region);
+
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesThroughTheServiceInvalidateTheLists() {
+        regionRepository.findAll();
+
+        regionService.save(region.regionName("BBBBBBBBBB"));
+        statistics.clear();
+
+        assertThat(regionRepository.findAll()).extracting(Region::getRegionName).contains("BBBBBBBBBB");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package com.sccodefactory.employee.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.sccodefactory.employee.config.ApplicationProperties;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.Job;
+import com.sccodefactory.employee.repository.search.VersionedIndexOperations;
+import com.sccodefactory.employee.service.dto.SearchReindexStatusDTO;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexInitializerTest {
+
+    private VersionedIndexOperations versionedIndexOperations;
+
+    private SearchReindexService searchReindexService;
+
+    private ApplicationProperties applicationProperties;
+
+    private SearchIndexInitializer searchIndexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        versionedIndexOperations = mock(VersionedIndexOperations.class);
+        searchReindexService = mock(SearchReindexService.class);
+        IndexedEntityTypes indexedEntityTypes = mock(IndexedEntityTypes.class);
+        Map<String, Class<?>> entityTypes = new TreeMap<>();
+        entityTypes.put("Department", Department.class);
+        entityTypes.put("Employee", Employee.class);
+        entityTypes.put("Job", Job.class);
+        when(indexedEntityTypes.getAll()).thenReturn(entityTypes);
+        when(versionedIndexOperations.getDeclaredMappingVersion(any())).thenReturn(2);
+        when(versionedIndexOperations.exists(any())).thenReturn(true);
+        when(versionedIndexOperations.getLiveMappingVersion(any())).thenReturn(OptionalInt.of(2));
+        when(searchReindexService.start(any())).thenReturn(Optional.of(new SearchReindexStatusDTO(Collections.emptyList())));
+        applicationProperties = new ApplicationProperties();
+        searchIndexInitializer =
+            new SearchIndexInitializer(versionedIndexOperations, indexedEntityTypes, searchReindexService, applicationProperties);
+    }
+
+    @Test
+    void testMissingIndicesAreCreatedFromTheDeclaredMapping() {
+        when(versionedIndexOperations.exists(Job.class)).thenReturn(false);
+        when(versionedIndexOperations.createVersionedIndex(Job.class)).thenReturn("job_20261018000000000");
+
+        searchIndexInitializer.initializeIndices();
+
+        verify(versionedIndexOperations).completeLoading(Job.class, "job_20261018000000000");
+        verify(versionedIndexOperations).swapAlias(Job.class, "job_20261018000000000");
+        verify(versionedIndexOperations, never()).createVersionedIndex(Employee.class);
+        verify(searchReindexService, never()).start(any());
+    }
+
+    @Test
+    void testOutdatedIndicesAreRebuiltWhenEnabled() {
+        applicationProperties.getSearch().setReindexOnMappingChange(true);
+        when(versionedIndexOperations.getLiveMappingVersion(Employee.class)).thenReturn(OptionalInt.of(1));
+        when(versionedIndexOperations.getLiveMappingVersion(Job.class)).thenReturn(OptionalInt.empty());
+
+        searchIndexInitializer.initializeIndices();
+
+        verify(searchReindexService).start(Arrays.asList("Employee", "Job"));
+        verify(versionedIndexOperations, never()).createVersionedIndex(any());
+    }
+
+    @Test
+    void testNewerIndicesAreKept() {
+        applicationProperties.getSearch().setReindexOnMappingChange(true);
+        when(versionedIndexOperations.getLiveMappingVersion(Employee.class)).thenReturn(OptionalInt.of(3));
+
+        searchIndexInitializer.initializeIndices();
+
+        verify(searchReindexService, never()).start(any());
+    }
+
+    @Test
+    void testNothingIsCheckedWhenDisabled() {
+        applicationProperties.getSearch().setManageIndices(false);
+
+        searchIndexInitializer.initializeIndices();
+
+        verifyNoInteractions(versionedIndexOperations, searchReindexService);
+    }
+}
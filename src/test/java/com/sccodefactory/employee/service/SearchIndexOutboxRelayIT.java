@@ -0,0 +1,203 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import com.sccodefactory.employee.repository.search.BulkIndexResult;
+import com.sccodefactory.employee.repository.search.BulkSearchIndexer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SearchIndexOutboxRelay}.
+ */
+@IntegrationTest
+@Transactional
+class SearchIndexOutboxRelayIT {
+
+    private static final Long MISSING_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SearchIndexOutboxService searchIndexOutboxService;
+
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
+    @Autowired
+    private SearchIndexOutboxRelay searchIndexOutboxRelay;
+
+    /**
+     * This indexer is mocked in the com.sccodefactory.employee.repository.search test package.
+     *
+     * @see com.sccodefactory.employee.repository.search.BulkSearchIndexerMockConfiguration
+     */
+    @Autowired
+    private BulkSearchIndexer mockBulkSearchIndexer;
+
+    @BeforeEach
+    void initMock() {
+        reset(mockBulkSearchIndexer);
+        when(mockBulkSearchIndexer.execute(anyList())).thenReturn(new BulkIndexResult());
+    }
+
+    @Test
+    void assertThatQueuedEntriesAreIndexedOnceAndRemoved() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+
+        searchIndexOutboxRelay.relayBatch();
+
+        assertThat(relayedActions())
+            .extracting(BulkSearchIndexer.Action::getType, BulkSearchIndexer.Action::getEntity)
+            .containsExactly(tuple(BulkSearchIndexer.Action.Type.INDEX, employee));
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
+    }
+
+    @Test
+    void assertThatDocumentsAreVersionedByTheirLatestEntry() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        searchIndexOutboxService.enqueueDelete(Employee.class, MISSING_ID);
+        List<SearchIndexOutbox> entries = searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc(
+            "Employee",
+            employee.getId()
+        );
+        Long latestId = entries.get(entries.size() - 1).getId();
+        Long deleteId = searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", MISSING_ID).get(0).getId();
+
+        searchIndexOutboxRelay.relayBatch();
+
+        assertThat(relayedActions())
+            .extracting(BulkSearchIndexer.Action::getType, BulkSearchIndexer.Action::getVersion)
+            .containsExactlyInAnyOrder(
+                tuple(BulkSearchIndexer.Action.Type.INDEX, latestId),
+                tuple(BulkSearchIndexer.Action.Type.DELETE, deleteId)
+            );
+    }
+
+    @Test
+    void assertThatTheBatchIsClaimedWhileItIsSent() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        List<SearchIndexOutbox> dueWhileSent = new ArrayList<>();
+        when(mockBulkSearchIndexer.execute(anyList()))
+            .thenAnswer(
+                invocation -> {
+                    dueWhileSent.addAll(
+                        searchIndexOutboxRepository.findAllByNextAttemptDateLessThanEqualOrderByIdAsc(Instant.now(), PageRequest.of(0, 10))
+                    );
+                    return new BulkIndexResult();
+                }
+            );
+
+        searchIndexOutboxRelay.relayBatch();
+
+        assertThat(dueWhileSent).isEmpty();
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
+    }
+
+    @Test
+    void assertThatAllEntityTypesAreSentInOneBulkRequest() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        Department department = departmentRepository.saveAndFlush(new Department().departmentName("AAAAAAAAAA"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        searchIndexOutboxService.enqueueIndex(Department.class, department.getId());
+
+        searchIndexOutboxRelay.relayBatch();
+
+        verify(mockBulkSearchIndexer, times(1)).execute(anyList());
+        assertThat(relayedActions())
+            .extracting(BulkSearchIndexer.Action::getEntity)
+            .containsExactlyInAnyOrder(employee, department);
+    }
+
+    @Test
+    void assertThatLatestOperationWinsForTheSameEntity() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, employee.getId());
+        searchIndexOutboxService.enqueueDelete(Employee.class, employee.getId());
+
+        searchIndexOutboxRelay.relayBatch();
+
+        assertThat(relayedActions())
+            .extracting(BulkSearchIndexer.Action::getType, BulkSearchIndexer.Action::getId)
+            .containsExactly(tuple(BulkSearchIndexer.Action.Type.DELETE, String.valueOf(employee.getId())));
+    }
+
+    @Test
+    void assertThatEntitiesMissingFromTheDatabaseAreRemovedFromTheIndex() {
+        searchIndexOutboxService.enqueueIndex(Employee.class, MISSING_ID);
+
+        searchIndexOutboxRelay.relayBatch();
+
+        assertThat(relayedActions())
+            .extracting(BulkSearchIndexer.Action::getType, BulkSearchIndexer.Action::getId)
+            .containsExactly(tuple(BulkSearchIndexer.Action.Type.DELETE, String.valueOf(MISSING_ID)));
+    }
+
+    @Test
+    void assertThatOnlyFailedEntriesAreRescheduled() {
+        Employee failed = employeeRepository.saveAndFlush(new Employee().firstName("AAAAAAAAAA"));
+        Employee indexed = employeeRepository.saveAndFlush(new Employee().firstName("BBBBBBBBBB"));
+        searchIndexOutboxService.enqueueIndex(Employee.class, failed.getId());
+        searchIndexOutboxService.enqueueIndex(Employee.class, indexed.getId());
+        BulkIndexResult result = mock(BulkIndexResult.class);
+        when(result.getFailures())
+            .thenReturn(
+                Collections.singletonList(
+                    new BulkIndexResult.Failure(
+                        Employee.class,
+                        String.valueOf(failed.getId()),
+                        BulkSearchIndexer.Action.Type.INDEX,
+                        "es_rejected_execution_exception"
+                    )
+                )
+            );
+        when(mockBulkSearchIndexer.execute(anyList())).thenReturn(result);
+        Instant beforeRelay = Instant.now();
+
+        searchIndexOutboxRelay.relayBatch();
+
+        List<SearchIndexOutbox> entries = searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc(
+            "Employee",
+            failed.getId()
+        );
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getAttempts()).isEqualTo(1);
+        assertThat(entries.get(0).getNextAttemptDate()).isAfter(beforeRelay);
+        assertThat(entries.get(0).getLastError()).contains("es_rejected_execution_exception");
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", indexed.getId())).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BulkSearchIndexer.Action> relayedActions() {
+        ArgumentCaptor<List<BulkSearchIndexer.Action>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockBulkSearchIndexer).execute(captor.capture());
+        return captor.getValue();
+    }
+}
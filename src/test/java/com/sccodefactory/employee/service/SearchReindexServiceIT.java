@@ -0,0 +1,151 @@
+package com.sccodefactory.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.search.BulkIndexResult;
+import com.sccodefactory.employee.repository.search.BulkSearchIndexer;
+import com.sccodefactory.employee.repository.search.VersionedIndexOperations;
+import com.sccodefactory.employee.service.dto.SearchReindexStatusDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link SearchReindexService}.
+ * <p>
+ * Not transactional: the tables are scanned from worker threads, which only see committed rows.
+ */
+@IntegrationTest
+class SearchReindexServiceIT {
+
+    private static final String INDEX_NAME = "employee_20261018000000000";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SearchReindexService searchReindexService;
+
+    /**
+     * This indexer is mocked in the com.sccodefactory.employee.repository.search test package.
+     *
+     * @see com.sccodefactory.employee.repository.search.BulkSearchIndexerMockConfiguration
+     */
+    @Autowired
+    private BulkSearchIndexer mockBulkSearchIndexer;
+
+    /**
+     * @see com.sccodefactory.employee.repository.search.VersionedIndexOperationsMockConfiguration
+     */
+    @Autowired
+    private VersionedIndexOperations mockVersionedIndexOperations;
+
+    private final List<BulkSearchIndexer.Action> sentActions = Collections.synchronizedList(new ArrayList<>());
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void initTest() {
+        reset(mockBulkSearchIndexer, mockVersionedIndexOperations);
+        when(mockVersionedIndexOperations.createVersionedIndex(Employee.class)).thenReturn(INDEX_NAME);
+        when(mockBulkSearchIndexer.execute(anyList()))
+            .thenAnswer(
+                invocation -> {
+                    sentActions.addAll(invocation.getArgument(0));
+                    return new BulkIndexResult();
+                }
+            );
+        employees =
+            employeeRepository.saveAll(
+                IntStream.range(0, 10).mapToObj(i -> new Employee().firstName("AAAAAAAAAA" + i)).collect(Collectors.toList())
+            );
+    }
+
+    @AfterEach
+    void cleanup() {
+        employeeRepository.deleteAll(employees);
+    }
+
+    @Test
+    void assertThatEveryRowIsWrittenToTheNewIndexBeforeTheAliasSwap() {
+        SearchReindexStatusDTO status = searchReindexService.reindex(Collections.singletonList("Employee")).get();
+
+        assertThat(status.getState()).isEqualTo(SearchReindexStatusDTO.State.COMPLETED);
+        SearchReindexStatusDTO.EntityStatus employeeStatus = status.getEntities().get(0);
+        assertThat(employeeStatus.getIndexName()).isEqualTo(INDEX_NAME);
+        assertThat(employeeStatus.getIndexedDocuments()).isEqualTo(employeeRepository.count());
+        assertThat(employeeStatus.getProgress()).isEqualTo(1);
+        assertThat(sentActions).allMatch(action -> action.getType() == BulkSearchIndexer.Action.Type.CREATE);
+        assertThat(sentActions).allMatch(action -> INDEX_NAME.equals(action.getIndexName()));
+        Set<Long> sentIds = sentActions.stream().map(action -> ((Employee) action.getEntity()).getId()).collect(Collectors.toSet());
+        assertThat(sentIds).containsAll(employees.stream().map(Employee::getId).collect(Collectors.toList()));
+
+        verify(mockBulkSearchIndexer).startShadowWrites(Employee.class, INDEX_NAME);
+        verify(mockVersionedIndexOperations).completeLoading(Employee.class, INDEX_NAME);
+        verify(mockVersionedIndexOperations).swapAlias(Employee.class, INDEX_NAME);
+        verify(mockBulkSearchIndexer).stopShadowWrites(Employee.class);
+    }
+
+    @Test
+    void assertThatDeletesMirroredDuringTheScanAreReplayed() {
+        when(mockBulkSearchIndexer.getShadowDeletes(Employee.class)).thenReturn(Collections.singleton("42"));
+
+        searchReindexService.reindex(Collections.singletonList("Employee"));
+
+        assertThat(sentActions)
+            .filteredOn(action -> action.getType() == BulkSearchIndexer.Action.Type.DELETE)
+            .extracting(BulkSearchIndexer.Action::getId, BulkSearchIndexer.Action::getIndexName)
+            .containsExactly(tuple("42", INDEX_NAME));
+    }
+
+    @Test
+    void assertThatTheAliasIsKeptWhenDocumentsFail() {
+        BulkIndexResult failed = mock(BulkIndexResult.class);
+        when(failed.getFailures())
+            .thenReturn(
+                Collections.singletonList(new BulkIndexResult.Failure(Employee.class, "1", BulkSearchIndexer.Action.Type.CREATE, "rejected"))
+            );
+        when(mockBulkSearchIndexer.execute(anyList())).thenReturn(failed);
+
+        SearchReindexStatusDTO status = searchReindexService.reindex(Collections.singletonList("Employee")).get();
+
+        assertThat(status.getState()).isEqualTo(SearchReindexStatusDTO.State.FAILED);
+        assertThat(status.getEntities().get(0).getFailedDocuments()).isPositive();
+        verify(mockVersionedIndexOperations, never()).swapAlias(any(), any());
+        verify(mockVersionedIndexOperations).deleteIndex(INDEX_NAME);
+        verify(mockBulkSearchIndexer).stopShadowWrites(Employee.class);
+    }
+
+    @Test
+    void assertThatTheAliasIsKeptWhenMirroredWritesFail() {
+        when(mockBulkSearchIndexer.getShadowFailureCount(Employee.class)).thenReturn(1);
+
+        SearchReindexStatusDTO status = searchReindexService.reindex(Collections.singletonList("Employee")).get();
+
+        assertThat(status.getState()).isEqualTo(SearchReindexStatusDTO.State.FAILED);
+        assertThat(status.getEntities().get(0).getFailedDocuments()).isEqualTo(1);
+        verify(mockVersionedIndexOperations, never()).swapAlias(any(), any());
+        verify(mockVersionedIndexOperations).deleteIndex(INDEX_NAME);
+    }
+
+    @Test
+    void assertThatUnknownEntitiesAreRejected() {
+        assertThatThrownBy(() -> searchReindexService.reindex(Collections.singletonList("Unknown")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
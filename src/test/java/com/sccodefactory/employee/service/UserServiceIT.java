@@ -1,16 +1,15 @@
 package com.sccodefactory.employee.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sccodefactory.employee.IntegrationTest;
 import com.sccodefactory.employee.config.Constants;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
 import com.sccodefactory.employee.domain.User;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.UserRepository;
-import com.sccodefactory.employee.repository.search.UserSearchRepository;
 import com.sccodefactory.employee.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -54,13 +53,8 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
-    /**
-     * This repository is mocked in the com.sccodefactory.employee.repository.search test package.
-     *
-     * @see com.sccodefactory.employee.repository.search.UserSearchRepositoryMockConfiguration
-     */
     @Autowired
-    private UserSearchRepository mockUserSearchRepository;
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
 
     @Autowired
     private AuditingHandler auditingHandler;
@@ -177,8 +171,10 @@ class UserServiceIT {
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isEmpty();
 
-        // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        // Verify the user is queued for removal from Elasticsearch
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("User", dbUser.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -197,7 +193,7 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
 
-        // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, never()).delete(user);
+        // Verify nothing is queued for Elasticsearch
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("User", dbUser.getId())).isEmpty();
     }
 }
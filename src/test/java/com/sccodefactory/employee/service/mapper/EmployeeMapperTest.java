@@ -0,0 +1,43 @@
+package com.sccodefactory.employee.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.service.dto.EmployeeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmployeeMapper}.
+ */
+class EmployeeMapperTest {
+
+    private EmployeeMapper employeeMapper;
+
+    @BeforeEach
+    public void setUp() {
+        employeeMapper = new EmployeeMapperImpl();
+    }
+
+    @Test
+    void toDtoKeepsTheIdsOfTheRelationships() {
+        Department department = new Department().id(2L);
+        Employee employee = new Employee().id(3L).firstName("first").manager(new Employee().id(1L)).department(department);
+
+        EmployeeDTO employeeDTO = employeeMapper.toDto(employee);
+
+        assertThat(employeeDTO.getId()).isEqualTo(3L);
+        assertThat(employeeDTO.getFirstName()).isEqualTo("first");
+        assertThat(employeeDTO.getManager().getId()).isEqualTo(1L);
+        assertThat(employeeDTO.getDepartment().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void toDtoWithoutRelationships() {
+        EmployeeDTO employeeDTO = employeeMapper.toDto(new Employee().id(3L));
+
+        assertThat(employeeDTO.getManager()).isNull();
+        assertThat(employeeDTO.getDepartment()).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sccodefactory.employee.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Job;
+import com.sccodefactory.employee.repository.JobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SqlStatisticsFilter}, through Hibernate.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class SqlStatisticsFilterIT {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void statementsAndEntitiesAreRecordedByRoute() throws Exception {
+        jobRepository.saveAndFlush(new Job().jobTitle("AAAAAAAAAA"));
+        jobRepository.saveAndFlush(new Job().jobTitle("BBBBBBBBBB"));
+        em.clear();
+        double statementsBefore = total("sql.request.statements");
+        double entitiesBefore = total("sql.request.entities");
+
+        mockMvc.perform(get("/api/jobs?sort=id,desc")).andExpect(status().isOk());
+
+        assertThat(total("sql.request.statements") - statementsBefore).isGreaterThanOrEqualTo(1);
+        assertThat(total("sql.request.entities") - entitiesBefore).isGreaterThanOrEqualTo(2);
+    }
+
+    private double total(String name) {
+        DistributionSummary summary = meterRegistry.find(name).tags("method", "GET", "uri", "/api/jobs").summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
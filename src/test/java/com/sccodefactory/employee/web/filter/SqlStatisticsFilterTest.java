@@ -0,0 +1,107 @@
+package com.sccodefactory.employee.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link SqlStatisticsFilter}.
+ */
+class SqlStatisticsFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/employees/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void statementsAreRecordedByRoute() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, false).doFilter(request, response, new MockFilterChain(new Controller(3, false)));
+
+        assertThat(meterRegistry.get("sql.request.statements").tag("uri", "/api/employees/{id}").tag("method", "GET").summary())
+            .satisfies(
+                summary -> {
+                    assertThat(summary.count()).isEqualTo(1);
+                    assertThat(summary.totalAmount()).isEqualTo(3);
+                }
+            );
+        assertThat(meterRegistry.get("sql.request.jdbc").tag("uri", "/api/employees/{id}").timer().count()).isEqualTo(1);
+        assertThat(response.getHeader(SqlStatisticsFilter.STATISTICS_HEADER)).isNull();
+    }
+
+    @Test
+    void statementsOutsideOfRequestsAreNotRecorded() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, false).doFilter(request, response, new MockFilterChain(new Controller(1, false)));
+        executeStatement();
+
+        assertThat(meterRegistry.get("sql.request.statements").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void statisticsAreSentBackBeforeTheBody() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, true).doFilter(request, response, new MockFilterChain(new Controller(2, true)));
+
+        assertThat(response.getHeader(SqlStatisticsFilter.STATISTICS_HEADER)).startsWith("statements=2, entities=0, jdbc-ms=");
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
+
+    @Test
+    void requestsWithoutRouteAreNotRecorded() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, true).doFilter(request, response, new MockFilterChain());
+
+        assertThat(meterRegistry.find("sql.request.statements").summary()).isNull();
+        assertThat(response.getHeader(SqlStatisticsFilter.STATISTICS_HEADER)).isEqualTo("statements=0, entities=0, jdbc-ms=0");
+    }
+
+    private static void executeStatement() {
+        SqlStatistics.SessionListener listener = new SqlStatistics.SessionListener();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+    }
+
+    /**
+     * Plays a controller running statements, then writing its body and committing the response.
+     */
+    private static class Controller extends HttpServlet {
+
+        private final int statements;
+
+        private final boolean commit;
+
+        private Controller(int statements, boolean commit) {
+            this.statements = statements;
+            this.commit = commit;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+            for (int i = 0; i < statements; i++) {
+                executeStatement();
+            }
+            if (commit) {
+                response.getWriter().write("body");
+                response.flushBuffer();
+            }
+        }
+    }
+}
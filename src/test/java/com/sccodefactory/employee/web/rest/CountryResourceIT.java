@@ -2,13 +2,18 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
 import com.sccodefactory.employee.domain.Country;
+import com.sccodefactory.employee.domain.Region;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
 import com.sccodefactory.employee.repository.CountryRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.CountrySearchRepository;
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +63,9 @@ class CountryResourceIT {
     @Autowired
     private CountrySearchRepository mockCountrySearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -109,7 +117,9 @@ class CountryResourceIT {
         assertThat(testCountry.getCountryName()).isEqualTo(DEFAULT_COUNTRY_NAME);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(1)).save(testCountry);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", testCountry.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -130,7 +140,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -148,6 +158,46 @@ class CountryResourceIT {
             .andExpect(jsonPath("$.[*].countryName").value(hasItem(DEFAULT_COUNTRY_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllCountriesPaginated() throws Exception {
+        // Initialize the database
+        countryRepository.saveAndFlush(country);
+
+        // Get a page of the countryList
+        restCountryMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(country.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllCountriesInBoundedStatements() throws Exception {
+        // Initialize the database, with the one-to-one relationship
+        for (int i = 0; i < 3; i++) {
+            Region region = RegionResourceIT.createEntity(em);
+            em.persist(region);
+            em.persist(createEntity(em).region(region));
+        }
+
+        long listStatements = StatementCounter.countStatements(
+            em,
+            () -> restCountryMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk())
+        );
+        long pageStatements = StatementCounter.countStatements(
+            em,
+            () -> restCountryMockMvc.perform(get(ENTITY_API_URL + "?page=0&size=2")).andExpect(status().isOk())
+        );
+
+        // One statement for the list, whatever its size, and one more for the count of a page
+        assertThat(listStatements).isLessThanOrEqualTo(1);
+        assertThat(pageStatements).isLessThanOrEqualTo(2);
+    }
+
     @Test
     @Transactional
     void getCountry() throws Exception {
@@ -199,7 +249,9 @@ class CountryResourceIT {
         assertThat(testCountry.getCountryName()).isEqualTo(UPDATED_COUNTRY_NAME);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository).save(testCountry);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", testCountry.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -222,7 +274,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -245,7 +297,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -264,7 +316,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -345,7 +397,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -368,7 +420,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -387,7 +439,7 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId())).isEmpty();
     }
 
     @Test
@@ -408,7 +460,9 @@ class CountryResourceIT {
         assertThat(countryList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(1)).deleteById(country.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Country", country.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
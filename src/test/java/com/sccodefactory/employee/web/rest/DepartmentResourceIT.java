@@ -2,14 +2,22 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Country;
 import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Location;
+import com.sccodefactory.employee.domain.Region;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
 import com.sccodefactory.employee.repository.DepartmentRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.DepartmentSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -58,6 +66,9 @@ class DepartmentResourceIT {
     @Autowired
     private DepartmentSearchRepository mockDepartmentSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -109,7 +120,9 @@ class DepartmentResourceIT {
         assertThat(testDepartment.getDepartmentName()).isEqualTo(DEFAULT_DEPARTMENT_NAME);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(1)).save(testDepartment);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", testDepartment.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -130,7 +143,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -165,6 +178,50 @@ class DepartmentResourceIT {
             .andExpect(jsonPath("$.[*].departmentName").value(hasItem(DEFAULT_DEPARTMENT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllDepartmentsPaginated() throws Exception {
+        // Initialize the database
+        departmentRepository.saveAndFlush(department);
+
+        // Get a page of the departmentList
+        restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(department.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllDepartmentsInBoundedStatements() throws Exception {
+        // Initialize the database, with the whole chain of one-to-one relationships
+        for (int i = 0; i < 3; i++) {
+            Region region = RegionResourceIT.createEntity(em);
+            em.persist(region);
+            Country country = CountryResourceIT.createEntity(em).region(region);
+            em.persist(country);
+            Location location = LocationResourceIT.createEntity(em).country(country);
+            em.persist(location);
+            em.persist(createEntity(em).location(location));
+        }
+
+        long listStatements = StatementCounter.countStatements(
+            em,
+            () -> restDepartmentMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk())
+        );
+        long pageStatements = StatementCounter.countStatements(
+            em,
+            () -> restDepartmentMockMvc.perform(get(ENTITY_API_URL + "?page=0&size=2")).andExpect(status().isOk())
+        );
+
+        // One statement for the list, whatever its size, and one more for the count of a page
+        assertThat(listStatements).isLessThanOrEqualTo(1);
+        assertThat(pageStatements).isLessThanOrEqualTo(2);
+    }
+
     @Test
     @Transactional
     void getDepartment() throws Exception {
@@ -216,7 +273,9 @@ class DepartmentResourceIT {
         assertThat(testDepartment.getDepartmentName()).isEqualTo(UPDATED_DEPARTMENT_NAME);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository).save(testDepartment);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", testDepartment.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -239,7 +298,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -262,7 +321,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -281,7 +340,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -360,7 +419,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -383,7 +442,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -404,7 +463,7 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(0)).save(department);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId())).isEmpty();
     }
 
     @Test
@@ -425,7 +484,9 @@ class DepartmentResourceIT {
         assertThat(departmentList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Department in Elasticsearch
-        verify(mockDepartmentSearchRepository, times(1)).deleteById(department.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Department", department.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -444,4 +505,21 @@ class DepartmentResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(department.getId().intValue())))
             .andExpect(jsonPath("$.[*].departmentName").value(hasItem(DEFAULT_DEPARTMENT_NAME)));
     }
+
+    @Test
+    @Transactional
+    void suggestDepartments() throws Exception {
+        // Initialize the database
+        departmentRepository.saveAndFlush(department);
+        when(mockDepartmentSearchRepository.suggest("AAA", 5))
+            .thenReturn(Collections.singletonList(new Suggestion(department.getId(), DEFAULT_DEPARTMENT_NAME)));
+
+        // Suggest the department
+        restDepartmentMockMvc
+            .perform(get("/api/_suggest/departments?prefix=AAA&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(department.getId().intValue())))
+            .andExpect(jsonPath("$.[*].label").value(hasItem(DEFAULT_DEPARTMENT_NAME)));
+    }
 }
@@ -1,17 +1,30 @@
 package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
 import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.CursorPage;
 import com.sccodefactory.employee.repository.EmployeeRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
+import com.sccodefactory.employee.repository.search.EmployeeSearchQuery;
 import com.sccodefactory.employee.repository.search.EmployeeSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
+import com.sccodefactory.employee.service.OrgTreeService;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -20,15 +33,18 @@ import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -79,9 +95,15 @@ class EmployeeResourceIT {
     @Autowired
     private EmployeeSearchRepository mockEmployeeSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private OrgTreeService orgTreeService;
+
     @Autowired
     private MockMvc restEmployeeMockMvc;
 
@@ -150,7 +172,9 @@ class EmployeeResourceIT {
         assertThat(testEmployee.getCommissionPct()).isEqualTo(DEFAULT_COMMISSION_PCT);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(1)).save(testEmployee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", testEmployee.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -171,7 +195,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -195,6 +219,126 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesInBoundedStatements() throws Exception {
+        // Initialize the database, with a chain of managers in a department
+        Department department = DepartmentResourceIT.createEntity(em);
+        em.persist(department);
+        Employee manager = null;
+        for (int i = 0; i < 3; i++) {
+            Employee report = createEntity(em).manager(manager).department(department);
+            em.persist(report);
+            manager = report;
+        }
+        Long managerId = manager.getManager().getId();
+
+        long listStatements = StatementCounter.countStatements(
+            em,
+            () ->
+                restEmployeeMockMvc
+                    .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.[*].manager.id").value(hasItem(managerId.intValue())))
+                    .andExpect(jsonPath("$.[*].department.id").value(hasItem(department.getId().intValue())))
+        );
+        long detailStatements = StatementCounter.countStatements(
+            em,
+            () ->
+                restEmployeeMockMvc
+                    .perform(get(ENTITY_API_URL_ID, managerId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.manager.id").isNumber())
+                    .andExpect(jsonPath("$.manager.firstName").doesNotExist())
+        );
+
+        // The ids of the relationships are read from the employee rows, without loading the managers or departments
+        assertThat(listStatements).isEqualTo(1);
+        assertThat(detailStatements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithCursor() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        employeeRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=1&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithCursorFollowsTheSortKeyThenTheNullKeys() {
+        // Initialize the database: ids grow in this order
+        Employee b = employeeRepository.saveAndFlush(createEntity(em).lastName("KEYSET_B"));
+        Employee a1 = employeeRepository.saveAndFlush(createEntity(em).lastName("KEYSET_A"));
+        Employee a2 = employeeRepository.saveAndFlush(createEntity(em).lastName("KEYSET_A"));
+        Employee none = employeeRepository.saveAndFlush(createEntity(em).lastName(null));
+        Employee c = employeeRepository.saveAndFlush(createEntity(em).lastName("KEYSET_C"));
+        List<Long> created = Arrays.asList(b.getId(), a1.getId(), a2.getId(), none.getId(), c.getId());
+
+        // Walk every page
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<Employee> page = employeeRepository.findAllAfter(Sort.by("lastName"), cursor, 2);
+            page.getContent().forEach(e -> ids.add(e.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids.stream().filter(created::contains))
+            .containsExactly(a1.getId(), a2.getId(), b.getId(), c.getId(), none.getId());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithInvalidCursor() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid")).andExpect(status().isBadRequest());
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=firstName,asc&sort=lastName,asc"))
+            .andExpect(status().isBadRequest());
+        // no (first_name, id) index
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=firstName,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportEmployees() throws Exception {
+        MvcResult result = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restEmployeeMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+            .andExpect(content().string(startsWith("id,firstName,lastName,")));
+    }
+
+    @Test
+    @Transactional
+    void exportEmployeesWithUnsupportedFormat() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "/export?format=xlsx")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesWithUnknownColumns() throws Exception {
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content("firstName,nickname\r\nGrace,Amazing\r\n"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getEmployee() throws Exception {
@@ -265,7 +409,9 @@ class EmployeeResourceIT {
         assertThat(testEmployee.getCommissionPct()).isEqualTo(UPDATED_COMMISSION_PCT);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository).save(testEmployee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", testEmployee.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -288,7 +434,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -311,7 +457,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -330,7 +476,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -430,7 +576,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -453,7 +599,7 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
     }
 
     @Test
@@ -472,7 +618,128 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(0)).save(employee);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeReportsAndChainOfCommand() throws Exception {
+        Employee ceo = createThroughApi(null);
+        Employee vp = createThroughApi(ceo);
+        Employee developer = createThroughApi(vp);
+        Employee tester = createThroughApi(vp);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports", ceo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(vp.getId().intValue(), developer.getId().intValue(), tester.getId().intValue())))
+            .andExpect(jsonPath("$.[*].depth").value(contains(1, 2, 2)))
+            .andExpect(jsonPath("$.[1].managerId").value(vp.getId().intValue()));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports?depth=1", ceo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(vp.getId().intValue())));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/chain-of-command", developer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(vp.getId().intValue(), ceo.getId().intValue())))
+            .andExpect(jsonPath("$.[*].depth").value(contains(1, 2)));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/chain-of-command", ceo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeReportsWithInvalidDepth() throws Exception {
+        Employee ceo = createThroughApi(null);
+
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/reports?depth=0", ceo.getId())).andExpect(status().isBadRequest());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/reports", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeOrgTreeNode() throws Exception {
+        Employee ceo = createThroughApi(null);
+        Employee vp = createThroughApi(ceo);
+        Employee developer = createThroughApi(vp);
+        Employee tester = createThroughApi(developer);
+        // the tree is patched when the changes commit, which they never do here
+        orgTreeService.refresh();
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/org-tree", vp.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.managerId").value(ceo.getId().intValue()))
+            .andExpect(jsonPath("$.depth").value(1))
+            .andExpect(jsonPath("$.spanOfControl").value(1))
+            .andExpect(jsonPath("$.reportCount").value(2))
+            .andExpect(jsonPath("$.chainOfCommandIds").value(contains(ceo.getId().intValue())))
+            .andExpect(jsonPath("$.reportIds").value(contains(developer.getId().intValue())));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/org-tree?depth=2", vp.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reportIds").value(contains(developer.getId().intValue(), tester.getId().intValue())));
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/org-tree?depth=0", vp.getId())).andExpect(status().isBadRequest());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/org-tree", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void putEmployeeMovesItsReports() throws Exception {
+        Employee ceo = createThroughApi(null);
+        Employee vp = createThroughApi(ceo);
+        Employee developer = createThroughApi(vp);
+        Employee cto = createThroughApi(ceo);
+
+        vp.setManager(cto);
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, vp.getId()).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(vp))
+            )
+            .andExpect(status().isOk());
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/chain-of-command", developer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(vp.getId().intValue(), cto.getId().intValue(), ceo.getId().intValue())));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports", cto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(vp.getId().intValue(), developer.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void putEmployeeUnderOneOfItsReports() throws Exception {
+        Employee ceo = createThroughApi(null);
+        Employee vp = createThroughApi(ceo);
+        Employee developer = createThroughApi(vp);
+
+        vp.setManager(developer);
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, vp.getId()).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(vp))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    private Employee createThroughApi(Employee manager) throws Exception {
+        MvcResult result = restEmployeeMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createEntity(em).manager(manager)))
+            )
+            .andExpect(status().isCreated())
+            .andReturn();
+        Employee created = employeeRepository
+            .findById(JsonPath.<Number>read(result.getResponse().getContentAsString(), "$.id").longValue())
+            .get();
+        em.detach(created);
+        return created;
     }
 
     @Test
@@ -493,7 +760,9 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Employee in Elasticsearch
-        verify(mockEmployeeSearchRepository, times(1)).deleteById(employee.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Employee", employee.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -519,4 +788,89 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].salary").value(hasItem(DEFAULT_SALARY.intValue())))
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
+
+    @Test
+    @Transactional
+    void suggestEmployees() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        when(mockEmployeeSearchRepository.suggest("AAA", 5))
+            .thenReturn(Collections.singletonList(new Suggestion(employee.getId(), DEFAULT_FIRST_NAME + " " + DEFAULT_LAST_NAME)));
+
+        // Suggest the employee
+        restEmployeeMockMvc
+            .perform(get("/api/_suggest/employees?prefix=AAA&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].label").value(hasItem(DEFAULT_FIRST_NAME + " " + DEFAULT_LAST_NAME)));
+    }
+
+    @Test
+    @Transactional
+    void searchEmployeeWithCursor() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        when(mockEmployeeSearchRepository.searchAfter("id:" + employee.getId(), Sort.unsorted(), "", 20))
+            .thenReturn(new CursorPage<>(Collections.singletonList(employee), "bmV4dA"));
+
+        // Search the first page of employees
+        restEmployeeMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + employee.getId() + "&cursor="))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Next-Cursor", "bmV4dA"))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void searchEmployeeWithInvalidCursor() throws Exception {
+        when(mockEmployeeSearchRepository.searchAfter("id:1", Sort.unsorted(), "invalid", 20)).thenThrow(new IllegalArgumentException());
+
+        restEmployeeMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=id:1&cursor=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchEmployeeByCriteria() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+        when(mockEmployeeSearchRepository.search(any(EmployeeSearchQuery.class), eq(PageRequest.of(0, 20))))
+            .thenReturn(new PageImpl<>(Collections.singletonList(employee), PageRequest.of(0, 20), 1));
+
+        // Search the employee
+        restEmployeeMockMvc
+            .perform(
+                get(ENTITY_SEARCH_API_URL + "/criteria")
+                    .param("name", "AAA")
+                    .param("departmentId", "1", "2")
+                    .param("hireDateFrom", "1970-01-01T00:00:00Z")
+                    .param("hireDateTo", "1970-01-02T00:00:00Z")
+                    .param("salaryMin", "1")
+                    .param("salaryMax", "10")
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+
+        ArgumentCaptor<EmployeeSearchQuery> queryCaptor = ArgumentCaptor.forClass(EmployeeSearchQuery.class);
+        verify(mockEmployeeSearchRepository).search(queryCaptor.capture(), eq(PageRequest.of(0, 20)));
+        EmployeeSearchQuery query = queryCaptor.getValue();
+        assertThat(query.getName()).isEqualTo("AAA");
+        assertThat(query.getDepartmentId()).containsExactly(1L, 2L);
+        assertThat(query.getHireDateFrom()).isEqualTo(Instant.EPOCH);
+        assertThat(query.getHireDateTo()).isEqualTo(Instant.EPOCH.plus(1, ChronoUnit.DAYS));
+        assertThat(query.getSalaryMin()).isEqualTo(1L);
+        assertThat(query.getSalaryMax()).isEqualTo(10L);
+    }
+
+    @Test
+    @Transactional
+    void searchEmployeeWithRejectedQuery() throws Exception {
+        when(mockEmployeeSearchRepository.search("*son", PageRequest.of(0, 20))).thenThrow(new IllegalArgumentException("rejected"));
+
+        restEmployeeMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=*son")).andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,138 @@
+package com.sccodefactory.employee.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.repository.EmployeeRepository;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Benchmark of a page of employees read and serialized as entities, the way {@code GET /api/employees} used to, and
+ * as DTO projections, the way it does now, with the application's {@link ObjectMapper}.
+ * <p>
+ * Each round starts with an empty persistence context, like a request. The statements and the size of the JSON are
+ * asserted; the time and the bytes allocated per round depend on the machine and are only logged, for comparison.
+ */
+@IntegrationTest
+@Transactional
+class EmployeeSerializationBenchmarkIT {
+
+    private static final int DEPARTMENTS = 10;
+
+    private static final int EMPLOYEES = 200;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int ROUNDS = 20;
+
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by("id"));
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeSerializationBenchmarkIT.class);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        Department[] departments = new Department[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments[i] = DepartmentResourceIT.createEntity(em);
+            em.persist(departments[i]);
+        }
+        // ten reports per manager
+        Employee[] employees = new Employee[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees[i] = EmployeeResourceIT
+                .createEntity(em)
+                .manager(i >= 10 ? employees[i / 10 - 1] : null)
+                .department(departments[i % DEPARTMENTS]);
+            em.persist(employees[i]);
+        }
+    }
+
+    @Test
+    void projectionsAreCheaperToReadAndSerializeThanEntities() throws Exception {
+        Round entities = measure(() -> objectMapper.writeValueAsBytes(employeeRepository.findAll(PAGE).getContent()));
+        Round projections = measure(() -> objectMapper.writeValueAsBytes(employeeRepository.findAllDtos(PAGE).getContent()));
+
+        log.info("Entities:    {}", entities);
+        log.info("Projections: {}", projections);
+        // the page and its count
+        assertThat(projections.statements).isLessThanOrEqualTo(2);
+        assertThat(projections.statements).isLessThan(entities.statements);
+        assertThat(projections.jsonBytes).isLessThan(entities.jsonBytes);
+    }
+
+    private Round measure(Serialization serialization) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            StatementCounter.countStatements(em, serialization::serialize);
+        }
+        Round round = new Round();
+        for (int i = 0; i < ROUNDS; i++) {
+            long[] jsonBytes = new long[1];
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            round.statements = StatementCounter.countStatements(em, () -> jsonBytes[0] = serialization.serialize().length);
+            round.nanos += System.nanoTime() - start;
+            round.allocatedBytes += allocatedBytes() - allocatedBefore;
+            round.jsonBytes = jsonBytes[0];
+        }
+        return round;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or 0 if the JVM does not tell.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    @FunctionalInterface
+    private interface Serialization {
+        byte[] serialize() throws Exception;
+    }
+
+    private static final class Round {
+
+        private long statements;
+
+        private long jsonBytes;
+
+        private long nanos;
+
+        private long allocatedBytes;
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "statements=" + statements +
+                ", jsonBytes=" + jsonBytes +
+                ", microsPerRound=" + nanos / ROUNDS / 1000 +
+                ", allocatedBytesPerRound=" + allocatedBytes / ROUNDS;
+        }
+    }
+}
@@ -6,13 +6,22 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Department;
+import com.sccodefactory.employee.domain.Employee;
+import com.sccodefactory.employee.domain.Job;
 import com.sccodefactory.employee.domain.JobHistory;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
 import com.sccodefactory.employee.domain.enumeration.Language;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.CursorPage;
 import com.sccodefactory.employee.repository.JobHistoryRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.JobHistorySearchRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -27,7 +36,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -68,6 +79,9 @@ class JobHistoryResourceIT {
     @Autowired
     private JobHistorySearchRepository mockJobHistorySearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -121,7 +135,9 @@ class JobHistoryResourceIT {
         assertThat(testJobHistory.getLanguage()).isEqualTo(DEFAULT_LANGUAGE);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(1)).save(testJobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", testJobHistory.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -142,7 +158,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -162,6 +178,58 @@ class JobHistoryResourceIT {
             .andExpect(jsonPath("$.[*].language").value(hasItem(DEFAULT_LANGUAGE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllJobHistoriesInBoundedStatements() throws Exception {
+        // Initialize the database, with the one-to-one relationships
+        for (int i = 0; i < 3; i++) {
+            Employee employee = EmployeeResourceIT.createEntity(em);
+            em.persist(employee);
+            Job job = JobResourceIT.createEntity(em).employee(employee);
+            em.persist(job);
+            Department department = DepartmentResourceIT.createEntity(em);
+            em.persist(department);
+            em.persist(createEntity(em).job(job).department(department).employee(employee));
+        }
+
+        long listStatements = StatementCounter.countStatements(
+            em,
+            () ->
+                restJobHistoryMockMvc
+                    .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.[*].job.id").isNotEmpty())
+                    .andExpect(jsonPath("$.[*].employee.firstName").isEmpty())
+        );
+
+        // One statement for the page, without loading the jobs, departments and employees
+        assertThat(listStatements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void getAllJobHistoriesWithCursor() throws Exception {
+        // Initialize the database
+        jobHistoryRepository.saveAndFlush(jobHistory);
+        JobHistory earlier = jobHistoryRepository.saveAndFlush(createEntity(em).startDate(DEFAULT_START_DATE.minusSeconds(60)));
+
+        // Walk the pages, most recently started first, until the entity started earlier
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null && !ids.contains(earlier.getId())) {
+            MockHttpServletResponse response = restJobHistoryMockMvc
+                .perform(get(ENTITY_API_URL + "?size=1&sort=startDate,desc").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andReturn()
+                .getResponse();
+            ids.add(JsonPath.<Number>read(response.getContentAsString(), "$[0].id").longValue());
+            cursor = response.getHeader("X-Next-Cursor");
+        }
+        assertThat(ids).doesNotHaveDuplicates().containsSubsequence(jobHistory.getId(), earlier.getId());
+    }
+
     @Test
     @Transactional
     void getJobHistory() throws Exception {
@@ -217,7 +285,9 @@ class JobHistoryResourceIT {
         assertThat(testJobHistory.getLanguage()).isEqualTo(UPDATED_LANGUAGE);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository).save(testJobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", testJobHistory.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -240,7 +310,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -263,7 +333,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -282,7 +352,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -365,7 +435,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -388,7 +458,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -409,7 +479,7 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(0)).save(jobHistory);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId())).isEmpty();
     }
 
     @Test
@@ -430,7 +500,9 @@ class JobHistoryResourceIT {
         assertThat(jobHistoryList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the JobHistory in Elasticsearch
-        verify(mockJobHistorySearchRepository, times(1)).deleteById(jobHistory.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("JobHistory", jobHistory.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -452,4 +524,30 @@ class JobHistoryResourceIT {
             .andExpect(jsonPath("$.[*].endDate").value(hasItem(DEFAULT_END_DATE.toString())))
             .andExpect(jsonPath("$.[*].language").value(hasItem(DEFAULT_LANGUAGE.toString())));
     }
+
+    @Test
+    @Transactional
+    void searchJobHistoryWithCursor() throws Exception {
+        // Initialize the database
+        jobHistoryRepository.saveAndFlush(jobHistory);
+        when(mockJobHistorySearchRepository.searchAfter("id:" + jobHistory.getId(), Sort.unsorted(), "", 20))
+            .thenReturn(new CursorPage<>(Collections.singletonList(jobHistory), "bmV4dA"));
+
+        // Search the first page of jobHistorys
+        restJobHistoryMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + jobHistory.getId() + "&cursor="))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Next-Cursor", "bmV4dA"))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(jobHistory.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void searchJobHistoryWithInvalidCursor() throws Exception {
+        when(mockJobHistorySearchRepository.searchAfter("id:1", Sort.unsorted(), "invalid", 20)).thenThrow(new IllegalArgumentException());
+
+        restJobHistoryMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=id:1&cursor=invalid")).andExpect(status().isBadRequest());
+    }
 }
@@ -2,14 +2,20 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
 import com.sccodefactory.employee.domain.Job;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.Task;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
 import com.sccodefactory.employee.repository.JobRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.JobSearchRepository;
+import com.sccodefactory.employee.repository.search.Suggestion;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -69,6 +75,9 @@ class JobResourceIT {
     @Autowired
     private JobSearchRepository mockJobSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -122,7 +131,9 @@ class JobResourceIT {
         assertThat(testJob.getMaxSalary()).isEqualTo(DEFAULT_MAX_SALARY);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(1)).save(testJob);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", testJob.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -143,7 +154,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -163,6 +174,39 @@ class JobResourceIT {
             .andExpect(jsonPath("$.[*].maxSalary").value(hasItem(DEFAULT_MAX_SALARY.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllJobsWithEagerRelationshipsPaginated() throws Exception {
+        // Initialize the database, with more tasks than the page size
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Job eagerJob = createEntity(em);
+            for (int t = 0; t < 3; t++) {
+                Task task = TaskResourceIT.createEntity(em);
+                em.persist(task);
+                eagerJob.addTask(task);
+            }
+            jobs.add(jobRepository.save(eagerJob));
+        }
+
+        long statements = StatementCounter.countStatements(
+            em,
+            () ->
+                restJobMockMvc
+                    .perform(get(ENTITY_API_URL + "?eagerload=true&page=0&size=2&sort=id,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("X-Total-Count"))
+                    .andExpect(jsonPath("$").value(hasSize(2)))
+                    .andExpect(jsonPath("$.[0].id").value(jobs.get(2).getId().intValue()))
+                    .andExpect(jsonPath("$.[1].id").value(jobs.get(1).getId().intValue()))
+                    .andExpect(jsonPath("$.[0].tasks").value(hasSize(3)))
+                    .andExpect(jsonPath("$.[1].tasks").value(hasSize(3)))
+        );
+
+        // the ids of the page, their jobs with their tasks, and the count
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllJobsWithEagerRelationshipsIsEnabled() throws Exception {
         when(jobRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -236,7 +280,9 @@ class JobResourceIT {
         assertThat(testJob.getMaxSalary()).isEqualTo(UPDATED_MAX_SALARY);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository).save(testJob);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", testJob.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -257,7 +303,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -280,7 +326,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -299,7 +345,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -384,7 +430,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -407,7 +453,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -426,7 +472,7 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(0)).save(job);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId())).isEmpty();
     }
 
     @Test
@@ -445,7 +491,9 @@ class JobResourceIT {
         assertThat(jobList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Job in Elasticsearch
-        verify(mockJobSearchRepository, times(1)).deleteById(job.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Job", job.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -467,4 +515,21 @@ class JobResourceIT {
             .andExpect(jsonPath("$.[*].minSalary").value(hasItem(DEFAULT_MIN_SALARY.intValue())))
             .andExpect(jsonPath("$.[*].maxSalary").value(hasItem(DEFAULT_MAX_SALARY.intValue())));
     }
+
+    @Test
+    @Transactional
+    void suggestJobs() throws Exception {
+        // Initialize the database
+        jobRepository.saveAndFlush(job);
+        when(mockJobSearchRepository.suggest("AAA", 5))
+            .thenReturn(Collections.singletonList(new Suggestion(job.getId(), DEFAULT_JOB_TITLE)));
+
+        // Suggest the job
+        restJobMockMvc
+            .perform(get("/api/_suggest/jobs?prefix=AAA&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(job.getId().intValue())))
+            .andExpect(jsonPath("$.[*].label").value(hasItem(DEFAULT_JOB_TITLE)));
+    }
 }
@@ -2,13 +2,19 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.Country;
 import com.sccodefactory.employee.domain.Location;
+import com.sccodefactory.employee.domain.Region;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
 import com.sccodefactory.employee.repository.LocationRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.LocationSearchRepository;
 import java.util.Collections;
 import java.util.List;
@@ -67,6 +73,9 @@ class LocationResourceIT {
     @Autowired
     private LocationSearchRepository mockLocationSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -129,7 +138,9 @@ class LocationResourceIT {
         assertThat(testLocation.getStateProvince()).isEqualTo(DEFAULT_STATE_PROVINCE);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(1)).save(testLocation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", testLocation.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -150,7 +161,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -171,6 +182,48 @@ class LocationResourceIT {
             .andExpect(jsonPath("$.[*].stateProvince").value(hasItem(DEFAULT_STATE_PROVINCE)));
     }
 
+    @Test
+    @Transactional
+    void getAllLocationsPaginated() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get a page of the locationList
+        restLocationMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(location.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllLocationsInBoundedStatements() throws Exception {
+        // Initialize the database, with the whole chain of one-to-one relationships
+        for (int i = 0; i < 3; i++) {
+            Region region = RegionResourceIT.createEntity(em);
+            em.persist(region);
+            Country country = CountryResourceIT.createEntity(em).region(region);
+            em.persist(country);
+            em.persist(createEntity(em).country(country));
+        }
+
+        long listStatements = StatementCounter.countStatements(
+            em,
+            () -> restLocationMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk())
+        );
+        long pageStatements = StatementCounter.countStatements(
+            em,
+            () -> restLocationMockMvc.perform(get(ENTITY_API_URL + "?page=0&size=2")).andExpect(status().isOk())
+        );
+
+        // One statement for the list, whatever its size, and one more for the count of a page
+        assertThat(listStatements).isLessThanOrEqualTo(1);
+        assertThat(pageStatements).isLessThanOrEqualTo(2);
+    }
+
     @Test
     @Transactional
     void getLocation() throws Exception {
@@ -232,7 +285,9 @@ class LocationResourceIT {
         assertThat(testLocation.getStateProvince()).isEqualTo(UPDATED_STATE_PROVINCE);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository).save(testLocation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", testLocation.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -255,7 +310,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -278,7 +333,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -297,7 +352,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -388,7 +443,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -411,7 +466,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -430,7 +485,7 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(0)).save(location);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId())).isEmpty();
     }
 
     @Test
@@ -451,7 +506,9 @@ class LocationResourceIT {
         assertThat(locationList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Location in Elasticsearch
-        verify(mockLocationSearchRepository, times(1)).deleteById(location.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Location", location.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
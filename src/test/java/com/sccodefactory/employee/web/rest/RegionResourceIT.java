@@ -2,13 +2,17 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
 import com.sccodefactory.employee.domain.Region;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
 import com.sccodefactory.employee.repository.RegionRepository;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.search.RegionSearchRepository;
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +62,9 @@ class RegionResourceIT {
     @Autowired
     private RegionSearchRepository mockRegionSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -109,7 +116,9 @@ class RegionResourceIT {
         assertThat(testRegion.getRegionName()).isEqualTo(DEFAULT_REGION_NAME);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(1)).save(testRegion);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", testRegion.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -130,7 +139,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -148,6 +157,22 @@ class RegionResourceIT {
             .andExpect(jsonPath("$.[*].regionName").value(hasItem(DEFAULT_REGION_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllRegionsPaginated() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+
+        // Get a page of the regionList
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(region.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getRegion() throws Exception {
@@ -199,7 +224,9 @@ class RegionResourceIT {
         assertThat(testRegion.getRegionName()).isEqualTo(UPDATED_REGION_NAME);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository).save(testRegion);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", testRegion.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -222,7 +249,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -245,7 +272,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -264,7 +291,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -345,7 +372,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -368,7 +395,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -387,7 +414,7 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(0)).save(region);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId())).isEmpty();
     }
 
     @Test
@@ -408,7 +435,9 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Region in Elasticsearch
-        verify(mockRegionSearchRepository, times(1)).deleteById(region.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Region", region.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
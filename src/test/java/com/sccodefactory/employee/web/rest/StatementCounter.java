@@ -0,0 +1,48 @@
+package com.sccodefactory.employee.web.rest;
+
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Utility class counting the SQL statements run by a request, from the Hibernate statistics, so that tests can assert
+ * an upper bound and catch N+1 loading.
+ * <p>
+ * The statistics are global: the counts include the statements of other threads running at the same time.
+ */
+public final class StatementCounter {
+
+    /**
+     * An action that may throw, like a {@code MockMvc} request.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private StatementCounter() {}
+
+    /**
+     * Count the statements run by an action. Pending changes are flushed and the persistence context is cleared
+     * first, so that the action loads what it needs from the database rather than from the test's entities.
+     *
+     * @param em the entity manager of the test.
+     * @param action the action.
+     * @return the number of JDBC statements prepared during the action.
+     * @throws Exception if the action fails.
+     */
+    public static long countStatements(EntityManager em, Action action) throws Exception {
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+}
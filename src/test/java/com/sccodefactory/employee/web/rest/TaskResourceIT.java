@@ -2,12 +2,16 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
 import com.sccodefactory.employee.domain.Task;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.TaskRepository;
 import com.sccodefactory.employee.repository.search.TaskSearchRepository;
 import java.util.Collections;
@@ -61,6 +65,9 @@ class TaskResourceIT {
     @Autowired
     private TaskSearchRepository mockTaskSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -113,7 +120,9 @@ class TaskResourceIT {
         assertThat(testTask.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(1)).save(testTask);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", testTask.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -134,7 +143,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -153,6 +162,22 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
 
+    @Test
+    @Transactional
+    void getAllTasksPaginated() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task);
+
+        // Get a page of the taskList
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getTask() throws Exception {
@@ -206,7 +231,9 @@ class TaskResourceIT {
         assertThat(testTask.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository).save(testTask);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", testTask.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -229,7 +256,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -252,7 +279,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -271,7 +298,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -354,7 +381,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -377,7 +404,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -396,7 +423,7 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(0)).save(task);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId())).isEmpty();
     }
 
     @Test
@@ -417,7 +444,9 @@ class TaskResourceIT {
         assertThat(taskList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Task in Elasticsearch
-        verify(mockTaskSearchRepository, times(1)).deleteById(task.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Task", task.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
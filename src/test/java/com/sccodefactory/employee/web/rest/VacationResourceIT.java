@@ -2,12 +2,16 @@ package com.sccodefactory.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.sccodefactory.employee.IntegrationTest;
+import com.sccodefactory.employee.domain.SearchIndexOutbox;
 import com.sccodefactory.employee.domain.Vacation;
+import com.sccodefactory.employee.domain.enumeration.SearchIndexOperation;
+import com.sccodefactory.employee.repository.SearchIndexOutboxRepository;
 import com.sccodefactory.employee.repository.VacationRepository;
 import com.sccodefactory.employee.repository.search.VacationSearchRepository;
 import java.time.Instant;
@@ -63,6 +67,9 @@ class VacationResourceIT {
     @Autowired
     private VacationSearchRepository mockVacationSearchRepository;
 
+    @Autowired
+    private SearchIndexOutboxRepository searchIndexOutboxRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -115,7 +122,9 @@ class VacationResourceIT {
         assertThat(testVacation.getEndDate()).isEqualTo(DEFAULT_END_DATE);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(1)).save(testVacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", testVacation.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -136,7 +145,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -155,6 +164,22 @@ class VacationResourceIT {
             .andExpect(jsonPath("$.[*].endDate").value(hasItem(DEFAULT_END_DATE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllVacationsPaginated() throws Exception {
+        // Initialize the database
+        vacationRepository.saveAndFlush(vacation);
+
+        // Get a page of the vacationList
+        restVacationMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(vacation.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getVacation() throws Exception {
@@ -208,7 +233,9 @@ class VacationResourceIT {
         assertThat(testVacation.getEndDate()).isEqualTo(UPDATED_END_DATE);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository).save(testVacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", testVacation.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.INDEX);
     }
 
     @Test
@@ -231,7 +258,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -254,7 +281,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -273,7 +300,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -356,7 +383,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -379,7 +406,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -398,7 +425,7 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(0)).save(vacation);
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId())).isEmpty();
     }
 
     @Test
@@ -419,7 +446,9 @@ class VacationResourceIT {
         assertThat(vacationList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Vacation in Elasticsearch
-        verify(mockVacationSearchRepository, times(1)).deleteById(vacation.getId());
+        assertThat(searchIndexOutboxRepository.findAllByEntityTypeAndEntityIdOrderByIdAsc("Vacation", vacation.getId()))
+            .extracting(SearchIndexOutbox::getOperation)
+            .containsExactly(SearchIndexOperation.DELETE);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.sccodefactory.employee.web.rest.errors;
 
+import com.sccodefactory.employee.security.LoginRejectedException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -17,6 +18,11 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/login-rejected")
+    public void loginRejected() {
+        throw new LoginRejectedException("test login rejected", null);
+    }
+
     @PostMapping("/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {}
 